@@ -0,0 +1,18 @@
+package config;
+
+import java.util.Set;
+
+/**
+ * Callback notified by {@link ConfigReader} after a reload changed at least one property.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after the new snapshot has been published.
+     *
+     * @param changedKeys Keys that were added, removed or given a different value.
+     * @param snapshot    The configuration now in effect.
+     */
+    void onConfigChanged(Set<String> changedKeys, ConfigSnapshot snapshot);
+}
@@ -2,24 +2,43 @@ package config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * ConfigReader loads config.properties and config-&lt;env&gt;.properties from the classpath.
+ * The loaded values are published as an immutable {@link ConfigSnapshot} through a volatile reference,
+ * so reads take no lock; {@link #reload()} builds and validates a new snapshot, then swaps it in atomically.
+ * <p>
+ * Files in the directory given by {@code -Dconfig.dir} (or the CONFIG_DIR environment variable) override the
+ * classpath files. With {@code config.watch.enabled=true} that directory is watched and the configuration is
+ * reloaded when it changes; {@link ConfigChangeListener}s are told which keys changed.
+ * </p>
+ */
 public class ConfigReader {
     private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private static final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
 
-    private Properties properties;
-    private String environment;
+    private volatile ConfigSnapshot snapshot;
+    private volatile String environment;
+    private final Path externalConfigDir;
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private ConfigWatcher watcher;
 
     // Private constructor to prevent instantiation
     private ConfigReader() {
         loadEnvironment();
-        loadProperties();
-        validateProperties();
+        externalConfigDir = resolveExternalConfigDir();
+        snapshot = loadSnapshot();
+        startWatcherIfEnabled();
     }
 
     // Bill Pugh Singleton for thread safety
@@ -37,25 +56,29 @@ public class ConfigReader {
         logger.info("Loading configuration for environment: {}", environment);
     }
 
-    // Load properties efficiently
-    private void loadProperties() {
-        rwLock.writeLock().lock();
-        try {
-            properties = new Properties();
+    // Load properties into a new snapshot; the current snapshot is untouched until the new one is valid
+    private ConfigSnapshot loadSnapshot() {
+        Properties properties = new Properties();
 
-            // Load base config
-            loadConfigFile("config.properties");
+        // Load base config
+        loadConfigFile(properties, "config.properties");
 
-            // Load environment-specific config
-            loadConfigFile(String.format("config-%s.properties", environment));
+        // Load environment-specific config
+        loadConfigFile(properties, String.format("config-%s.properties", environment));
 
-        } finally {
-            rwLock.writeLock().unlock();
+        // External files override the packaged ones
+        if (externalConfigDir != null) {
+            loadExternalConfigFile(properties, externalConfigDir.resolve("config.properties"));
+            loadExternalConfigFile(properties, externalConfigDir.resolve(String.format("config-%s.properties", environment)));
         }
+
+        ConfigSnapshot loaded = new ConfigSnapshot(environment, properties);
+        validateProperties(loaded);
+        return loaded;
     }
 
     // Helper method to load properties
-    private void loadConfigFile(String fileName) {
+    private void loadConfigFile(Properties properties, String fileName) {
         try (InputStream stream = getClass().getClassLoader().getResourceAsStream(fileName)) {
             if (stream != null) {
                 properties.load(stream);
@@ -68,45 +91,149 @@ public class ConfigReader {
         }
     }
 
+    // Helper method to load an external properties file
+    private void loadExternalConfigFile(Properties properties, Path file) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+            logger.info("Loaded configuration from {}", file);
+        } catch (IOException e) {
+            logger.error("Error loading configuration file: {}", file, e);
+        }
+    }
+
+    // Locate the optional external configuration directory
+    private static Path resolveExternalConfigDir() {
+        String dir = System.getProperty("config.dir", System.getenv("CONFIG_DIR"));
+        if (dir == null || dir.trim().isEmpty()) {
+            return null;
+        }
+        Path path = Paths.get(dir.trim()).toAbsolutePath();
+        if (!Files.isDirectory(path)) {
+            logger.warn("External configuration directory '{}' does not exist", path);
+            return null;
+        }
+        return path;
+    }
+
+    private void startWatcherIfEnabled() {
+        if (externalConfigDir != null && snapshot.getBoolean("config.watch.enabled", false)) {
+            watcher = new ConfigWatcher(externalConfigDir, snapshot.getInt("config.watch.debounce.ms", 500), this);
+            watcher.start();
+        }
+    }
+
+    // True for config.properties and config-<env>.properties
+    static boolean isConfigFileName(String fileName) {
+        return fileName.equals("config.properties")
+                || (fileName.startsWith("config-") && fileName.endsWith(".properties"));
+    }
+
     // Validate essential properties
-    private void validateProperties() {
-        validateRequiredProperty("baseUrl");
+    private void validateProperties(ConfigSnapshot candidate) {
+        validateRequiredProperty(candidate, "baseUrl");
+        validateNumericProperties(candidate);
+    }
+
+    // Durations, sizes and counts must be non-negative integers, so a typo cannot reach a running suite
+    private void validateNumericProperties(ConfigSnapshot candidate) {
+        for (String key : candidate.keys()) {
+            if (key.endsWith(".ms") || key.endsWith(".wait") || key.endsWith(".timeout") || key.endsWith(".size")
+                    || key.endsWith(".minutes") || key.endsWith(".uses") || key.endsWith(".prefetch")) {
+                String value = candidate.get(key).trim();
+                if (!value.matches("\\d+")) {
+                    logger.error("Property '{}' must be a non-negative integer but was '{}'", key, value);
+                    throw new IllegalStateException("Invalid configuration: " + key + "=" + value);
+                }
+            }
+        }
     }
 
     // Helper method to validate required properties
-    private void validateRequiredProperty(String key) {
-        String value = getProperty(key);
+    private void validateRequiredProperty(ConfigSnapshot candidate, String key) {
+        String value = candidate.get(key);
         if (value == null || value.trim().isEmpty()) {
             logger.error("Essential property '{}' is missing", key);
             throw new IllegalStateException("Missing essential configuration: " + key);
         }
     }
 
-    // Get property with thread safety
+    /**
+     * @return The configuration currently in effect. The snapshot never changes; call again after a reload.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Get property from the current snapshot (lock-free)
     public String getProperty(String key) {
-        rwLock.readLock().lock();
-        try {
-            return properties.getProperty(key);
-        } finally {
-            rwLock.readLock().unlock();
-        }
+        return snapshot.get(key);
     }
 
     // Get property with a default value
     public String getProperty(String key, String defaultValue) {
-        rwLock.readLock().lock();
-        try {
-            return properties.getProperty(key, defaultValue);
-        } finally {
-            rwLock.readLock().unlock();
-        }
+        return snapshot.get(key, defaultValue);
     }
 
-    // Reload properties dynamically
-    public void reload() {
+    // Reload properties dynamically; readers see either the old or the new snapshot, never a mix
+    public synchronized void reload() {
         logger.info("Reloading configuration...");
-        loadProperties();
-        validateProperties();
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot current = loadSnapshot();
+        snapshot = current;
+        Set<String> changedKeys = diff(previous, current);
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+        logger.info("Configuration changed: {}", changedKeys);
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigChanged(changedKeys, current);
+            } catch (RuntimeException e) {
+                logger.error("Configuration listener {} failed: {}", listener, e.getMessage(), e);
+            }
+        }
+    }
+
+    // Keys that were added, removed or changed between two snapshots
+    private static Set<String> diff(ConfigSnapshot previous, ConfigSnapshot current) {
+        Set<String> changed = new HashSet<>();
+        for (String key : current.keys()) {
+            if (!current.get(key).equals(previous.get(key))) {
+                changed.add(key);
+            }
+        }
+        for (String key : previous.keys()) {
+            if (current.get(key) == null) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Registers a listener notified after every reload that changed at least one property.
+     *
+     * @param listener The listener to add.
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener The listener to remove.
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Stop watching external configuration files
+    public void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+        }
     }
 
     // Get the current environment
@@ -115,11 +242,17 @@ public class ConfigReader {
     }
 
     // Allow environment to be set dynamically (for testing or runtime updates)
-    public void setEnvironment(String env) {
+    public synchronized void setEnvironment(String env) {
         if (env == null || env.trim().isEmpty()) {
             throw new IllegalArgumentException("Environment cannot be null or empty");
         }
+        String previous = this.environment;
         this.environment = env;
-        reload();
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            this.environment = previous;
+            throw e;
+        }
     }
 }
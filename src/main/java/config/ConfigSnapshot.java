@@ -0,0 +1,128 @@
+package config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ConfigSnapshot is an immutable view of the configuration loaded for one environment.
+ * <p>
+ * {@link ConfigReader} publishes a new snapshot on every reload, so readers never need a lock.
+ * Typed values are parsed once per snapshot and memoized; an invalid value is reported once and
+ * the caller's default is used from then on.
+ * </p>
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final Object INVALID = new Object();
+
+    private final String environment;
+    private final Map<String, String> values;
+    private final Map<String, Object> intValues = new ConcurrentHashMap<>();
+    private final Map<String, Object> doubleValues = new ConcurrentHashMap<>();
+    private final Map<String, Object> booleanValues = new ConcurrentHashMap<>();
+
+    ConfigSnapshot(String environment, Properties properties) {
+        Map<String, String> copy = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            copy.put(key, properties.getProperty(key));
+        }
+        this.environment = environment;
+        this.values = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * @return The environment this snapshot was loaded for.
+     */
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * @return All property keys of this snapshot.
+     */
+    public Set<String> keys() {
+        return values.keySet();
+    }
+
+    /**
+     * @param key The configuration property key.
+     * @return The raw value, or null if the property is not set.
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is not set.
+     * @return The raw value, or the default if the property is not set.
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing or invalid.
+     * @return The parsed integer value.
+     */
+    public int getInt(String key, int defaultValue) {
+        Object value = parse(intValues, key, raw -> Integer.valueOf(raw.trim()));
+        return value instanceof Integer ? (Integer) value : defaultValue;
+    }
+
+    /**
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing or invalid.
+     * @return The parsed double value.
+     */
+    public double getDouble(String key, double defaultValue) {
+        Object value = parse(doubleValues, key, raw -> Double.valueOf(raw.trim()));
+        return value instanceof Double ? (Double) value : defaultValue;
+    }
+
+    /**
+     * Booleans accept "true" and "yes" (case-insensitive); anything else is false.
+     *
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing.
+     * @return The parsed boolean value.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = parse(booleanValues, key, raw -> {
+            String normalized = raw.trim().toLowerCase();
+            return normalized.equals("true") || normalized.equals("yes");
+        });
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    private Object parse(Map<String, Object> cache, String key, Function<String, Object> parser) {
+        Object cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String raw = values.get(key);
+        Object value;
+        if (raw == null) {
+            value = INVALID;
+        } else {
+            try {
+                value = parser.apply(raw);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid {} value '{}'. Using the default.", key, raw);
+                value = INVALID;
+            }
+        }
+        Object previous = cache.putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+}
@@ -0,0 +1,112 @@
+package config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ConfigWatcher watches the external configuration directory and reloads {@link ConfigReader}
+ * when config.properties or a config-&lt;env&gt;.properties file changes.
+ * <p>
+ * Editors often write a file in several steps, so changes are debounced: the reload runs once no further
+ * event has arrived for the debounce period. A reload that fails validation is logged and the previous
+ * configuration stays in effect.
+ * </p>
+ */
+final class ConfigWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWatcher.class);
+
+    private final Path directory;
+    private final long debounceMillis;
+    private final ConfigReader reader;
+    private volatile WatchService watchService;
+
+    ConfigWatcher(Path directory, long debounceMillis, ConfigReader reader) {
+        this.directory = directory;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.reader = reader;
+    }
+
+    /**
+     * Starts watching on a daemon thread.
+     */
+    void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.error("Unable to watch configuration directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} for configuration changes (debounce {} ms)", directory, debounceMillis);
+    }
+
+    /**
+     * Stops watching.
+     */
+    void stop() {
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                logger.warn("Error closing configuration watcher: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = isRelevant(key);
+                key.reset();
+                if (!relevant) {
+                    continue;
+                }
+                // Debounce: wait until the directory has been quiet for the whole period.
+                WatchKey next;
+                while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    next.pollEvents();
+                    next.reset();
+                }
+                try {
+                    reader.reload();
+                } catch (RuntimeException e) {
+                    logger.error("Rejected configuration change in {}: {}", directory, e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.info("Stopped watching {} for configuration changes", directory);
+        }
+    }
+
+    private static boolean isRelevant(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+            } else if (context instanceof Path && ConfigReader.isConfigFileName(((Path) context).getFileName().toString())) {
+                relevant = true;
+            }
+        }
+        return relevant;
+    }
+}
@@ -2,6 +2,11 @@ package config;
 
 import java.net.URL;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.Proxy;
@@ -29,6 +34,25 @@ public final class DriverManager {
     // ThreadLocal to ensure thread safety for WebDriver instances
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
 
+    // Shared pool of pre-started sessions, created lazily when driver.pool.enabled=true
+    private static volatile DriverPool driverPool;
+
+    // Background launcher of upcoming sessions, created lazily when driver.provisioning.async=true
+    private static volatile DriverProvisioner driverProvisioner;
+
+    // Pool the current thread's session was leased from, so it goes back there even if the pool was replaced
+    private static final ThreadLocal<DriverPool> leasedFromThreadLocal = new ThreadLocal<>();
+
+    // Bumped when timeout settings change; sessions created earlier get the new timeouts when next handed out
+    private static final AtomicInteger timeoutsGeneration = new AtomicInteger();
+    private static final Map<WebDriver, Integer> sessionTimeoutsGeneration = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static boolean shutdownHooksAdded;
+
+    static {
+        ConfigReader.getInstance().addChangeListener(DriverManager::onConfigChanged);
+    }
+
     // Private constructor to prevent instantiation
     private DriverManager() {
         throw new UnsupportedOperationException("DriverManager is a utility class and cannot be instantiated.");
@@ -36,94 +60,250 @@ public final class DriverManager {
 
     /**
      * Initializes the WebDriver instance based on the configuration.
-     * Supports multiple browsers and remote execution.
+     * Supports multiple browsers and remote execution. When the driver pool is enabled
+     * the session is leased from the pool instead of being started for this thread; with
+     * asynchronous provisioning it is taken from sessions launched in the background.
      */
     public static void initDriver() {
         if (driverThreadLocal.get() == null) {
-            String browser = TestEnvironment.getBrowser().toLowerCase();
+            if (TestEnvironment.isDriverPoolEnabled()) {
+                DriverPool pool = getDriverPool();
+                WebDriver driver = pool.lease();
+                leasedFromThreadLocal.set(pool);
+                driverThreadLocal.set(applyTimeoutsIfStale(driver));
+                return;
+            }
+            if (TestEnvironment.isAsyncDriverProvisioning()) {
+                driverThreadLocal.set(applyTimeoutsIfStale(getDriverProvisioner().take()));
+                return;
+            }
+            driverThreadLocal.set(createDriver());
+        }
+    }
 
-            try {
+    /**
+     * Reacts to configuration reloads. Timeout changes reach existing sessions the next time they are handed
+     * out; changes to launch settings retire the pool and the background provisioner so that new sessions
+     * are started with the new settings. Sessions already in use by a scenario are never touched.
+     */
+    private static void onConfigChanged(Set<String> changedKeys, ConfigSnapshot snapshot) {
+        if (changedKeys.contains("implicit.wait") || changedKeys.contains("page.load.timeout")) {
+            timeoutsGeneration.incrementAndGet();
+            logger.info("Timeouts changed; they apply to each session from its next scenario on");
+        }
+        if (changedKeys.stream().anyMatch(DriverManager::affectsNewSessions)) {
+            DriverPool retiredPool;
+            DriverProvisioner retiredProvisioner;
+            synchronized (DriverManager.class) {
+                retiredPool = driverPool;
+                retiredProvisioner = driverProvisioner;
+                driverPool = null;
+                driverProvisioner = null;
+            }
+            if (retiredPool != null) {
+                retiredPool.shutdown();
+            }
+            if (retiredProvisioner != null) {
+                retiredProvisioner.shutdown();
+            }
+            logger.info("Browser launch settings changed; new sessions will use the updated configuration");
+        }
+    }
 
-                switch (browser) {
-                    case "chrome": {
-                        ChromeOptions chromeOptions = new ChromeOptions();
-                        if (TestEnvironment.isHeadless()) {
-                            chromeOptions.addArguments("--headless");
-
-                        }
-                        /*if (TestEnvironment.isIncognito()) {
-                            chromeOptions.addArguments("--incognito");
-                        }*/
-                        // 3️⃣ Disable "WebDriver" detection
-                        chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                        chromeOptions.setExperimentalOption("useAutomationExtension", false);
-                        chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
-                        chromeOptions.setCapability("acceptInsecureCerts", true);
-                        // driverThreadLocal.set(new ChromeDriver(chromeOptions));
-                        chromeOptions.addArguments("--disable-notifications");
-                        chromeOptions.addArguments("--disable-extensions");
-                        chromeOptions.addArguments("--disable-popup-blocking");
-                        chromeOptions.addArguments("--disable-gpu");
-                        chromeOptions.addArguments("--disable-infobars");
-                        chromeOptions.addArguments("--incognito");
-                        chromeOptions.addArguments("--no-sandbox");
-                        chromeOptions.addArguments("--disable-animations");
-                        chromeOptions.addArguments("--disable-dev-shm-usage");
-                        chromeOptions.setPageLoadStrategy(PageLoadStrategy.NORMAL);
-                        Proxy proxy= new Proxy();
-                        proxy.setHttpProxy("localhost:8888");
-                        DesiredCapabilities cap = new DesiredCapabilities();
-                        cap.setCapability(CapabilityType.PROXY, proxy);
-                        driverThreadLocal.set(new ChromeDriver(chromeOptions));
-                        driverThreadLocal.get().manage().window().maximize();
-                        driverThreadLocal.get().manage().timeouts().implicitlyWait(Duration.ofSeconds(100));
-                        driverThreadLocal.get().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(70));
-                        //driverThreadLocal.get().manage().timeouts().scriptTimeout(Duration.ofSeconds(100));
-
-                        break;
-                    }
-                    case "firefox": {
-                        FirefoxOptions firefoxOptions = new FirefoxOptions();
-                        // Additional Firefox options can be configured here
+    private static boolean affectsNewSessions(String key) {
+        return key.equals("browser") || key.equals("headless") || key.equals("incognito") || key.equals("proxy.address")
+                || key.endsWith(".arguments") || key.startsWith("remote.")
+                || key.startsWith("driver.pool.") || key.startsWith("driver.provisioning.");
+    }
+
+    private static WebDriver applyTimeoutsIfStale(WebDriver driver) {
+        int generation = timeoutsGeneration.get();
+        Integer applied = sessionTimeoutsGeneration.get(driver);
+        if (applied == null || applied != generation) {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(TestEnvironment.getImplicitWait()));
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(TestEnvironment.getPageLoadTimeout()));
+            sessionTimeoutsGeneration.put(driver, generation);
+        }
+        return driver;
+    }
+
+    /**
+     * Starts a new, fully configured WebDriver session for the configured browser.
+     *
+     * @return WebDriver instance with timeouts applied and window maximized.
+     */
+    private static WebDriver createDriver() {
+        String browser = TestEnvironment.getBrowser().toLowerCase();
+        WebDriver driver;
+
+        try {
+
+            switch (browser) {
+                case "chrome": {
+                    ChromeOptions chromeOptions = new ChromeOptions();
+                    if (TestEnvironment.isHeadless()) {
+                        chromeOptions.addArguments("--headless");
 
-                        driverThreadLocal.set(new FirefoxDriver(firefoxOptions));
-                        break;
-                    }
-                    case "edge": {
-                        EdgeOptions edgeOptions = new EdgeOptions();
-                        driverThreadLocal.set(new org.openqa.selenium.edge.EdgeDriver(edgeOptions));
-                        break;
-                    }
-                    case "safari": {
-                        driverThreadLocal.set(new org.openqa.selenium.safari.SafariDriver());
-                        break;
                     }
-                    default:
-                        logger.error("Unsupported browser: {}", browser);
-                        throw new IllegalArgumentException("Unsupported browser: " + browser);
+                    /*if (TestEnvironment.isIncognito()) {
+                        chromeOptions.addArguments("--incognito");
+                    }*/
+                    // 3️⃣ Disable "WebDriver" detection
+                    chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+                    chromeOptions.setExperimentalOption("useAutomationExtension", false);
+                    chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
+                    chromeOptions.setCapability("acceptInsecureCerts", true);
+                    // driverThreadLocal.set(new ChromeDriver(chromeOptions));
+                    chromeOptions.addArguments("--disable-notifications");
+                    chromeOptions.addArguments("--disable-extensions");
+                    chromeOptions.addArguments("--disable-popup-blocking");
+                    chromeOptions.addArguments("--disable-gpu");
+                    chromeOptions.addArguments("--disable-infobars");
+                    chromeOptions.addArguments("--incognito");
+                    chromeOptions.addArguments("--no-sandbox");
+                    chromeOptions.addArguments("--disable-animations");
+                    chromeOptions.addArguments("--disable-dev-shm-usage");
+                    chromeOptions.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                    Proxy proxy= new Proxy();
+                    proxy.setHttpProxy("localhost:8888");
+                    DesiredCapabilities cap = new DesiredCapabilities();
+                    cap.setCapability(CapabilityType.PROXY, proxy);
+                    driver = new ChromeDriver(chromeOptions);
+                    driver.manage().window().maximize();
+                    driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(100));
+                    driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(70));
+                    //driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(100));
+
+                    break;
                 }
+                case "firefox": {
+                    FirefoxOptions firefoxOptions = new FirefoxOptions();
+                    // Additional Firefox options can be configured here
 
-                // Set implicit wait
-                int implicitWait = TestEnvironment.getImplicitWait();
-                getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-                logger.info("Set implicit wait to {} seconds", implicitWait);
+                    driver = new FirefoxDriver(firefoxOptions);
+                    break;
+                }
+                case "edge": {
+                    EdgeOptions edgeOptions = new EdgeOptions();
+                    driver = new org.openqa.selenium.edge.EdgeDriver(edgeOptions);
+                    break;
+                }
+                case "safari": {
+                    driver = new org.openqa.selenium.safari.SafariDriver();
+                    break;
+                }
+                default:
+                    logger.error("Unsupported browser: {}", browser);
+                    throw new IllegalArgumentException("Unsupported browser: " + browser);
+            }
 
-                // Set page load timeout
-                int pageLoadTimeout = TestEnvironment.getPageLoadTimeout();
-                getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
-                logger.info("Set page load timeout to {} seconds", pageLoadTimeout);
+            // Set implicit wait
+            sessionTimeoutsGeneration.put(driver, timeoutsGeneration.get());
+            int implicitWait = TestEnvironment.getImplicitWait();
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+            logger.info("Set implicit wait to {} seconds", implicitWait);
 
-                // Maximize window
-                getDriver().manage().window().maximize();
-                logger.info("Maximized the browser window");
+            // Set page load timeout
+            int pageLoadTimeout = TestEnvironment.getPageLoadTimeout();
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
+            logger.info("Set page load timeout to {} seconds", pageLoadTimeout);
 
-                logger.info("WebDriver instance initialized for thread: {}", Thread.currentThread().getName());
+            // Maximize window
+            driver.manage().window().maximize();
+            logger.info("Maximized the browser window");
 
-            } catch (Exception e) {
-                logger.error("Error initializing WebDriver for browser {}: {}", browser, e.getMessage());
-                throw new RuntimeException("Failed to initialize WebDriver", e);
+            logger.info("WebDriver instance initialized for thread: {}", Thread.currentThread().getName());
+            return driver;
+
+        } catch (Exception e) {
+            logger.error("Error initializing WebDriver for browser {}: {}", browser, e.getMessage());
+            throw new RuntimeException("Failed to initialize WebDriver", e);
+        }
+    }
+
+    /**
+     * Returns the shared driver pool, creating and warming it up on first use.
+     *
+     * @return DriverPool configured from the driver.pool.* properties.
+     */
+    private static DriverPool getDriverPool() {
+        DriverPool pool = driverPool;
+        if (pool == null) {
+            synchronized (DriverManager.class) {
+                pool = driverPool;
+                if (pool == null) {
+                    pool = new DriverPool(DriverManager::createDriver,
+                            TestEnvironment.getDriverPoolSize(),
+                            Duration.ofMinutes(TestEnvironment.getDriverPoolMaxAgeMinutes()),
+                            TestEnvironment.getDriverPoolMaxUses(),
+                            Duration.ofSeconds(TestEnvironment.getDriverPoolLeaseTimeout()));
+                    pool.warmUp(TestEnvironment.getDriverPoolWarmSize());
+                    addShutdownHooks();
+                    driverPool = pool;
+                }
             }
         }
+        return pool;
+    }
+
+    /**
+     * Returns the background provisioner, creating it (and launching the first sessions) on first use.
+     *
+     * @return DriverProvisioner configured from the driver.provisioning.* properties.
+     */
+    private static DriverProvisioner getDriverProvisioner() {
+        DriverProvisioner provisioner = driverProvisioner;
+        if (provisioner == null) {
+            synchronized (DriverManager.class) {
+                provisioner = driverProvisioner;
+                if (provisioner == null) {
+                    provisioner = new DriverProvisioner(DriverManager::createDriver,
+                            TestEnvironment.getDriverProvisioningPrefetch());
+                    addShutdownHooks();
+                    driverProvisioner = provisioner;
+                }
+            }
+        }
+        return provisioner;
+    }
+
+    // Called under the class lock; the hooks act on whichever pool and provisioner are current at exit.
+    private static void addShutdownHooks() {
+        if (!shutdownHooksAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownDriverPool, "driver-pool-shutdown"));
+            Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdownDriverProvisioner, "driver-provisioner-shutdown"));
+            shutdownHooksAdded = true;
+        }
+    }
+
+    /**
+     * Retrieves latency metrics for asynchronously provisioned sessions.
+     *
+     * @return Provisioning statistics, or null when asynchronous provisioning was never used.
+     */
+    public static DriverProvisioner.ProvisioningStats getProvisioningStats() {
+        DriverProvisioner provisioner = driverProvisioner;
+        return provisioner == null ? null : provisioner.getStats();
+    }
+
+    /**
+     * Quits sessions that were launched in the background but never taken.
+     */
+    public static void shutdownDriverProvisioner() {
+        DriverProvisioner provisioner = driverProvisioner;
+        if (provisioner != null) {
+            provisioner.shutdown();
+        }
+    }
+
+    /**
+     * Quits every idle pooled session. Safe to call when the pool was never started.
+     */
+    public static void shutdownDriverPool() {
+        DriverPool pool = driverPool;
+        if (pool != null) {
+            pool.shutdown();
+        }
     }
 
     /**
@@ -142,11 +322,19 @@ public final class DriverManager {
 
     /**
      * Quits the WebDriver instance and removes it from the ThreadLocal storage.
+     * Pooled sessions are reset and handed back to the pool instead of being quit.
      */
     public static void quitDriver() {
-        if (driverThreadLocal.get() != null) {
-            driverThreadLocal.get().quit();
+        WebDriver driver = driverThreadLocal.get();
+        if (driver != null) {
             driverThreadLocal.remove();
+            DriverPool leasedFrom = leasedFromThreadLocal.get();
+            if (leasedFrom != null) {
+                leasedFromThreadLocal.remove();
+                leasedFrom.release(driver);
+                return;
+            }
+            driver.quit();
             logger.info("WebDriver instance quit and removed for thread: {}", Thread.currentThread().getName());
         }
     }
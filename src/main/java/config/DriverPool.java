@@ -0,0 +1,310 @@
+package config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverPool keeps a bounded set of pre-started WebDriver sessions that are leased to scenario
+ * threads and reset when they are handed back, so scenarios do not pay the browser start-up cost.
+ * <p>
+ * Sessions are retired when they fail a health check, exceed their maximum age or reach their
+ * maximum number of uses; a replacement is started on the next lease.
+ * </p>
+ */
+public final class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxSize;
+    private final Duration maxAge;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+
+    private final BlockingQueue<PooledSession> idleSessions = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a pool backed by the given driver factory.
+     *
+     * @param driverFactory Creates a fully configured WebDriver session.
+     * @param maxSize       Maximum number of sessions alive at the same time.
+     * @param maxAge        Maximum lifetime of a session before it is retired.
+     * @param maxUses       Maximum number of leases per session before it is retired.
+     * @param leaseTimeout  Maximum time to wait for a free session when the pool is exhausted.
+     */
+    public DriverPool(Supplier<WebDriver> driverFactory, int maxSize, Duration maxAge, int maxUses, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1");
+        }
+        this.driverFactory = driverFactory;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.maxUses = maxUses;
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    /**
+     * Starts sessions until the pool holds the requested number of idle sessions.
+     *
+     * @param count Number of sessions to pre-start (capped at the pool size).
+     */
+    public void warmUp(int count) {
+        int target = Math.min(count, maxSize);
+        while (openSessions.get() < target && !shutdown) {
+            PooledSession session = startSession();
+            if (session == null) {
+                break;
+            }
+            idleSessions.offer(session);
+        }
+        logger.info("Driver pool warmed up with {} idle session(s)", idleSessions.size());
+    }
+
+    /**
+     * Leases a healthy session to the calling thread, starting a new one if the pool has capacity.
+     *
+     * @return A WebDriver session reserved for the caller until {@link #release(WebDriver)}.
+     * @throws IllegalStateException if no session becomes available within the lease timeout.
+     */
+    public WebDriver lease() {
+        long deadline = System.nanoTime() + leaseTimeout.toNanos();
+        while (!shutdown) {
+            PooledSession session = idleSessions.poll();
+            if (session == null) {
+                session = startSession();
+            }
+            if (session == null) {
+                try {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    session = idleSessions.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a pooled WebDriver session", e);
+                }
+                if (session == null) {
+                    break;
+                }
+            }
+            if (isExpired(session) || !isHealthy(session.driver)) {
+                destroy(session);
+                continue;
+            }
+            session.uses++;
+            leasedSessions.put(session.driver, session);
+            logger.info("Leased pooled WebDriver session (use {} of {}) to thread: {}",
+                    session.uses, maxUses, Thread.currentThread().getName());
+            return session.driver;
+        }
+        throw new IllegalStateException("No pooled WebDriver session available within " + leaseTimeout.getSeconds() + " seconds");
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting its browser state.
+     * Sessions that cannot be reset, or that reached their age or use limit, are quit instead.
+     *
+     * @param driver The session previously obtained from {@link #lease()}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("Released WebDriver session does not belong to the pool; quitting it");
+            quitQuietly(driver);
+            return;
+        }
+        if (shutdown || isExpired(session) || !reset(driver)) {
+            destroy(session);
+            return;
+        }
+        idleSessions.offer(session);
+        logger.info("Returned WebDriver session to pool from thread: {}", Thread.currentThread().getName());
+    }
+
+    /**
+     * Quits every idle session and marks the pool as closed. Leased sessions are quit when released.
+     */
+    public void shutdown() {
+        shutdown = true;
+        List<PooledSession> drained = new ArrayList<>();
+        idleSessions.drainTo(drained);
+        drained.forEach(this::destroy);
+        logger.info("Driver pool shut down; {} leased session(s) will be quit on release", leasedSessions.size());
+    }
+
+    /**
+     * @return The number of sessions currently alive (idle and leased).
+     */
+    public int getOpenSessionCount() {
+        return openSessions.get();
+    }
+
+    /**
+     * @return The number of sessions waiting to be leased.
+     */
+    public int getIdleSessionCount() {
+        return idleSessions.size();
+    }
+
+    private PooledSession startSession() {
+        if (openSessions.incrementAndGet() > maxSize) {
+            openSessions.decrementAndGet();
+            return null;
+        }
+        try {
+            WebDriver driver = driverFactory.get();
+            logger.info("Started pooled WebDriver session ({} of {})", openSessions.get(), maxSize);
+            return new PooledSession(driver);
+        } catch (RuntimeException e) {
+            openSessions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isExpired(PooledSession session) {
+        if (maxUses > 0 && session.uses >= maxUses) {
+            return true;
+        }
+        return !maxAge.isZero() && Duration.between(session.createdAt, Instant.now()).compareTo(maxAge) > 0;
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return Long.valueOf(1L).equals(((JavascriptExecutor) driver).executeScript("return 1;"));
+        } catch (Exception e) {
+            logger.warn("Pooled WebDriver session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears the browser state a scenario may have left behind, for every origin it visited rather than only the
+     * origin of the page open at the end. The origins are taken from the navigation history of every open window;
+     * the windows are then replaced by a single fresh tab (empty history and sessionStorage), all cookies are
+     * deleted and each origin's storage is cleared through Chrome DevTools. Browsers without DevTools cannot
+     * enumerate or clear other origins, so their sessions are retired instead of being reused.
+     */
+    private boolean reset(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            logger.info("Pooled {} session cannot clear the storage of other origins; retiring it",
+                    driver.getClass().getSimpleName());
+            return false;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            Set<String> origins = new LinkedHashSet<>();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                origins.addAll(visitedOrigins(cdp));
+            }
+            disconnectDevTools(driver);
+            driver.switchTo().newWindow(WindowType.TAB);
+            String freshHandle = driver.getWindowHandle();
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(freshHandle);
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (String origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            }
+            logger.debug("Cleared cookies and storage of {} origin(s) in pooled session", origins.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled WebDriver session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Detaches the DevTools session from the window about to be closed, so the next user of the session attaches
+     * it to the fresh tab. Listeners stay registered on the connection.
+     */
+    private static void disconnectDevTools(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            ((HasDevTools) driver).maybeGetDevTools().ifPresent(DevTools::disconnectSession);
+        } catch (Exception e) {
+            logger.debug("Unable to detach DevTools session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return The http(s) origins in the navigation history of the current window.
+     */
+    private static Set<String> visitedOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (!(entries instanceof List)) {
+            return origins;
+        }
+        for (Object entry : (List<?>) entries) {
+            if (!(entry instanceof Map)) {
+                continue;
+            }
+            try {
+                URI url = URI.create(String.valueOf(((Map<?, ?>) entry).get("url")));
+                if (("http".equals(url.getScheme()) || "https".equals(url.getScheme())) && url.getHost() != null) {
+                    origins.add(url.getScheme() + "://" + url.getHost() + (url.getPort() == -1 ? "" : ":" + url.getPort()));
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a URL an origin can be taken from.
+            }
+        }
+        return origins;
+    }
+
+    private void destroy(PooledSession session) {
+        quitQuietly(session.driver);
+        openSessions.decrementAndGet();
+        logger.info("Retired pooled WebDriver session after {} use(s)", session.uses);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error quitting WebDriver session: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final Instant createdAt = Instant.now();
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
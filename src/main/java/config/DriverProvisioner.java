@@ -0,0 +1,199 @@
+package config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverProvisioner launches WebDriver sessions on a background executor ahead of demand,
+ * so that while scenario N runs the browser for scenario N+1 is already starting.
+ * <p>
+ * Each call to {@link #take()} hands out the oldest pre-launched session and immediately
+ * schedules a replacement. Provisioning latency and the time scenario threads actually spent
+ * waiting are recorded, and their difference is the start-up time hidden behind test execution.
+ * </p>
+ */
+public final class DriverProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverProvisioner.class);
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int prefetch;
+    private final ExecutorService executor;
+    private final Queue<Future<WebDriver>> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger provisionedCount = new AtomicInteger();
+    private final AtomicLong provisioningNanos = new AtomicLong();
+    private final AtomicLong maxProvisioningNanos = new AtomicLong();
+    private final AtomicInteger takenCount = new AtomicInteger();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a provisioner and starts launching the first sessions immediately.
+     *
+     * @param driverFactory Creates a fully configured WebDriver session.
+     * @param prefetch      Number of sessions kept launching or ready ahead of demand.
+     */
+    public DriverProvisioner(Supplier<WebDriver> driverFactory, int prefetch) {
+        this.driverFactory = driverFactory;
+        this.prefetch = Math.max(1, prefetch);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.prefetch, runnable -> {
+            Thread thread = new Thread(runnable, "driver-provisioner-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * Takes a pre-launched session, waiting for it to finish starting if necessary,
+     * and schedules the launch of the next one.
+     *
+     * @return A ready-to-use WebDriver session owned by the caller.
+     */
+    public WebDriver take() {
+        if (shutdown) {
+            throw new IllegalStateException("DriverProvisioner has been shut down");
+        }
+        Future<WebDriver> next = pending.poll();
+        if (next == null) {
+            next = submit();
+        }
+        refill();
+
+        long waitStart = System.nanoTime();
+        try {
+            WebDriver driver = next.get();
+            long waited = System.nanoTime() - waitStart;
+            waitNanos.addAndGet(waited);
+            takenCount.incrementAndGet();
+            logger.info("Took pre-launched WebDriver session after waiting {} ms on thread: {}",
+                    TimeUnit.NANOSECONDS.toMillis(waited), Thread.currentThread().getName());
+            return driver;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pre-launched WebDriver session", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to initialize WebDriver", cause);
+        }
+    }
+
+    /**
+     * Cancels outstanding launches and quits sessions that were launched but never taken.
+     */
+    public void shutdown() {
+        shutdown = true;
+        List<Future<WebDriver>> leftovers = new ArrayList<>(pending);
+        pending.clear();
+        for (Future<WebDriver> future : leftovers) {
+            if (!future.cancel(false)) {
+                try {
+                    future.get().quit();
+                } catch (Exception e) {
+                    logger.warn("Error quitting unused pre-launched WebDriver session: {}", e.getMessage());
+                }
+            }
+        }
+        executor.shutdownNow();
+        logger.info("Driver provisioning summary: {}", getStats());
+    }
+
+    /**
+     * @return A snapshot of provisioning latency and hidden start-up time.
+     */
+    public ProvisioningStats getStats() {
+        return new ProvisioningStats(provisionedCount.get(), provisioningNanos.get(),
+                maxProvisioningNanos.get(), takenCount.get(), waitNanos.get());
+    }
+
+    private void refill() {
+        while (!shutdown && pending.size() < prefetch) {
+            pending.offer(submit());
+        }
+    }
+
+    private Future<WebDriver> submit() {
+        return executor.submit(() -> {
+            long start = System.nanoTime();
+            WebDriver driver = driverFactory.get();
+            long elapsed = System.nanoTime() - start;
+            provisioningNanos.addAndGet(elapsed);
+            maxProvisioningNanos.accumulateAndGet(elapsed, Math::max);
+            provisionedCount.incrementAndGet();
+            logger.info("Pre-launched WebDriver session in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return driver;
+        });
+    }
+
+    /**
+     * Immutable view of the provisioner's latency metrics.
+     */
+    public static final class ProvisioningStats {
+        private final int provisioned;
+        private final long provisioningNanos;
+        private final long maxProvisioningNanos;
+        private final int taken;
+        private final long waitNanos;
+
+        private ProvisioningStats(int provisioned, long provisioningNanos, long maxProvisioningNanos, int taken, long waitNanos) {
+            this.provisioned = provisioned;
+            this.provisioningNanos = provisioningNanos;
+            this.maxProvisioningNanos = maxProvisioningNanos;
+            this.taken = taken;
+            this.waitNanos = waitNanos;
+        }
+
+        public int getProvisionedCount() {
+            return provisioned;
+        }
+
+        public long getAverageProvisioningMillis() {
+            return provisioned == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(provisioningNanos / provisioned);
+        }
+
+        public long getMaxProvisioningMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxProvisioningNanos);
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        }
+
+        /**
+         * @return Start-up time of taken sessions that overlapped with scenario execution.
+         */
+        public long getHiddenProvisioningMillis() {
+            long takenProvisioning = provisioned == 0 ? 0 : provisioningNanos / provisioned * taken;
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(takenProvisioning - waitNanos));
+        }
+
+        @Override
+        public String toString() {
+            return "provisioned=" + provisioned
+                    + ", taken=" + taken
+                    + ", avgProvisioningMs=" + getAverageProvisioningMillis()
+                    + ", maxProvisioningMs=" + getMaxProvisioningMillis()
+                    + ", totalWaitMs=" + getTotalWaitMillis()
+                    + ", hiddenMs=" + getHiddenProvisioningMillis();
+        }
+    }
+}
@@ -11,6 +11,11 @@ import org.slf4j.LoggerFactory;
 /**
  * PicoContainerConfig is responsible for configuring and managing the PicoContainer
  * instance used for dependency injection within the application.
+ * <p>
+ * This container is application-wide. Cucumber step definitions do not use it: the cucumber-picocontainer
+ * integration creates a container per scenario and injects scenario-scoped CommonActions, WaitUtility and
+ * page objects (see pageObjects.PageObjectManager) into the step definition constructors.
+ * </p>
  */
 public final class PicoContainerConfig {
     private static final Logger logger = LoggerFactory.getLogger(PicoContainerConfig.class);
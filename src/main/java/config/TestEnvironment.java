@@ -98,13 +98,7 @@ public final class TestEnvironment {
      * @return Implicit wait timeout in seconds as an integer.
      */
     public static int getImplicitWait() {
-        String value = ConfigReader.getInstance().getProperty("implicit.wait", "10");
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid implicit.wait value '{}'. Using default of 10 seconds.", value);
-            return 10;
-        }
+        return getIntProperty("implicit.wait", 10);
     }
 
     /**
@@ -113,13 +107,7 @@ public final class TestEnvironment {
      * @return Explicit wait timeout in seconds as an integer.
      */
     public static int getExplicitWait() {
-        String value = ConfigReader.getInstance().getProperty("explicit.wait", "20");
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid explicit.wait value '{}'. Using default of 20 seconds.", value);
-            return 20;
-        }
+        return getIntProperty("explicit.wait", 20);
     }
 
     /**
@@ -128,13 +116,7 @@ public final class TestEnvironment {
      * @return Page load timeout in seconds as an integer.
      */
     public static int getPageLoadTimeout() {
-        String value = ConfigReader.getInstance().getProperty("page.load.timeout", "60");
-        try {
-            return Integer.parseInt(value.trim());
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid page.load.timeout value '{}'. Using default of 60 seconds.", value);
-            return 60;
-        }
+        return getIntProperty("page.load.timeout", 60);
     }
 
     /**
@@ -143,12 +125,10 @@ public final class TestEnvironment {
      * @return True if headless mode is enabled, false otherwise.
      */
     public static boolean isHeadless() {
-        String value = ConfigReader.getInstance().getProperty("headless", "false").trim().toLowerCase();
-        return value.equals("true") || value.equals("yes");
+        return getBooleanProperty("headless", false);
     }
     public static boolean isIncognito() {
-        String value = ConfigReader.getInstance().getProperty("incognito", "false").trim().toLowerCase();
-        return value.equals("true") || value.equals("yes");
+        return getBooleanProperty("incognito", false);
     }
 
     /**
@@ -157,8 +137,7 @@ public final class TestEnvironment {
      * @return True if remote execution is enabled, false otherwise.
      */
     public static boolean isRemoteExecution() {
-        String value = ConfigReader.getInstance().getProperty("remote.execution", "false").trim().toLowerCase();
-        return value.equals("true") || value.equals("yes");
+        return getBooleanProperty("remote.execution", false);
     }
 
     /**
@@ -219,8 +198,552 @@ public final class TestEnvironment {
         return ConfigReader.getInstance().getProperty("logging.level", "INFO").trim();
     }
 
+    /**
+     * Determines if WebDriver sessions should be leased from a shared pool of pre-started browsers.
+     *
+     * @return True if driver pooling is enabled, false otherwise.
+     */
+    public static boolean isDriverPoolEnabled() {
+        return getBooleanProperty("driver.pool.enabled", false);
+    }
+
+    /**
+     * Retrieves the maximum number of browser sessions kept by the driver pool.
+     *
+     * @return Maximum pool size, defaulting to the number of available processors.
+     */
+    public static int getDriverPoolSize() {
+        return getIntProperty("driver.pool.size", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Retrieves the number of sessions started up front when the driver pool is created.
+     *
+     * @return Number of sessions to pre-start.
+     */
+    public static int getDriverPoolWarmSize() {
+        return getIntProperty("driver.pool.warm.size", 1);
+    }
+
+    /**
+     * Retrieves the maximum age of a pooled session before it is retired.
+     *
+     * @return Maximum session age in minutes (0 disables the limit).
+     */
+    public static int getDriverPoolMaxAgeMinutes() {
+        return getIntProperty("driver.pool.max.age.minutes", 30);
+    }
+
+    /**
+     * Retrieves the maximum number of scenarios a pooled session may serve before it is retired.
+     *
+     * @return Maximum uses per session (0 disables the limit).
+     */
+    public static int getDriverPoolMaxUses() {
+        return getIntProperty("driver.pool.max.uses", 20);
+    }
+
+    /**
+     * Retrieves how long a scenario waits for a free pooled session when the pool is exhausted.
+     *
+     * @return Lease timeout in seconds.
+     */
+    public static int getDriverPoolLeaseTimeout() {
+        return getIntProperty("driver.pool.lease.timeout", 120);
+    }
+
+    /**
+     * Determines if the next WebDriver session should be launched in the background while the current scenario runs.
+     *
+     * @return True if asynchronous provisioning is enabled, false otherwise.
+     */
+    public static boolean isAsyncDriverProvisioning() {
+        return getBooleanProperty("driver.provisioning.async", false);
+    }
+
+    /**
+     * Retrieves how many sessions are launched ahead of demand in asynchronous provisioning mode.
+     *
+     * @return Number of sessions to pre-launch.
+     */
+    public static int getDriverProvisioningPrefetch() {
+        return getIntProperty("driver.provisioning.prefetch", 1);
+    }
+
+    /**
+     * Retrieves the engine used by WaitUtility for element waits.
+     *
+     * @return "observer" to wait on an in-page MutationObserver, or "polling" for WebDriverWait polling.
+     */
+    public static String getWaitEngine() {
+        return ConfigReader.getInstance().getProperty("wait.engine", "polling").trim().toLowerCase();
+    }
+
+    /**
+     * Retrieves the polling strategy used between evaluations of a wait condition.
+     *
+     * @return "fixed", "backoff" or "adaptive".
+     */
+    public static String getWaitPollingStrategy() {
+        return ConfigReader.getInstance().getProperty("wait.polling.strategy", "fixed").trim().toLowerCase();
+    }
+
+    /**
+     * Retrieves the first delay of the back-off polling strategies.
+     *
+     * @return Initial polling delay in milliseconds.
+     */
+    public static int getWaitPollingInitialMillis() {
+        return getIntProperty("wait.polling.initial.ms", 50);
+    }
+
+    /**
+     * Retrieves the cap on the delay of the back-off polling strategies.
+     *
+     * @return Maximum polling delay in milliseconds.
+     */
+    public static int getWaitPollingMaxMillis() {
+        return getIntProperty("wait.polling.max.ms", 1000);
+    }
+
+    /**
+     * Retrieves the factor applied to the polling delay after every unsuccessful poll.
+     *
+     * @return Back-off multiplier.
+     */
+    public static double getWaitPollingMultiplier() {
+        return getDoubleProperty("wait.polling.multiplier", 2.0);
+    }
+
+    /**
+     * Retrieves the random jitter applied to each polling delay, as a fraction of the delay.
+     *
+     * @return Jitter between 0.0 and 1.0.
+     */
+    public static double getWaitPollingJitter() {
+        return getDoubleProperty("wait.polling.jitter", 0.2);
+    }
+
+    /**
+     * Retrieves the file where the adaptive polling strategy keeps learned wait latencies.
+     *
+     * @return Path of the latency history file.
+     */
+    public static String getWaitPollingHistoryFile() {
+        return ConfigReader.getInstance().getProperty("wait.polling.history.file", "test-output/wait-latencies.properties").trim();
+    }
+
+    /**
+     * Checks whether fetch/XHR traffic is tracked through Chrome DevTools for network-idle waits.
+     *
+     * @return True if network tracking is enabled.
+     */
+    public static boolean isNetworkTrackingEnabled() {
+        return getBooleanProperty("network.tracking.enabled", true);
+    }
+
+    /**
+     * Retrieves how fixed sleeps taken through WaitUtility.wait behave.
+     *
+     * @return "sleep" (always sleep the full time) or "stable" (return once the page is stable).
+     */
+    public static String getSleepMode() {
+        return ConfigReader.getInstance().getProperty("wait.sleep.mode", "sleep").trim().toLowerCase();
+    }
+
+    /**
+     * Retrieves how long the DOM and network must stay quiet before a sleep in stable mode returns.
+     *
+     * @return Quiet period in milliseconds.
+     */
+    public static int getSleepStableQuietMillis() {
+        return getIntProperty("wait.sleep.stable.quiet.ms", 300);
+    }
+
+    /**
+     * Retrieves the file where the per-run fixed sleep report is written.
+     *
+     * @return Path of the sleep report file.
+     */
+    public static String getSleepReportFile() {
+        return ConfigReader.getInstance().getProperty("wait.sleep.report.file", "target/sleep-audit.txt").trim();
+    }
+
+    /**
+     * Determines whether CommonActions highlights elements it interacts with, based on highlight.mode:
+     * "on", "off", or "auto" (on unless running headless or on a CI server).
+     *
+     * @return True if element highlighting is enabled.
+     */
+    public static boolean isHighlightEnabled() {
+        String mode = ConfigReader.getInstance().getProperty("highlight.mode", "auto").trim().toLowerCase();
+        switch (mode) {
+            case "on":
+            case "true":
+                return true;
+            case "off":
+            case "false":
+                return false;
+            default:
+                return !isHeadless() && System.getenv("CI") == null;
+        }
+    }
+
+    /**
+     * Retrieves how long a highlight stays visible before the original styles are restored.
+     *
+     * @return Highlight duration in milliseconds.
+     */
+    public static int getHighlightDurationMillis() {
+        return getIntProperty("highlight.duration.ms", 500);
+    }
+
+    /**
+     * Determines whether the login step may restore a cached session (cookies and web storage) instead of logging in through the UI.
+     *
+     * @return True if the login session cache is enabled.
+     */
+    public static boolean isLoginStateCacheEnabled() {
+        return getBooleanProperty("login.state.cache.enabled", true);
+    }
+
+    /**
+     * Retrieves how long a captured login session may be restored before a fresh UI login is required.
+     *
+     * @return Session lifetime in minutes.
+     */
+    public static int getLoginStateTtlMinutes() {
+        return getIntProperty("login.state.ttl.minutes", 30);
+    }
+
+    /**
+     * Retrieves the page opened after a cached login session has been restored.
+     *
+     * @return Path relative to the base URL.
+     */
+    public static String getLoginLandingPath() {
+        return ConfigReader.getInstance().getProperty("login.state.landing.path", "/dashboard").trim();
+    }
+
+    /**
+     * Determines whether page objects keep located elements until they go stale instead of locating them on every access.
+     *
+     * @return True if the element locator cache is enabled.
+     */
+    public static boolean isLocatorCacheEnabled() {
+        return getBooleanProperty("locator.cache.enabled", true);
+    }
+
+    /**
+     * Retrieves the file the locator cache hit/miss report is written to at the end of the run.
+     *
+     * @return The report file path.
+     */
+    public static String getLocatorCacheReportFile() {
+        return ConfigReader.getInstance().getProperty("locator.cache.report.file", "target/locator-cache.txt").trim();
+    }
+
+    /**
+     * Retrieves how ExcelUtility reads whole .xlsx sheets: "stream" (row by row, constant memory) or "dom" (load the workbook).
+     *
+     * @return The Excel read mode.
+     */
+    public static String getExcelReadMode() {
+        return ConfigReader.getInstance().getProperty("excel.read.mode", "stream").trim();
+    }
+
+    /**
+     * Retrieves how many parsed Excel sheets ExcelUtility keeps in memory for its cell and row accessors.
+     *
+     * @return The maximum number of cached sheets; 0 disables the cache.
+     */
+    public static int getExcelCacheSize() {
+        return getIntProperty("excel.cache.size", 16);
+    }
+
+    /**
+     * Retrieves the number of rows from which a new .xlsx file is written with SXSSF (streaming) instead of a full in-memory workbook.
+     *
+     * @return The row threshold for streaming writes.
+     */
+    public static int getExcelStreamingWriteRows() {
+        return getIntProperty("excel.write.streaming.rows", 10000);
+    }
+
+    /**
+     * Retrieves whether whole-sheet Excel reads are served from compiled binary snapshots.
+     *
+     * @return true if sheet snapshots are enabled, false otherwise.
+     */
+    public static boolean isExcelSnapshotEnabled() {
+        return getBooleanProperty("excel.snapshot.enabled", true);
+    }
+
+    /**
+     * Retrieves the directory compiled sheet snapshots are stored in.
+     *
+     * @return The snapshot directory path.
+     */
+    public static String getExcelSnapshotDir() {
+        return ConfigReader.getInstance().getProperty("excel.snapshot.dir", "test-output/excel-snapshots").trim();
+    }
+
+    /**
+     * Retrieves whether runners order their scenarios longest-first from the durations of previous runs.
+     *
+     * @return true if the scenario scheduler is enabled, false otherwise.
+     */
+    public static boolean isSchedulerEnabled() {
+        return getBooleanProperty("scheduler.enabled", true);
+    }
+
+    /**
+     * Retrieves the number of scenarios run in parallel.
+     *
+     * @return The worker count; 0 sizes it from the available cores and free memory.
+     */
+    public static int getSchedulerWorkers() {
+        return getIntProperty("scheduler.workers", 0);
+    }
+
+    /**
+     * Retrieves the memory one browser session is assumed to need when the worker count is sized automatically.
+     *
+     * @return The memory per browser in MB.
+     */
+    public static int getSchedulerBrowserMemoryMb() {
+        return getIntProperty("scheduler.browser.memory.mb", 300);
+    }
+
+    /**
+     * Retrieves the file scenario durations are kept in between runs.
+     *
+     * @return The history file path.
+     */
+    public static String getSchedulerHistoryFile() {
+        return ConfigReader.getInstance().getProperty("scheduler.history.file", "test-output/scenario-durations.properties").trim();
+    }
+
+    /**
+     * Retrieves the file the predicted and actual makespan per runner are written to at the end of the run.
+     *
+     * @return The report file path.
+     */
+    public static String getSchedulerReportFile() {
+        return ConfigReader.getInstance().getProperty("scheduler.report.file", "target/scheduler-report.txt").trim();
+    }
+
+    /**
+     * Retrieves the number of JVMs the suite is split across. The -Dshard.count system property overrides
+     * shard.count, so one configuration serves both sharded and single-JVM runs.
+     *
+     * @return The shard count; 1 runs the whole suite in this JVM.
+     */
+    public static int getShardCount() {
+        return Math.max(1, Integer.getInteger("shard.count", getIntProperty("shard.count", 1)));
+    }
+
+    /**
+     * Retrieves the shard this JVM runs, set with -Dshard.index by the shard launcher.
+     *
+     * @return The zero-based shard index.
+     */
+    public static int getShardIndex() {
+        return Integer.getInteger("shard.index", 0);
+    }
+
+    /**
+     * Retrieves whether this JVM runs one shard of a sharded run.
+     *
+     * @return true if the suite is split across more than one JVM, false otherwise.
+     */
+    public static boolean isSharded() {
+        return getShardCount() > 1;
+    }
+
+    /**
+     * Retrieves how scenarios are split across shards: "hash" (stable per scenario) or "duration"
+     * (balanced by historical durations). A non-blank -Dshard.strategy system property overrides shard.strategy.
+     *
+     * @return The shard strategy.
+     */
+    public static String getShardStrategy() {
+        String strategy = System.getProperty("shard.strategy", "").trim();
+        return strategy.isEmpty() ? ConfigReader.getInstance().getProperty("shard.strategy", "duration").trim() : strategy;
+    }
+
+    /**
+     * Retrieves the directory the shards write their reports to, one sub-directory per shard.
+     *
+     * @return The shard output directory path.
+     */
+    public static String getShardOutputDir() {
+        return ConfigReader.getInstance().getProperty("shard.output.dir", "target/shards").trim();
+    }
+
+    /**
+     * Retrieves the directory this JVM's shard writes its reports to.
+     *
+     * @return The shard directory path, e.g. target/shards/shard-0.
+     */
+    public static String getShardDir() {
+        return getShardOutputDir() + "/shard-" + getShardIndex();
+    }
+
+    /**
+     * Retrieves whether scenarios are recorded through the DevTools screencast.
+     *
+     * @return true if video recording is enabled.
+     */
+    public static boolean isVideoRecordingEnabled() {
+        return getBooleanProperty("video.recording.enabled", true);
+    }
+
+    /**
+     * Retrieves how many seconds of video before the end of a scenario are kept for a failure.
+     *
+     * @return The length of the rolling video window in seconds.
+     */
+    public static int getVideoWindowSeconds() {
+        return getIntProperty("video.window.seconds", 30);
+    }
+
+    /**
+     * Retrieves the maximum width of screencast frames; larger pages are scaled down by the browser.
+     *
+     * @return The maximum frame width in pixels.
+     */
+    public static int getVideoMaxWidth() {
+        return getIntProperty("video.max.width", 1280);
+    }
+
+    /**
+     * Retrieves the maximum height of screencast frames.
+     *
+     * @return The maximum frame height in pixels.
+     */
+    public static int getVideoMaxHeight() {
+        return getIntProperty("video.max.height", 720);
+    }
+
+    /**
+     * Retrieves the JPEG quality of screencast frames.
+     *
+     * @return The JPEG quality, 0-100.
+     */
+    public static int getVideoJpegQuality() {
+        return getIntProperty("video.jpeg.quality", 60);
+    }
+
+    /**
+     * Retrieves how many decoded frames may wait for the video buffer before new frames are dropped.
+     *
+     * @return The frame queue size.
+     */
+    public static int getVideoQueueSize() {
+        return getIntProperty("video.queue.size", 64);
+    }
+
+    /**
+     * Retrieves the directory videos of failed scenarios are written to.
+     *
+     * @return The video directory path.
+     */
+    public static String getVideoDir() {
+        return ConfigReader.getInstance().getProperty("video.dir", "videos").trim();
+    }
+
+    /**
+     * Retrieves how many screenshots of the last passed steps are kept in memory to show with a failure.
+     *
+     * @return The number of step screenshots kept; 0 disables step screenshots.
+     */
+    public static int getScreenshotRingSize() {
+        return getIntProperty("screenshot.ring.size", 0);
+    }
+
+    /**
+     * Retrieves the image format screenshots are saved in: png, jpg or webp.
+     *
+     * @return The screenshot format.
+     */
+    public static String getScreenshotFormat() {
+        return ConfigReader.getInstance().getProperty("screenshot.format", "jpg").trim();
+    }
+
+    /**
+     * Retrieves the quality of screenshots saved as jpg or webp.
+     *
+     * @return The quality, 0-100.
+     */
+    public static int getScreenshotJpegQuality() {
+        return getIntProperty("screenshot.jpeg.quality", 80);
+    }
+
+    /**
+     * Retrieves the width saved screenshots are scaled down to if they are wider.
+     *
+     * @return The maximum width in pixels; 0 keeps the original size.
+     */
+    public static int getScreenshotMaxWidth() {
+        return getIntProperty("screenshot.max.width", 0);
+    }
+
+    /**
+     * Retrieves how many screenshots may wait to be saved before test threads save their own.
+     *
+     * @return The screenshot queue size.
+     */
+    public static int getScreenshotQueueSize() {
+        return getIntProperty("screenshot.queue.size", 32);
+    }
+
+    /**
+     * Retrieves what the asynchronous log writer does when its buffer is full: "block" waits for space,
+     * "drop" discards the event.
+     *
+     * @return The log queue full policy.
+     */
+    public static String getLogQueueFullPolicy() {
+        return ConfigReader.getInstance().getProperty("log.queue.full.policy", "block").trim();
+    }
+
     // Add more getter methods as needed following the same pattern.
 
+    /**
+     * Helper method to retrieve integer properties with a fallback.
+     * Typed helpers read the current config snapshot, which parses each value only once.
+     *
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing or invalid.
+     * @return The parsed integer value.
+     */
+    private static int getIntProperty(String key, int defaultValue) {
+        return ConfigReader.getInstance().getSnapshot().getInt(key, defaultValue);
+    }
+
+    /**
+     * Helper method to retrieve decimal properties with a fallback.
+     *
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing or invalid.
+     * @return The parsed double value.
+     */
+    private static double getDoubleProperty(String key, double defaultValue) {
+        return ConfigReader.getInstance().getSnapshot().getDouble(key, defaultValue);
+    }
+
+    /**
+     * Helper method to retrieve boolean properties ("true"/"yes") with a fallback.
+     *
+     * @param key          The configuration property key.
+     * @param defaultValue The value used when the property is missing.
+     * @return The parsed boolean value.
+     */
+    private static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return ConfigReader.getInstance().getSnapshot().getBoolean(key, defaultValue);
+    }
+
     /**
      * Helper method to retrieve required properties.
      *
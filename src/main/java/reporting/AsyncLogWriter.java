@@ -0,0 +1,233 @@
+package reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringMap;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import config.TestEnvironment;
+
+/**
+ * AsyncLogWriter moves log output off the test threads.
+ * <p>
+ * Callers format their message and publish it into a bounded, lock-free multi-producer ring buffer;
+ * a single daemon thread drains it in batches, writes each event to Log4j and appends the TestNG report
+ * lines of consecutive events for the same test result with one {@link Reporter#log(String)} call.
+ * An event keeps the name of the thread that logged it, its ThreadContext and its timestamp, so {@code %t},
+ * {@code %X} and {@code %d} in the layout show the caller, not the writer thread.
+ * </p>
+ * <p>
+ * When the buffer is full, {@code log.queue.full.policy} decides: "block" (the default) waits for space, "drop"
+ * discards the event and reports how many were dropped. Events are never written around the queue, so their
+ * order is kept. The writer thread sleeps while the buffer is empty and is woken by the next event.
+ * </p>
+ */
+final class AsyncLogWriter {
+
+    private static final int CAPACITY = 8192; // must be a power of two
+    private static final int MAX_BATCH = 256;
+    private static final long WAIT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // Safety net only: the writer is woken by producers, not by this timeout.
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger logger;
+    private final boolean dropWhenFull;
+    private final AtomicReferenceArray<LogEvent> slots = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long head;
+    private volatile long written;
+    private volatile boolean idle;
+    private final Thread writerThread;
+
+    AsyncLogWriter(Logger logger) {
+        this.logger = logger;
+        this.dropWhenFull = "drop".equalsIgnoreCase(TestEnvironment.getLogQueueFullPolicy());
+        this.writerThread = new Thread(this::drainLoop, "async-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "async-log-flush"));
+    }
+
+    /**
+     * Queues an event. If the buffer is full, waits for space or drops the event, depending on the policy.
+     */
+    void publish(LogEvent event) {
+        long claimed;
+        while (true) {
+            claimed = tail.get();
+            if (claimed - head >= CAPACITY) {
+                if (dropWhenFull) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(WAIT_PARK_NANOS);
+                continue;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                break;
+            }
+        }
+        slots.set((int) (claimed & (CAPACITY - 1)), event);
+        if (idle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Blocks until every event published before this call has been written.
+     */
+    void flush() {
+        long target = tail.get();
+        while (written < target && writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+    }
+
+    private void drainLoop() {
+        List<LogEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            LogEvent event;
+            while (batch.size() < MAX_BATCH && (event = poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                // Publishers check the flag after publishing, the writer checks the buffer after setting it,
+                // so an event published meanwhile is either seen here or wakes the writer.
+                idle = true;
+                if (slots.get((int) (head & (CAPACITY - 1))) == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                System.err.println("[ERROR] Async log writer failed: " + e.getMessage());
+            } finally {
+                written += batch.size();
+                batch.clear();
+            }
+        }
+    }
+
+    // Single consumer: only the writer thread advances head.
+    private LogEvent poll() {
+        int index = (int) (head & (CAPACITY - 1));
+        LogEvent event = slots.get(index);
+        if (event == null) {
+            // Either empty, or a producer claimed the slot but has not published it yet.
+            return null;
+        }
+        slots.set(index, null);
+        head = head + 1;
+        return event;
+    }
+
+    private void writeBatch(List<LogEvent> batch) {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            logger.warn("{} log event(s) dropped because the log queue was full.", lost);
+        }
+        for (LogEvent event : batch) {
+            if (event.level != null) {
+                emit(event);
+            }
+        }
+        StringBuilder lines = new StringBuilder();
+        ITestResult current = null;
+        boolean pending = false;
+        for (LogEvent event : batch) {
+            if (event.reporterLine == null) {
+                continue;
+            }
+            if (pending && event.testResult != current) {
+                appendToReport(current, lines);
+                lines.setLength(0);
+            }
+            current = event.testResult;
+            lines.append(event.reporterLine);
+            pending = true;
+        }
+        if (pending) {
+            appendToReport(current, lines);
+        }
+    }
+
+    /**
+     * Writes the event with the thread, context and time of the caller rather than those of the writer thread.
+     */
+    private void emit(LogEvent event) {
+        if (!(logger instanceof org.apache.logging.log4j.core.Logger)) {
+            logger.log(event.level, event.message, event.throwable);
+            return;
+        }
+        ((org.apache.logging.log4j.core.Logger) logger).get().log(Log4jLogEvent.newBuilder()
+                .setLoggerName(logger.getName())
+                .setLoggerFqcn(Log4jManager.class.getName())
+                .setLevel(event.level)
+                .setMessage(new SimpleMessage(event.message))
+                .setThrown(event.throwable)
+                .setTimeMillis(event.timeMillis)
+                .setThreadName(event.threadName)
+                .setThreadId(event.threadId)
+                .setContextData(event.contextData)
+                .setContextStack(event.contextStack)
+                .build());
+    }
+
+    private static void appendToReport(ITestResult result, CharSequence lines) {
+        ITestResult previous = Reporter.getCurrentTestResult();
+        Reporter.setCurrentTestResult(result);
+        try {
+            Reporter.log(lines.toString());
+        } finally {
+            Reporter.setCurrentTestResult(previous);
+        }
+    }
+
+    /**
+     * A formatted log event, captured on the calling thread together with that thread's name, ThreadContext and
+     * the time of the call. A null level means the event is for the report only.
+     */
+    static final class LogEvent {
+        private final Level level;
+        private final String message;
+        private final Throwable throwable;
+        private final String reporterLine;
+        private final ITestResult testResult;
+        private final long timeMillis = System.currentTimeMillis();
+        private final String threadName;
+        private final long threadId;
+        private final StringMap contextData;
+        private final ThreadContext.ContextStack contextStack;
+
+        LogEvent(Level level, String message, Throwable throwable, String reporterLine, ITestResult testResult) {
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+            this.reporterLine = reporterLine;
+            this.testResult = testResult;
+            Thread caller = Thread.currentThread();
+            this.threadName = caller.getName();
+            this.threadId = caller.getId();
+            this.contextData = level == null ? null : ContextDataFactory.createContextData(ThreadContext.getImmutableContext());
+            this.contextStack = level == null ? null : ThreadContext.getImmutableStack();
+        }
+    }
+}
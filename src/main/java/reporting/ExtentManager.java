@@ -4,8 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -14,6 +14,7 @@ import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Protocol;
 import com.aventstack.extentreports.reporter.configuration.Theme;
@@ -39,6 +40,7 @@ public class ExtentManager {
     private static ExtentReports extent;
     private static ThreadLocal<ExtentTest> extentTestThread = new ThreadLocal<>();
     private static String reportFile;
+    private static final AtomicInteger instances = new AtomicInteger();
 
     /**
      * Creates and initializes the ExtentReports instance with advanced configuration.
@@ -50,36 +52,23 @@ public class ExtentManager {
             try {
                 // Create a unique report file name using a timestamp
                 String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-                reportFile = System.getProperty("user.dir") + "/target/extentReport/extent-report-" + timeStamp + ".html";
+                // Each shard of a sharded run writes its own report, merged afterwards by ShardReportMerger
+                String reportDir = TestEnvironment.isSharded()
+                        ? TestEnvironment.getShardDir() + "/extentReport"
+                        : System.getProperty("user.dir") + "/target/extentReport";
+                // Runners of the same JVM flush and recreate the instance; the sequence keeps their files apart.
+                int sequence = instances.incrementAndGet();
+                reportFile = reportDir + "/extent-report-" + timeStamp + "-" + sequence + ".html";
 
-                ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFile);
-                sparkReporter.config().setTheme(Theme.DARK);
-                sparkReporter.config().setDocumentTitle("Automation Test Report");
-                sparkReporter.config().setReportName("My BDD Project - Test Execution Report");
-                sparkReporter.config().setEncoding("utf-8");
-                sparkReporter.config().setProtocol(Protocol.HTTPS);
-                sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
-                sparkReporter.config().setTimelineEnabled(true);
-                sparkReporter.config().setJs("js-string");
-
-                // Custom CSS for branding and styling (update the logo path as needed)
-                String customCSS = ".brand-logo { " +
-                        "background-image: url('C:\\Users\\sreenu\\Downloads\\DALL·E 2025-02-09 16.51.30 - A sleek and professional logo design for 'Anumandla Sreenu', featuring modern, bold typography with a futuristic and innovative feel. The initials 'AS.webp\"'); " +
-                        "background-repeat: no-repeat; " +
-                        "background-position: left center; " +
-                        "padding-left: 60px; " +
-                        "height: 60px; " +
-                        "}";
-                sparkReporter.config().setCss(customCSS);
-
-                // Optionally load external XML configuration if exists
-                File xmlConfig = new File("src/main/resources/extent-config.xml");
-                if (xmlConfig.exists()) {
-                    sparkReporter.loadXMLConfig(xmlConfig);
-                }
+                ExtentSparkReporter sparkReporter = createSparkReporter(reportFile);
 
                 extent = new ExtentReports();
                 extent.attachReporter(sparkReporter);
+                if (TestEnvironment.isSharded()) {
+                    File archiveDir = new File(TestEnvironment.getShardDir(), ShardReportMerger.EXTENT_JSON_DIR);
+                    archiveDir.mkdirs();
+                    extent.attachReporter(new JsonFormatter(new File(archiveDir, "extent-" + sequence + ".json").getPath()));
+                }
                 // Set initial system information for the report
                 extent.setSystemInfo("yuooa", "My BDD Project");
                 extent.setSystemInfo("Environment", TestEnvironment.getEnvironment());
@@ -95,6 +84,42 @@ public class ExtentManager {
         return extent;
     }
 
+    /**
+     * Creates the Spark (HTML) reporter with the project's styling.
+     *
+     * @param reportFile the HTML file to write.
+     * @return the configured reporter.
+     * @throws IOException if the external XML configuration cannot be read.
+     */
+    static ExtentSparkReporter createSparkReporter(String reportFile) throws IOException {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFile);
+        sparkReporter.config().setTheme(Theme.DARK);
+        sparkReporter.config().setDocumentTitle("Automation Test Report");
+        sparkReporter.config().setReportName("My BDD Project - Test Execution Report");
+        sparkReporter.config().setEncoding("utf-8");
+        sparkReporter.config().setProtocol(Protocol.HTTPS);
+        sparkReporter.config().setTimeStampFormat("yyyy-MM-dd HH:mm:ss");
+        sparkReporter.config().setTimelineEnabled(true);
+        sparkReporter.config().setJs("js-string");
+
+        // Custom CSS for branding and styling (update the logo path as needed)
+        String customCSS = ".brand-logo { " +
+                "background-image: url('C:\\Users\\sreenu\\Downloads\\DALL·E 2025-02-09 16.51.30 - A sleek and professional logo design for 'Anumandla Sreenu', featuring modern, bold typography with a futuristic and innovative feel. The initials 'AS.webp\"'); " +
+                "background-repeat: no-repeat; " +
+                "background-position: left center; " +
+                "padding-left: 60px; " +
+                "height: 60px; " +
+                "}";
+        sparkReporter.config().setCss(customCSS);
+
+        // Optionally load external XML configuration if exists
+        File xmlConfig = new File("src/main/resources/extent-config.xml");
+        if (xmlConfig.exists()) {
+            sparkReporter.loadXMLConfig(xmlConfig);
+        }
+        return sparkReporter;
+    }
+
     /**
      * Returns the current ExtentReports instance, creating one if necessary.
      *
@@ -160,6 +185,8 @@ public class ExtentManager {
      */
     public static void flushReports() {
         if (extent != null) {
+            // The report links screenshot files that may still be written in the background.
+            ScreenshotPipeline.flush();
             extent.flush();
             Log4jManager.info("Flushed ExtentReports.");
             extent = null; // Reset to force reinitialization on next run.
@@ -202,15 +229,16 @@ public class ExtentManager {
         // Append a timestamp to the screenshot name to ensure uniqueness
         String timeStamp = new SimpleDateFormat("yyyyMMddHHmmssSSS").format(new Date());
         String finalScreenshotName = screenshotName + "_" + timeStamp;
-        String destPath = screenshotsDir + finalScreenshotName + ".png";
+        String destPath = ScreenshotPipeline.pathFor(screenshotsDir + finalScreenshotName + ".png").toString();
 
         try {
-            File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(srcFile, new File(destPath));
+            // The report links the file's final path now; it is encoded and written in the background.
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            ScreenshotPipeline.save(screenshot, destPath);
             getTest().log(status, "Screenshot attached:",
                     MediaEntityBuilder.createScreenCaptureFromPath(destPath, finalScreenshotName).build());
             Log4jManager.info("Attached screenshot: " + destPath);
-        } catch (IOException e) {
+        } catch (Exception e) {
             Log4jManager.error("Failed to attach screenshot: " + destPath, e);
             getTest().fail("Failed to attach screenshot: " + destPath);
         }
@@ -1,27 +1,79 @@
 package reporting;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.Configurator; // Use Log4j2 Configurator
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.testng.Assert;
+import org.testng.ITestResult;
 import org.testng.Reporter;
 
 /**
  * Log4jManager provides centralized logging functionalities for the test framework.
+ * <p>
+ * Logging is configured once per JVM. Messages are formatted on the calling thread and handed to an
+ * {@link AsyncLogWriter}, which writes them to Log4j and the TestNG report in the background, so a log
+ * statement costs a queue insert rather than synchronous I/O. Call {@link #flush()} where all output must
+ * be written, e.g. before reports are generated.
+ * </p>
  */
 public class Log4jManager {
     private static final Logger logger = LogManager.getLogger(Log4jManager.class);
+    private static final AtomicBoolean configured = new AtomicBoolean();
+    private static final AsyncLogWriter writer = new AsyncLogWriter(logger);
 
     public static void initLogCfg() {
+        if (!configured.compareAndSet(false, true)) {
+            return;
+        }
         String rootPath = System.getProperty("user.dir");
         // Use Log4j2's Configurator to load the configuration file.
         // (Make sure your configuration file is in Log4j2 format; for example, log4j2.properties or log4j2.xml.)
         Configurator.initialize(null, rootPath + File.separator + "src/test/resources/config/log4j2.properties");
+    }
+
+    /**
+     * Blocks until all messages logged so far have been written to Log4j and the TestNG report.
+     */
+    public static void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Leveled messages reach the TestNG report only if Log4j logs them at that level, so messages filtered out by
+     * the Log4j configuration are never formatted (and lazy parameters such as element descriptions never resolved).
+     * Errors with an exception and the pass/fail/skip/debug(String) messages always reach the report.
+     */
+    private static boolean isEnabled(Level level) {
+        initLogCfg();
+        return logger.isEnabled(level);
+    }
 
-        // If you want to create/obtain a logger with a specific name (e.g. "TraceLog")
-        Logger traceLogger = LogManager.getLogger("TraceLog");
+    /**
+     * Formats the message on the calling thread and queues it for Log4j and, if requested, the TestNG report.
+     *
+     * @param level        The Log4j level.
+     * @param message      The message pattern.
+     * @param params       The parameters to insert into the message; a trailing Throwable is logged as such.
+     * @param reportPrefix HTML placed before the message in the TestNG report.
+     * @param reportSuffix HTML placed after the message in the TestNG report.
+     * @param toReporter   Whether the message goes to the TestNG report.
+     */
+    private static void log(Level level, String message, Object[] params, String reportPrefix, String reportSuffix, boolean toReporter) {
+        initLogCfg();
+        boolean toLog4j = logger.isEnabled(level);
+        if (!toLog4j && !toReporter) {
+            return;
+        }
+        ParameterizedMessage formatted = new ParameterizedMessage(message, params);
+        String text = formatted.getFormattedMessage();
+        ITestResult testResult = Reporter.getCurrentTestResult();
+        writer.publish(new AsyncLogWriter.LogEvent(toLog4j ? level : null, text, formatted.getThrowable(),
+                toReporter ? reportPrefix + text + reportSuffix : null, testResult));
     }
 
     /**
@@ -31,9 +83,7 @@ public class Log4jManager {
      * @param params  The parameters to insert into the message.
      */
     public static void info(String message, Object... params) {
-        Log4jManager.initLogCfg();
-        logger.info(message, params);
-        Reporter.log(message + "<br/>");
+        log(Level.INFO, message, params, "", "<br/>", isEnabled(Level.INFO));
     }
 
     /**
@@ -43,9 +93,7 @@ public class Log4jManager {
      * @param params  The parameters to insert into the message.
      */
     public static void warn(String message, Object... params) {
-        Log4jManager.initLogCfg();
-        logger.warn(message, params);
-        Reporter.log("<font color='orange'>" + message + "</font><br/>");
+        log(Level.WARN, message, params, "<font color='orange'>", "</font><br/>", isEnabled(Level.WARN));
     }
 
     /**
@@ -55,8 +103,7 @@ public class Log4jManager {
      * @param params  The parameters to insert into the message.
      */
     public static void error(String message, Object... params) {
-        Log4jManager.initLogCfg();
-        logger.error(message, params);
+        log(Level.ERROR, message, params, "", "", false);
     }
 
     /**
@@ -66,9 +113,7 @@ public class Log4jManager {
      * @param params  The parameters to insert into the message.
      */
     public static void debug(String message, Object... params) {
-        Log4jManager.initLogCfg();
-        logger.debug(message, params);
-        Reporter.log("<font color='blue'>" + message + "</font><br/>");
+        log(Level.DEBUG, message, params, "<font color='blue'>", "</font><br/>", isEnabled(Level.DEBUG));
     }
 
     /**
@@ -78,39 +123,31 @@ public class Log4jManager {
      * @param throwable The exception to log.
      */
     public static void error(String message, Throwable throwable) {
-        Log4jManager.initLogCfg();
-        logger.error(message, throwable);
-        Reporter.log("<font color='red'>" + message + "</font><br/>");
+        log(Level.ERROR, message, new Object[]{throwable}, "<font color='red'>", "</font><br/>", true);
     }
 
     public static void trace(String message, Object... params) {
-        Log4jManager.initLogCfg();
-        logger.trace(message, params);
-        Reporter.log(message + "<br/>");
+        log(Level.TRACE, message, params, "", "<br/>", isEnabled(Level.TRACE));
     }
 
     public static void fatal(String message, Object... params) {
-        logger.fatal(message, params);
+        log(Level.FATAL, message, params, "", "", false);
     }
 
     public static void debug(String message) {
-        logger.debug(message);
-        Reporter.log("<font color='blue'>" + message + "</font><br/>");
+        log(Level.DEBUG, message, null, "<font color='blue'>", "</font><br/>", true);
     }
 
     public static void pass(String message) {
-        logger.info(message);
-        Reporter.log("<font color='green'>" + message + "</font><br/>");
+        log(Level.INFO, message, null, "<font color='green'>", "</font><br/>", true);
     }
 
     public static void fail(String message) {
-        logger.error(message);
-        Reporter.log("<font color='red'>" + message + "</font><br/>");
+        log(Level.ERROR, message, null, "<font color='red'>", "</font><br/>", true);
         Assert.assertFalse(true, "The Test case is failed");
     }
 
     public static void skip(String message) {
-        logger.warn(message);
-        Reporter.log("<font color='yellow'>" + message + "</font><br/>");
+        log(Level.WARN, message, null, "<font color='yellow'>", "</font><br/>", true);
     }
 }
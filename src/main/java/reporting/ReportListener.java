@@ -3,13 +3,8 @@ package reporting;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 
-import org.apache.commons.io.FileUtils;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
@@ -20,7 +15,7 @@ import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.Markup;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
 
-import config.DriverManager;
+import config.TestEnvironment;
 
 /**
  * Implements TestNG’s ITestListener and integrates ExtentReports.
@@ -34,6 +29,7 @@ public class ReportListener implements ITestListener {
     public void onTestStart(ITestResult result) {
         ExtentTest test = ExtentManager.getInstance().createTest(result.getMethod().getMethodName());
         extentTestThreadLocal.set(test);
+        ScreenshotService.reset();
         Log4jManager.info("Started Test: " + result.getMethod().getMethodName());
 
     }
@@ -62,21 +58,11 @@ public class ReportListener implements ITestListener {
                     + exceptionMessage.replaceAll(",", "<br>")
                     + "</details>\n");
 
-            // Capture and add a screenshot to the report
-            try {
-                String screenshotPath = getScreenshotPath(result.getMethod().getMethodName());
-                test.addScreenCaptureFromPath(screenshotPath, result.getMethod().getMethodName());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-
             String failureLog = "TEST CASE FAILED";
             Markup m = MarkupHelper.createLabel(failureLog, ExtentColor.RED);
             test.log(Status.FAIL, m);
             test.log(Status.FAIL, "Test Failed: " + result.getThrowable().getMessage());
-
-            // Optionally attach an additional screenshot using the common method
-            ExtentManager.attachScreenshot(result.getMethod().getMethodName() + "_Failure_Screenshot", Status.FAIL);
+            // The failure's screenshot is added to the Extent report once, by ExtentReportHooks.
             Log4jManager.error("Test Failed: " + result.getMethod().getMethodName(), result.getThrowable());
         }
     }
@@ -109,22 +95,16 @@ public class ReportListener implements ITestListener {
     public void onFinish(ITestContext context) {
         ExtentManager.flushReports();
         Log4jManager.info("Test Suite finished: " + context.getName());
+        // Make sure queued log lines reach the TestNG report before it is generated.
+        Log4jManager.flush();
+        // Shards run unattended; the merged report is produced by ShardReportMerger once all of them finish.
+        if (TestEnvironment.isSharded()) {
+            return;
+        }
         try {
             Desktop.getDesktop().browse(new File(System.getProperty("user.dir") + "/target/extentReport/extent-report.html").toURI());
         } catch (IOException e) {
             throw new RuntimeException("Failed to open the report", e);
         }
     }
-
-    /**
-     * Utility to capture a screenshot and return its file path.
-     */
-    private String getScreenshotPath(String testCaseName) throws IOException {
-        File source = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.FILE);
-        String timestamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-        String screenshotName = testCaseName + "_" + timestamp + ".jpg";
-        File dest = new File(System.getProperty("user.dir") + "/Reports/Screenshots/" + screenshotName);
-        FileUtils.copyFile(source, dest);
-        return dest.getAbsolutePath();
-    }
 }
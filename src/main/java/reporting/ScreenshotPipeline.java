@@ -0,0 +1,247 @@
+package reporting;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import config.TestEnvironment;
+
+/**
+ * ScreenshotPipeline encodes and writes screenshots on background threads, so test threads do not wait for disk I/O.
+ * <p>
+ * Callers capture a screenshot as PNG bytes and hand it over with {@link #save(byte[], String)}; the file's final
+ * path is known straight away ({@link #pathFor(String)}) and the returned future completes once it is written.
+ * In the background a screenshot is:
+ * <ul>
+ *   <li>scaled down to {@code screenshot.max.width} if it is wider (0 keeps the original size);</li>
+ *   <li>encoded as {@code screenshot.format} (png, jpg or webp, the latter only if an ImageIO WebP plugin is on
+ *       the classpath) with {@code screenshot.jpeg.quality};</li>
+ *   <li>compared by content hash with earlier screenshots, so an identical page is copied from the file already
+ *       written instead of being encoded again.</li>
+ * </ul>
+ * The queue holds {@code screenshot.queue.size} screenshots; when it is full the test thread processes its own
+ * screenshot, which bounds memory without dropping any. Pending screenshots are written before the JVM exits,
+ * or earlier through {@link #flush()}.
+ * </p>
+ */
+public final class ScreenshotPipeline {
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    private static final String FORMAT = resolveFormat();
+    private static final int MAX_WIDTH = TestEnvironment.getScreenshotMaxWidth();
+    private static final float QUALITY = Math.max(0, Math.min(100, TestEnvironment.getScreenshotJpegQuality())) / 100f;
+
+    private static final ThreadPoolExecutor executor = createExecutor();
+    // Content hash of the PNG -> the first file written for it.
+    private static final Map<String, CompletableFuture<Path>> written = new ConcurrentHashMap<>();
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotPipeline::flush, "screenshot-pipeline-flush"));
+    }
+
+    private ScreenshotPipeline() {
+        // Utility class
+    }
+
+    /**
+     * Returns the path a screenshot saved to the given file is written to: the file's extension is replaced
+     * with the one of the configured format.
+     *
+     * @param filePath The requested file path, e.g. screenshots/click_error.png.
+     * @return The path the screenshot is written to.
+     */
+    public static Path pathFor(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return path.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + "." + FORMAT);
+    }
+
+    /**
+     * Queues a screenshot to be encoded and written.
+     *
+     * @param png      The screenshot as PNG bytes, as returned by {@code getScreenshotAs(OutputType.BYTES)}.
+     * @param filePath The requested file path; see {@link #pathFor(String)}.
+     * @return A future completing with the written file, or exceptionally if it could not be written.
+     */
+    public static CompletableFuture<Path> save(byte[] png, String filePath) {
+        Path target = pathFor(filePath);
+        pending.incrementAndGet();
+        CompletableFuture<Path> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return process(png, target);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to write screenshot " + target, e);
+            }
+        }, executor);
+        result.whenComplete((path, e) -> {
+            if (e != null) {
+                Log4jManager.warn("Failed to save screenshot {}: {}", target, e.getMessage());
+            }
+            synchronized (pending) {
+                if (pending.decrementAndGet() == 0) {
+                    pending.notifyAll();
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Blocks until the screenshots queued so far have been written, e.g. before a report that links them is opened.
+     */
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FLUSH_TIMEOUT_SECONDS);
+        synchronized (pending) {
+            try {
+                while (pending.get() > 0 && System.nanoTime() < deadline) {
+                    pending.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (pending.get() > 0) {
+                Log4jManager.error("{} screenshot(s) still pending after {} s.", pending.get(), FLUSH_TIMEOUT_SECONDS);
+            }
+        }
+    }
+
+    private static Path process(byte[] png, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        String hash = sha256(png);
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> first = written.putIfAbsent(hash, mine);
+        if (first != null) {
+            // The first screenshot with this content is being written by a running task, never a queued one.
+            Path existing = first.exceptionally(e -> null).join();
+            if (existing != null) {
+                if (!existing.equals(target)) {
+                    try {
+                        Files.copy(existing, target, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        // The earlier file was moved or deleted; encode this one.
+                        Files.write(target, encode(png));
+                    }
+                }
+                return target;
+            }
+            written.put(hash, mine);
+        }
+        try {
+            Files.write(target, encode(png));
+            mine.complete(target);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            written.remove(hash, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static byte[] encode(byte[] png) throws IOException {
+        if ("png".equals(FORMAT) && MAX_WIDTH <= 0) {
+            return png;
+        }
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (MAX_WIDTH > 0 && width > MAX_WIDTH) {
+            height = Math.max(1, (int) ((long) height * MAX_WIDTH / width));
+            width = MAX_WIDTH;
+        }
+        // Screenshots are opaque; JPEG cannot store an alpha channel anyway.
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!"png".equals(FORMAT) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes().length > 0) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String resolveFormat() {
+        String format = TestEnvironment.getScreenshotFormat().toLowerCase(Locale.ROOT);
+        if ("jpeg".equals(format)) {
+            format = "jpg";
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            Log4jManager.warn("No image writer for screenshot format '{}'; using jpg.", format);
+            return "jpg";
+        }
+        return format;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, TestEnvironment.getScreenshotQueueSize())), runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-pipeline-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,127 @@
+package reporting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+
+import config.DriverManager;
+import config.TestEnvironment;
+
+/**
+ * ScreenshotService takes the screenshots the reports attach, so a failure is captured once however many
+ * reporters ask for it.
+ * <p>
+ * A failure is reported by several hooks and listeners (Cucumber hooks, the Extent and Allure TestNG listeners),
+ * some of which run after the browser has been quit. The first of them to call {@link #captureFailure()} takes
+ * the screenshot; the others get the same bytes until the next test starts ({@link #reset()}). State is kept
+ * per thread, as a test runs on a single thread.
+ * </p>
+ * <p>
+ * With {@code screenshot.ring.size} above 0, {@link #recordStep(String)} also keeps screenshots of the last
+ * steps in memory, so a failure report can show how the page got there. They are never written to disk.
+ * </p>
+ */
+public final class ScreenshotService {
+
+    private static final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    private ScreenshotService() {
+        // Utility class
+    }
+
+    /**
+     * Forgets the current thread's failure screenshot and step screenshots; called when a test starts.
+     */
+    public static void reset() {
+        state.remove();
+    }
+
+    /**
+     * Returns the screenshot of the current failure, taking it on the first call after {@link #reset()}.
+     *
+     * @return The PNG screenshot, or null if there is no browser to capture.
+     */
+    public static byte[] captureFailure() {
+        State current = state.get();
+        if (current.failure == null) {
+            current.failure = capture();
+        }
+        return current.failure;
+    }
+
+    /**
+     * Takes a screenshot of a finished step into the ring of recent steps. Does nothing if the ring is disabled.
+     *
+     * @param label The label the screenshot is shown with, e.g. the step number.
+     */
+    public static void recordStep(String label) {
+        int size = TestEnvironment.getScreenshotRingSize();
+        if (size <= 0) {
+            return;
+        }
+        byte[] screenshot = capture();
+        if (screenshot == null) {
+            return;
+        }
+        Deque<Shot> ring = state.get().ring;
+        while (ring.size() >= size) {
+            ring.removeFirst();
+        }
+        ring.addLast(new Shot(label, screenshot));
+    }
+
+    /**
+     * Returns the screenshots of the recent steps, oldest first, and empties the ring.
+     *
+     * @return The step screenshots; empty if the ring is disabled.
+     */
+    public static List<Shot> drainRecentSteps() {
+        Deque<Shot> ring = state.get().ring;
+        List<Shot> shots = new ArrayList<>(ring);
+        ring.clear();
+        return shots;
+    }
+
+    private static byte[] capture() {
+        if (!DriverManager.isDriverInitialized()) {
+            Log4jManager.warn("No WebDriver on thread {}; screenshot not captured.", Thread.currentThread().getName());
+            return null;
+        }
+        try {
+            return ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            Log4jManager.warn("Unable to capture screenshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A step screenshot and its label.
+     */
+    public static final class Shot {
+        private final String label;
+        private final byte[] png;
+
+        Shot(String label, byte[] png) {
+            this.label = label;
+            this.png = png;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public byte[] getPng() {
+            return png;
+        }
+    }
+
+    private static final class State {
+        private byte[] failure;
+        private final Deque<Shot> ring = new ArrayDeque<>();
+    }
+}
@@ -0,0 +1,186 @@
+package reporting;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import config.TestEnvironment;
+
+/**
+ * ShardReportMerger combines the reports of a sharded run into the reports a single-JVM run produces.
+ * <p>
+ * Every shard writes to its own directory under {@code shard.output.dir} (shard-0, shard-1, ...), with one
+ * Cucumber JSON file and one Extent JSON archive per runner or report instance. The merge produces:
+ * <ul>
+ *   <li>one Cucumber JSON file, with the scenarios of a feature that ran on several shards under one feature;</li>
+ *   <li>one Allure results directory, as Allure result files are uniquely named and simply collected;</li>
+ *   <li>one Extent HTML report, rebuilt from the JSON archives every shard writes next to its own reports;</li>
+ *   <li>one rerun file listing the failed scenarios of all shards.</li>
+ * </ul>
+ * Missing shard outputs (e.g. a shard that crashed) are logged and skipped, so the other shards still report.
+ * </p>
+ */
+public final class ShardReportMerger {
+
+    // A shard runs several runners; each writes its own file into these directories of the shard.
+    public static final String CUCUMBER_JSON_DIR = "cucumber-json";
+    public static final String ALLURE_RESULTS = "allure-results";
+    public static final String EXTENT_JSON_DIR = "extent-json";
+    public static final String RERUN_DIR = "rerun";
+
+    private ShardReportMerger() {
+        // Utility class
+    }
+
+    /**
+     * Merges the reports of the configured shards into target/.
+     *
+     * @param args Not used.
+     * @throws IOException If a merged report cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        merge(Paths.get(TestEnvironment.getShardOutputDir()), TestEnvironment.getShardCount(), Paths.get("target"));
+    }
+
+    /**
+     * Merges the reports of all shards.
+     *
+     * @param shardsDir  The directory holding the shard-N directories.
+     * @param shardCount The number of shards.
+     * @param outputDir  The build directory the merged reports are written to.
+     * @throws IOException If a merged report cannot be written.
+     */
+    public static void merge(Path shardsDir, int shardCount, Path outputDir) throws IOException {
+        List<Path> shardDirs = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            Path shardDir = shardsDir.resolve("shard-" + i);
+            if (Files.isDirectory(shardDir)) {
+                shardDirs.add(shardDir);
+            } else {
+                Log4jManager.warn("No output for shard {} in {}.", i, shardDir);
+            }
+        }
+        mergeCucumberJson(shardDirs, outputDir.resolve("cucumber-reports").resolve("cucumber.json"));
+        mergeAllureResults(shardDirs, outputDir.resolve(ALLURE_RESULTS));
+        mergeExtentReports(shardDirs, outputDir.resolve("extentReport").resolve("extent-report.html"));
+        mergeRerunFiles(shardDirs, outputDir.resolve("failedrerun.txt"));
+    }
+
+    private static void mergeCucumberJson(List<Path> shardDirs, Path target) throws IOException {
+        Map<String, JsonObject> features = new LinkedHashMap<>();
+        for (Path file : jsonFiles(shardDirs, CUCUMBER_JSON_DIR)) {
+            if (Files.size(file) == 0) {
+                // A runner that crashed before its run finished.
+                Log4jManager.warn("Empty Cucumber JSON {}.", file);
+                continue;
+            }
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                    JsonObject feature = element.getAsJsonObject();
+                    JsonObject existing = features.putIfAbsent(feature.get("uri").getAsString(), feature);
+                    if (existing != null && feature.has("elements")) {
+                        if (!existing.has("elements")) {
+                            existing.add("elements", new JsonArray());
+                        }
+                        existing.getAsJsonArray("elements").addAll(feature.getAsJsonArray("elements"));
+                    }
+                }
+            }
+        }
+        JsonArray merged = new JsonArray();
+        features.values().forEach(merged::add);
+        Files.createDirectories(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(merged, writer);
+        }
+        Log4jManager.info("Merged Cucumber JSON of {} shard(s) into {} ({} features).", shardDirs.size(), target, features.size());
+    }
+
+    private static void mergeAllureResults(List<Path> shardDirs, Path target) throws IOException {
+        Files.createDirectories(target);
+        int copied = 0;
+        for (Path shardDir : shardDirs) {
+            Path results = shardDir.resolve(ALLURE_RESULTS);
+            if (!Files.isDirectory(results)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(results)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    // Per-test results have unique names; shared files such as environment.properties are identical.
+                    Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        Log4jManager.info("Collected {} Allure result file(s) into {}.", copied, target);
+    }
+
+    private static void mergeExtentReports(List<Path> shardDirs, Path target) throws IOException {
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(ExtentManager.createSparkReporter(target.toString()));
+        List<Path> archives = jsonFiles(shardDirs, EXTENT_JSON_DIR);
+        for (Path archive : archives) {
+            extent.createDomainFromJsonArchive(archive.toString());
+        }
+        extent.setSystemInfo("Shards", String.valueOf(shardDirs.size()));
+        extent.flush();
+        Log4jManager.info("Merged {} Extent archive(s) of {} shard(s) into {}.", archives.size(), shardDirs.size(), target);
+    }
+
+    private static void mergeRerunFiles(List<Path> shardDirs, Path target) throws IOException {
+        List<String> failed = new ArrayList<>();
+        for (Path shardDir : shardDirs) {
+            Path dir = shardDir.resolve(RERUN_DIR);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> list = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) list.sorted()::iterator) {
+                    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                        if (!line.trim().isEmpty()) {
+                            failed.add(line.trim());
+                        }
+                    }
+                }
+            }
+        }
+        Files.createDirectories(target.getParent());
+        Files.write(target, failed, StandardCharsets.UTF_8);
+        Log4jManager.info("Merged rerun files of {} shard(s) into {} ({} feature(s) with failures).", shardDirs.size(), target, failed.size());
+    }
+
+    /**
+     * @return Every .json file in the given sub-directory of the shards, in shard and file name order.
+     */
+    private static List<Path> jsonFiles(List<Path> shardDirs, String subDir) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path shardDir : shardDirs) {
+            Path dir = shardDir.resolve(subDir);
+            if (!Files.isDirectory(dir)) {
+                Log4jManager.warn("No {} in {}.", subDir, shardDir);
+                continue;
+            }
+            try (Stream<Path> list = Files.list(dir)) {
+                list.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().forEach(files::add);
+            }
+        }
+        return files;
+    }
+}
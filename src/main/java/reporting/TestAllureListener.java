@@ -1,17 +1,11 @@
 package reporting;
 
 
-import static config.DriverManager.getDriver;
-
 import org.junit.runner.notification.RunListener;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import config.DriverManager;
 import io.qameta.allure.Attachment;
 
 
@@ -21,10 +15,10 @@ public class TestAllureListener extends RunListener implements ITestListener {
         return iTestResult.getMethod().getConstructorOrMethod().getName();
     }
 
-    // Text attachments for Allure
-    @Attachment(value = "Page screenshot", type = "image/jpg")
-    public byte[] saveScreenshotPNG(WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    // Screenshot attachments for Allure
+    @Attachment(value = "Page screenshot", type = "image/png")
+    public byte[] saveScreenshotPNG(byte[] screenshot) {
+        return screenshot;
     }
 
     // Text attachments for Allure
@@ -63,12 +57,12 @@ public class TestAllureListener extends RunListener implements ITestListener {
     @Override
     public void onTestFailure(ITestResult iTestResult) {
         System.out.println("I am in onTestFailure method " + getTestMethodName(iTestResult) + " failed");
-        Object testClass = iTestResult.getInstance();
-        // Allure ScreenShotRobot and SaveTestLog
-        if (DriverManager.getDriver() instanceof WebDriver) {
+        // Allure ScreenShotRobot and SaveTestLog; the screenshot is shared with the hooks and the Extent listener.
+        byte[] screenshot = ScreenshotService.captureFailure();
+        if (screenshot != null) {
 
             System.out.println("Screenshot captured for test case:" + getTestMethodName(iTestResult));
-            saveScreenshotPNG(getDriver());
+            saveScreenshotPNG(screenshot);
         }
         // Save a log on allure.
         saveTextLog(getTestMethodName(iTestResult) + " failed and screenshot taken!");
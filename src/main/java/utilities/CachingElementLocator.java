@@ -0,0 +1,71 @@
+package utilities;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+/**
+ * Locates the element of one page object field and keeps it until it goes stale.
+ * <p>
+ * Lists are always looked up again, because rows may be added or removed between accesses. A page object
+ * belongs to one scenario and so to one thread; the locator is not shared between threads.
+ * </p>
+ */
+final class CachingElementLocator implements ElementLocator {
+
+    private final SearchContext searchContext;
+    private final By by;
+    private final CachingElementLocatorFactory.LocatorStats stats;
+    private WebElement cachedElement;
+
+    CachingElementLocator(SearchContext searchContext, Field field, CachingElementLocatorFactory.LocatorStats stats) {
+        this.searchContext = searchContext;
+        this.by = new Annotations(field).buildBy();
+        this.stats = stats;
+    }
+
+    @Override
+    public WebElement findElement() {
+        if (cachedElement != null) {
+            stats.hits.increment();
+            return cachedElement;
+        }
+        stats.misses.increment();
+        WebElement element = searchContext.findElement(by);
+        cachedElement = element;
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        stats.misses.increment();
+        return searchContext.findElements(by);
+    }
+
+    /**
+     * @return True if the next {@link #findElement()} is served from the cache.
+     */
+    boolean isCached() {
+        return cachedElement != null;
+    }
+
+    /**
+     * Drops the cached element after the browser reported it stale.
+     */
+    void invalidate() {
+        if (cachedElement != null) {
+            cachedElement = null;
+            stats.staleRefinds.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
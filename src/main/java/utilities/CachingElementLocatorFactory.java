@@ -0,0 +1,165 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import config.TestEnvironment;
+import reporting.Log4jManager;
+
+/**
+ * CachingElementLocatorFactory makes PageFactory proxies keep the element they resolved.
+ * <p>
+ * A plain {@code @FindBy} proxy calls findElement on every access, so scrolling to, waiting for and clicking
+ * an element costs one lookup each. With this factory the first access locates the element and later accesses
+ * reuse it until the browser reports it stale; then it is located again and the call repeated (see
+ * {@link StaleRetryingElementHandler}). Hits, misses and stale re-finds are counted per page object class and
+ * written to {@code locator.cache.report.file} when the JVM exits.
+ * </p>
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final Map<String, LocatorStats> statsByPage = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CachingElementLocatorFactory::writeReport, "locator-cache-report"));
+    }
+
+    private final SearchContext searchContext;
+    private final LocatorStats stats;
+
+    public CachingElementLocatorFactory(SearchContext searchContext, String pageName) {
+        this.searchContext = searchContext;
+        this.stats = statsByPage.computeIfAbsent(pageName, name -> new LocatorStats());
+    }
+
+    /**
+     * Initializes the {@code @FindBy} fields of a page object, with caching proxies when
+     * {@code locator.cache.enabled} is true and with plain PageFactory proxies otherwise.
+     *
+     * @param searchContext The driver (or element) to search from.
+     * @param page          The page object.
+     */
+    public static void initElements(SearchContext searchContext, Object page) {
+        if (!TestEnvironment.isLocatorCacheEnabled()) {
+            PageFactory.initElements(searchContext, page);
+            return;
+        }
+        ElementLocatorFactory factory = new CachingElementLocatorFactory(searchContext, page.getClass().getSimpleName());
+        PageFactory.initElements(new CachingFieldDecorator(factory), page);
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new CachingElementLocator(searchContext, field, stats);
+    }
+
+    /**
+     * @return The counters of every page object class initialized so far, keyed by class name.
+     */
+    public static Map<String, LocatorStats> getStats() {
+        return Collections.unmodifiableMap(statsByPage);
+    }
+
+    /**
+     * Builds the report of lookups per page object class, most lookups first.
+     *
+     * @return The report as text.
+     */
+    public static String getReport() {
+        List<Map.Entry<String, LocatorStats>> pages = new ArrayList<>(statsByPage.entrySet());
+        pages.sort(Comparator.comparingLong((Map.Entry<String, LocatorStats> entry) -> entry.getValue().getMisses()).reversed());
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %-10s %-12s %-8s %s%n", "hits", "misses", "staleRefinds", "hitRate", "page object"));
+        for (Map.Entry<String, LocatorStats> entry : pages) {
+            LocatorStats stats = entry.getValue();
+            report.append(String.format("%-10d %-10d %-12d %-8s %s%n", stats.getHits(), stats.getMisses(),
+                    stats.getStaleRefinds(), String.format("%.1f%%", stats.getHitRate() * 100), entry.getKey()));
+        }
+        return report.toString();
+    }
+
+    private static void writeReport() {
+        if (statsByPage.isEmpty()) {
+            return;
+        }
+        Path reportFile = Paths.get(TestEnvironment.getLocatorCacheReportFile());
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                writer.write(getReport());
+            }
+        } catch (IOException e) {
+            Log4jManager.error("Unable to write locator cache report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Lookup counters of one page object class. A hit is an access served from the cache, a miss a
+     * findElement(s) call sent to the browser; stale re-finds are the misses caused by a stale cached element.
+     */
+    public static final class LocatorStats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder staleRefinds = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getStaleRefinds() {
+            return staleRefinds.sum();
+        }
+
+        public double getHitRate() {
+            long hitCount = getHits();
+            long total = hitCount + getMisses();
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+
+    /**
+     * Creates stale-retrying proxies for WebElement fields; List fields keep the PageFactory list proxy.
+     */
+    private static final class CachingFieldDecorator extends DefaultFieldDecorator {
+
+        private CachingFieldDecorator(ElementLocatorFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+            InvocationHandler handler = new StaleRetryingElementHandler((CachingElementLocator) locator);
+            return (WebElement) Proxy.newProxyInstance(loader,
+                    new Class[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+        }
+    }
+}
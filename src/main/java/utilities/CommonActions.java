@@ -2,9 +2,9 @@ package utilities;
 
 
 import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,7 +42,9 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import config.TestEnvironment;
 import reporting.Log4jManager;
+import reporting.ScreenshotPipeline;
 
 /**
  * CommonActions provides utility methods to interact with web elements using Selenium WebDriver.
@@ -54,19 +56,38 @@ public class CommonActions {
     private static final long DEFAULT_TIMEOUT = 80; // seconds
     private static final long POLLING_INTERVAL = 1; // milliseconds
 
+    // Highlights a batch of elements and restores their inline styles after arguments[3] ms, in one round trip.
+    // The original styles are saved once per element in a page-wide WeakMap: a second highlight before the
+    // first one ends reuses them and only restarts the timer, so it cannot save the highlight as "original".
+    private static final String HIGHLIGHT_SCRIPT =
+            "var elements = arguments[0], border = arguments[1], background = arguments[2], duration = arguments[3];"
+            + "var saved = window.__highlightOriginals || (window.__highlightOriginals = new WeakMap());"
+            + "elements.forEach(function (e) {"
+            + " var original = saved.get(e);"
+            + " if (original) { clearTimeout(original.timer); }"
+            + " else { original = { border: e.style.border, background: e.style.backgroundColor, shadow: e.style.boxShadow };"
+            + " saved.set(e, original); }"
+            + " e.style.border = border; e.style.backgroundColor = background; e.style.boxShadow = '0 0 10px ' + border;"
+            + " original.timer = setTimeout(function () {"
+            + " e.style.border = original.border; e.style.backgroundColor = original.background;"
+            + " e.style.boxShadow = original.shadow; saved.delete(e); }, duration); });";
+
     private WebDriver driver;
     private WebDriverWait wait;
     private Actions actions;
+    private final boolean highlightEnabled;
 
     /**
      * Constructor initializes WebDriver, WebDriverWait, and Actions instances.
+     * Element highlighting follows the highlight.mode setting.
      */
     public CommonActions() {
         this.driver = config.DriverManager.getDriver();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.wait = new PollingWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
         this.wait.pollingEvery(Duration.ofMillis(POLLING_INTERVAL));
         this.wait.ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
         this.actions = new Actions(driver);
+        this.highlightEnabled = TestEnvironment.isHighlightEnabled();
     }
 
 
@@ -81,7 +102,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.elementToBeClickable(element));
             highlightElement(element);
             element.click();
-            Log4jManager.info("Clicked on element: " + getElementDescription(element));
+            Log4jManager.info("Clicked on element: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element not clickable after waiting: " + getElementDescription(element));
             takeScreenshot("screenshots/clickElement_timeout.png");
@@ -99,9 +120,9 @@ public class CommonActions {
     public void scrollToElementCenter(WebElement element) {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
+            // The instant scroll cancels the smooth one and has finished when the script returns; no settle time needed.
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", element);
-            WaitUtility.wait(100);
-            Log4jManager.info("Scrolled to element: " + getElementDescription(element));
+            Log4jManager.info("Scrolled to element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to scroll to element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/scrollToElement_error.png");
@@ -130,7 +151,7 @@ public class CommonActions {
             highlightElement(element);
             element.clear();
             element.sendKeys(text);
-            Log4jManager.info("Typed text '" + text + "' into element: " + getElementDescription(element));
+            Log4jManager.info("Typed text '{}' into element: {}", text, ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element not visible after waiting: " + getElementDescription(element));
             takeScreenshot("screenshots/typeText_timeout.png");
@@ -151,7 +172,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             element.sendKeys(key);
-            Log4jManager.info("Typed key '" + key + "' into element: " + getElementDescription(element));
+            Log4jManager.info("Typed key '{}' into element: {}", key, ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element not visible after waiting: " + getElementDescription(element));
             takeScreenshot("screenshots/typeKeys_timeout.png");
@@ -178,7 +199,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             String text = element.getText();
-            Log4jManager.info("Retrieved text '" + text + "' from element: " + getElementDescription(element));
+            Log4jManager.info("Retrieved text '{}' from element: {}", text, ElementDescriber.lazy(driver, element));
             return text;
         } catch (TimeoutException e) {
             Log4jManager.error("Element not visible after waiting: " + getElementDescription(element));
@@ -203,7 +224,7 @@ public class CommonActions {
             highlightElement(dropdownElement);
             Select select = new Select(dropdownElement);
             select.selectByVisibleText(visibleText);
-            Log4jManager.info("Selected option '" + visibleText + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option '{}' from dropdown: {}", visibleText, ElementDescriber.lazy(driver, dropdownElement));
         } catch (NoSuchElementException e) {
             Log4jManager.error("Option '" + visibleText + "' not found in dropdown: " + getElementDescription(dropdownElement));
             takeScreenshot("screenshots/selectByVisibleText_noSuchElement.png");
@@ -290,7 +311,7 @@ public class CommonActions {
             highlightElement(dropdownElement);
             Select select = new Select(dropdownElement);
             select.selectByValue(value);
-            Log4jManager.info("Selected option with value '" + value + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option with value '{}' from dropdown: {}", value, ElementDescriber.lazy(driver, dropdownElement));
         } catch (NoSuchElementException e) {
             Log4jManager.error("Option with value '" + value + "' not found in dropdown: " + getElementDescription(dropdownElement));
             takeScreenshot("screenshots/selectByValue_noSuchElement.png");
@@ -320,7 +341,7 @@ public class CommonActions {
                 highlightElements(select.getOptions());
             }
             select.selectByIndex(index);
-            Log4jManager.info("Selected option at index '" + index + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option at index '{}' from dropdown: {}", index, ElementDescriber.lazy(driver, dropdownElement));
         } catch (NoSuchElementException e) {
             Log4jManager.error("Option at index '" + index + "' not found in dropdown: " + getElementDescription(dropdownElement));
             takeScreenshot("screenshots/selectByIndex_noSuchElement.png");
@@ -354,7 +375,7 @@ public class CommonActions {
             for (WebElement option : options) {
                 if (option.getText().contains(partialText)) {
                     select.selectByVisibleText(option.getText());
-                    Log4jManager.info("Selected option containing text '" + partialText + "' from dropdown: " + getElementDescription(dropdownElement));
+                    Log4jManager.info("Selected option containing text '{}' from dropdown: {}", partialText, ElementDescriber.lazy(driver, dropdownElement));
                     found = true;
                     break;
                 }
@@ -375,7 +396,7 @@ public class CommonActions {
             scrollToElement(element);
             ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
             ((JavascriptExecutor) driver).executeScript("arguments[0].style.border='3px solid red'", element);
-            Log4jManager.info("Clicked on element using JavaScript: " + getElementDescription(element));
+            Log4jManager.info("Clicked on element using JavaScript: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to click on element using JavaScript: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/clickElementUsingJS_error.png");
@@ -400,7 +421,7 @@ public class CommonActions {
                 Thread.sleep(100); // Small pause between key presses
             }
             dropdownElement.sendKeys(Keys.ENTER);
-            Log4jManager.info("Selected option using keyboard with text '" + visibleText + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option using keyboard with text '{}' from dropdown: {}", visibleText, ElementDescriber.lazy(driver, dropdownElement));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             Log4jManager.error("Thread interrupted while selecting by keyboard: " + e.getMessage());
@@ -424,7 +445,7 @@ public class CommonActions {
             WebElement selectedOption = select.getFirstSelectedOption();
             highlightElement(selectedOption);
             String selectedText = selectedOption.getText();
-            Log4jManager.info("Selected option text: '" + selectedText + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option text: '{}' from dropdown: {}", selectedText, ElementDescriber.lazy(driver, dropdownElement));
             return selectedText;
         } catch (Exception e) {
             Log4jManager.error("Failed to get selected option text from dropdown: " + getElementDescription(dropdownElement) + ". Error: " + e.getMessage());
@@ -446,7 +467,7 @@ public class CommonActions {
             WebElement selectedOption = select.getFirstSelectedOption();
             highlightElement(selectedOption);
             String selectedValue = selectedOption.getDomAttribute("value");
-            Log4jManager.info("Selected option value: '" + selectedValue + "' from dropdown: " + getElementDescription(dropdownElement));
+            Log4jManager.info("Selected option value: '{}' from dropdown: {}", selectedValue, ElementDescriber.lazy(driver, dropdownElement));
             return selectedValue;
         } catch (Exception e) {
             Log4jManager.error("Failed to get selected option value from dropdown: " + getElementDescription(dropdownElement) + ". Error: " + e.getMessage());
@@ -465,7 +486,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             actions.moveToElement(element).perform();
-            Log4jManager.info("Hovered over element: " + getElementDescription(element));
+            Log4jManager.info("Hovered over element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to hover over element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/hoverOverElement_error.png");
@@ -483,7 +504,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             actions.contextClick(element).perform();
-            Log4jManager.info("Right-clicked on element: " + getElementDescription(element));
+            Log4jManager.info("Right-clicked on element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to right-click on element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/rightClickElement_error.png");
@@ -501,7 +522,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.elementToBeClickable(element));
             highlightElement(element);
             actions.doubleClick(element).perform();
-            Log4jManager.info("Double-clicked on element: " + getElementDescription(element));
+            Log4jManager.info("Double-clicked on element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to double-click on element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/doubleClickElement_error.png");
@@ -522,8 +543,7 @@ public class CommonActions {
             highlightElement(sourceElement);
             highlightElement(targetElement);
             actions.dragAndDrop(sourceElement, targetElement).perform();
-            Log4jManager.info("Dragged element: " + getElementDescription(sourceElement) +
-                    " and dropped onto: " + getElementDescription(targetElement));
+            Log4jManager.info("Dragged element: {} and dropped onto: {}", ElementDescriber.lazy(driver, sourceElement), ElementDescriber.lazy(driver, targetElement));
         } catch (Exception e) {
             Log4jManager.error("Failed to drag and drop elements. Error: " + e.getMessage());
             takeScreenshot("screenshots/dragAndDropElement_error.png");
@@ -577,8 +597,7 @@ public class CommonActions {
                     "var dragEndEvent = createEvent('dragend');\n" +
                     "dispatchEvent(sourceElement, dragEndEvent, dragStartEvent.dataTransfer);";
             ((JavascriptExecutor) driver).executeScript(script, source, target);
-            Log4jManager.info("Performed drag and drop using JavaScript on elements: " +
-                    getElementDescription(source) + " -> " + getElementDescription(target));
+            Log4jManager.info("Performed drag and drop using JavaScript on elements: {} -> {}", ElementDescriber.lazy(driver, source), ElementDescriber.lazy(driver, target));
         } catch (Exception e) {
             Log4jManager.error("Failed to perform drag and drop using JavaScript. Error: " + e.getMessage());
             takeScreenshot("screenshots/dragAndDropUsingJS_error.png");
@@ -724,7 +743,7 @@ public class CommonActions {
         try {
             wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(frameElement));
             highlightElement(frameElement);
-            Log4jManager.info("Switched to frame using WebElement: " + getElementDescription(frameElement));
+            Log4jManager.info("Switched to frame using WebElement: {}", ElementDescriber.lazy(driver, frameElement));
         } catch (NoSuchFrameException e) {
             Log4jManager.error("No frame found with the provided WebElement: " + getElementDescription(frameElement));
             takeScreenshot("screenshots/switchToFrame_webelement_noFrame.png");
@@ -758,7 +777,7 @@ public class CommonActions {
     public void scrollToElement(WebElement element) {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
-            Log4jManager.info("Scrolled to element: " + getElementDescription(element));
+            Log4jManager.info("Scrolled to element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to scroll to element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/scrollToElement_error.png");
@@ -774,7 +793,7 @@ public class CommonActions {
     public void scrollToElementUsingKeyboard(WebElement element) {
         try {
             actions.moveToElement(element).sendKeys(Keys.PAGE_DOWN).perform();
-            Log4jManager.info("Scrolled to element using keyboard actions: " + getElementDescription(element));
+            Log4jManager.info("Scrolled to element using keyboard actions: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to scroll to element using keyboard actions: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/scrollToElementUsingKeyboard_error.png");
@@ -784,29 +803,20 @@ public class CommonActions {
 
     /**
      * Highlights the specified WebElement with a customizable border and background using JavaScript.
+     * The original inline styles are restored in the browser after highlight.duration.ms, so the call
+     * does not block. Does nothing when highlighting is disabled.
      *
      * @param element          The WebElement to highlight.
      * @param borderColor      The color of the border (e.g., "3px solid blue").
      * @param backgroundColor The background color (e.g., "yellow").
      */
     public void highlightElement(WebElement element, String borderColor, String backgroundColor) {
+        if (!highlightEnabled) {
+            return;
+        }
         try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            // Apply custom styles
-            js.executeScript("arguments[0].style.border='" + borderColor + "';", element);
-            js.executeScript("arguments[0].style.backgroundColor='" + backgroundColor + "';", element);
-            // Optional: Add a shadow effect
-            js.executeScript("arguments[0].style.boxShadow='0 0 10px " + borderColor + "';", element);
-            // Pause to visualize the highlight
-            Thread.sleep(500);
-            // Revert to original style
-            js.executeScript("arguments[0].style.border='';", element);
-            js.executeScript("arguments[0].style.backgroundColor='';", element);
-            js.executeScript("arguments[0].style.boxShadow='';", element);
-            Log4jManager.info("Custom highlighted element: " + getElementDescription(element));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            Log4jManager.error("Thread interrupted while highlighting element: " + e.getMessage());
+            highlight(Collections.singletonList(element), borderColor, backgroundColor);
+            Log4jManager.info("Custom highlighted element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to custom highlight element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             throw e;
@@ -822,6 +832,11 @@ public class CommonActions {
         highlightElement(element, "3px solid red", "yellow");
     }
 
+    private void highlight(List<WebElement> elements, String borderColor, String backgroundColor) {
+        ((JavascriptExecutor) driver).executeScript(HIGHLIGHT_SCRIPT, elements, borderColor, backgroundColor,
+                TestEnvironment.getHighlightDurationMillis());
+    }
+
     /**
      * Highlights the currently active alert using JavaScript.
      * Note: Selenium does not support direct manipulation of alerts via JavaScript.
@@ -853,7 +868,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.presenceOfElementLocated(getByFromWebElement(fileInputElement)));
             highlightElement(fileInputElement);
             fileInputElement.sendKeys(filePath);
-            Log4jManager.info("Uploaded file '" + filePath + "' to element: " + getElementDescription(fileInputElement));
+            Log4jManager.info("Uploaded file '{}' to element: {}", filePath, ElementDescriber.lazy(driver, fileInputElement));
         } catch (Exception e) {
             Log4jManager.error("Failed to upload file to element: " + getElementDescription(fileInputElement) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/uploadFile_error.png");
@@ -873,7 +888,7 @@ public class CommonActions {
             js.executeScript("arguments[0].style.display='block';", fileInputElement);
             fileInputElement.sendKeys(filePath);
             js.executeScript("arguments[0].style.display='none';", fileInputElement);
-            Log4jManager.info("Uploaded file '" + filePath + "' to element using JavaScript: " + getElementDescription(fileInputElement));
+            Log4jManager.info("Uploaded file '{}' to element using JavaScript: {}", filePath, ElementDescriber.lazy(driver, fileInputElement));
         } catch (Exception e) {
             Log4jManager.error("Failed to upload file using JavaScript to element: " + getElementDescription(fileInputElement) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/uploadFileUsingJS_error.png");
@@ -909,19 +924,13 @@ public class CommonActions {
     /**
      * Takes a screenshot of the current browser window and saves it to the specified path.
      *
-     * @param filePath The path where the screenshot will be saved.
+     * @param filePath The path where the screenshot will be saved; the extension follows screenshot.format.
      */
     public void takeScreenshot(String filePath) {
-        try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
-            File destination = new File(filePath);
-            org.openqa.selenium.io.FileHandler.copy(source, destination);
-            Log4jManager.info("Screenshot taken and saved to: " + filePath);
-        } catch (IOException e) {
-            Log4jManager.error("Failed to take screenshot. Error: " + e.getMessage());
-            throw new RuntimeException("Failed to take screenshot", e);
-        }
+        // Encoding and writing happen in the background; the test thread only waits for the capture.
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        ScreenshotPipeline.save(screenshot, filePath);
+        Log4jManager.info("Screenshot taken; saving to: " + ScreenshotPipeline.pathFor(filePath));
     }
 
     /**
@@ -931,27 +940,7 @@ public class CommonActions {
      * @return A string description of the WebElement.
      */
     private String getElementDescription(WebElement element) {
-        try {
-            StringBuilder description = new StringBuilder();
-            description.append("Tag: ").append(element.getTagName());
-            String id = element.getDomAttribute("id");
-            if (id != null && !id.isEmpty()) {
-                description.append(", ID: ").append(id);
-            }
-            String className = element.getDomAttribute("class");
-            if (className != null && !className.isEmpty()) {
-                description.append(", Class: ").append(className);
-            }
-            String text = element.getText();
-            if (text != null && !text.isEmpty()) {
-                description.append(", Text: '").append(text).append("'");
-            }
-            return description.toString();
-        } catch (StaleElementReferenceException e) {
-            return "Stale element reference.";
-        } catch (Exception e) {
-            return "Unable to describe element.";
-        }
+        return ElementDescriber.describe(driver, element);
     }
 
     /**
@@ -962,7 +951,7 @@ public class CommonActions {
     public void waitForElementToBeInvisible(WebElement element) {
         try {
             wait.until(ExpectedConditions.invisibilityOf(element));
-            Log4jManager.info("Element is now invisible: " + getElementDescription(element));
+            Log4jManager.info("Element is now invisible: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element did not become invisible within timeout: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeInvisible_timeout.png");
@@ -985,9 +974,9 @@ public class CommonActions {
             if (!element.isSelected()) {
                 highlightElement(element);
                 element.click();
-                Log4jManager.info("Selected checkbox/radio button: " + getElementDescription(element));
+                Log4jManager.info("Selected checkbox/radio button: {}", ElementDescriber.lazy(driver, element));
             } else {
-                Log4jManager.info("Checkbox/radio button already selected: " + getElementDescription(element));
+                Log4jManager.info("Checkbox/radio button already selected: {}", ElementDescriber.lazy(driver, element));
             }
         } catch (Exception e) {
             Log4jManager.error("Failed to select checkbox/radio button: " + getElementDescription(element) + ". Error: " + e.getMessage());
@@ -1007,9 +996,9 @@ public class CommonActions {
             if (element.isSelected()) {
                 highlightElement(element);
                 element.click();
-                Log4jManager.info("Deselected checkbox: " + getElementDescription(element));
+                Log4jManager.info("Deselected checkbox: {}", ElementDescriber.lazy(driver, element));
             } else {
-                Log4jManager.info("Checkbox already deselected: " + getElementDescription(element));
+                Log4jManager.info("Checkbox already deselected: {}", ElementDescriber.lazy(driver, element));
             }
         } catch (Exception e) {
             Log4jManager.error("Failed to deselect checkbox: " + getElementDescription(element) + ". Error: " + e.getMessage());
@@ -1037,12 +1026,18 @@ public class CommonActions {
             throw e;
         }
     }
-    //lighting List of elements in the page using java script
+    /**
+     * Highlights all given elements with one JavaScript call. Does nothing when highlighting is disabled.
+     *
+     * @param elements The WebElements to highlight.
+     */
     public void highlightElements(List<WebElement> elements) {
+        if (!highlightEnabled || elements.isEmpty()) {
+            return;
+        }
         try {
-            for (WebElement element : elements) {
-                highlightElement(element);
-            }
+            highlight(elements, "3px solid red", "yellow");
+            Log4jManager.info("Highlighted {} element(s).", elements.size());
         } catch (Exception e) {
             Log4jManager.error("Failed to highlight elements. Error: " + e.getMessage());
             takeScreenshot("screenshots/highlightElements_error.png");
@@ -1065,7 +1060,7 @@ public class CommonActions {
     public void moveToElement(WebElement element) {
         try {
             actions.moveToElement(element).perform();
-            Log4jManager.info("Moved to element: " + getElementDescription(element));
+            Log4jManager.info("Moved to element: {}", ElementDescriber.lazy(driver, element));
         } catch (Exception e) {
             Log4jManager.error("Failed to move to element: " + getElementDescription(element) + ". Error: " + e.getMessage());
             takeScreenshot("screenshots/moveToElement_error.png");
@@ -1237,7 +1232,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             element.sendKeys(key);
-            Log4jManager.info("Pressed key '" + key.name() + "' on element: " + getElementDescription(element));
+            Log4jManager.info("Pressed key '{}' on element: {}", key.name(), ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element not visible after waiting: " + getElementDescription(element));
             takeScreenshot("screenshots/pressKey_timeout.png");
@@ -1264,7 +1259,7 @@ public class CommonActions {
             wait.until(ExpectedConditions.visibilityOf(element));
             highlightElement(element);
             element.sendKeys(keysToSend);
-            Log4jManager.info("Pressed keys on element: " + getElementDescription(element));
+            Log4jManager.info("Pressed keys on element: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Element not visible after waiting: " + getElementDescription(element));
             takeScreenshot("screenshots/pressKeys_timeout.png");
@@ -1291,7 +1286,7 @@ public class CommonActions {
             highlightElement(tableElement);
             List<WebElement> rows = tableElement.findElements(By.tagName("tr"));
             int rowCount = rows.size();
-            Log4jManager.info("Table: " + getElementDescription(tableElement) + " has " + rowCount + " rows.");
+            Log4jManager.info("Table: {} has {} rows.", ElementDescriber.lazy(driver, tableElement), rowCount);
             return rowCount;
         } catch (TimeoutException e) {
             Log4jManager.error("Table element not visible after waiting: " + getElementDescription(tableElement));
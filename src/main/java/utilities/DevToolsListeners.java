@@ -0,0 +1,69 @@
+package utilities;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+
+/**
+ * DevToolsListeners lets several components listen to the same DevTools session and stop listening independently.
+ * <p>
+ * DevTools can only remove all listeners of a session at once ({@code clearListeners()}), which would also
+ * silence every other component listening to it, such as the {@link NetworkTracker} while a
+ * {@link ScreencastRecorder} stops. Instead, one DevTools listener is registered per session and event, and it
+ * dispatches to the handlers added here; {@link Registration#remove()} removes a single handler.
+ * </p>
+ */
+public final class DevToolsListeners {
+
+    // DevTools session -> event method -> handlers. The sessions are weakly held, so quit drivers are collected.
+    private static final Map<DevTools, Map<String, List<Consumer<Object>>>> handlers = new WeakHashMap<>();
+
+    private DevToolsListeners() {
+        // Utility class
+    }
+
+    /**
+     * Adds a handler for the event on the session.
+     *
+     * @param devTools The DevTools session, with a CDP session already created.
+     * @param event    The event to listen to.
+     * @param handler  The handler to call for every event.
+     * @param <X>      The event payload type.
+     * @return The registration removing the handler again.
+     */
+    @SuppressWarnings("unchecked")
+    public static <X> Registration add(DevTools devTools, Event<X> event, Consumer<X> handler) {
+        Consumer<Object> untyped = value -> handler.accept((X) value);
+        List<Consumer<Object>> eventHandlers;
+        synchronized (handlers) {
+            Map<String, List<Consumer<Object>>> session = handlers.computeIfAbsent(devTools, key -> new ConcurrentHashMap<>());
+            eventHandlers = session.get(event.getMethod());
+            if (eventHandlers == null) {
+                List<Consumer<Object>> dispatched = new CopyOnWriteArrayList<>();
+                devTools.addListener(event, value -> dispatched.forEach(listener -> listener.accept(value)));
+                session.put(event.getMethod(), dispatched);
+                eventHandlers = dispatched;
+            }
+        }
+        eventHandlers.add(untyped);
+        List<Consumer<Object>> registered = eventHandlers;
+        return () -> registered.remove(untyped);
+    }
+
+    /**
+     * A handler added with {@link #add(DevTools, Event, Consumer)}.
+     */
+    @FunctionalInterface
+    public interface Registration {
+        /**
+         * Stops calling the handler. Other handlers of the session keep receiving events.
+         */
+        void remove();
+    }
+}
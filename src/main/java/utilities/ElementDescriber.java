@@ -0,0 +1,161 @@
+package utilities;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+/**
+ * ElementDescriber builds the human-readable element descriptions used in log messages.
+ * <p>
+ * A description is fetched with a single script call (tag, id, class and text together) instead of four
+ * WebDriver commands, and cached for as long as the element reference is alive. {@link #lazy(WebDriver, WebElement)}
+ * defers the lookup until a log message is actually rendered, so messages no sink receives cost nothing.
+ * The cache is keyed by the identity of the resolved element: a PageFactory proxy is unwrapped first, so once
+ * it resolves to a new element (e.g. after a re-render) that element is described afresh.
+ * </p>
+ */
+public final class ElementDescriber {
+
+    private static final String DESCRIBE_SCRIPT =
+            "var e = arguments[0];"
+            + "return [e.tagName.toLowerCase(), e.getAttribute('id'), e.getAttribute('class'),"
+            + " (e.innerText === undefined ? e.textContent : e.innerText).trim()];";
+
+    private static final Map<IdentityKey, String> cache = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<WebElement> collected = new ReferenceQueue<>();
+
+    private ElementDescriber() {
+        // Utility class
+    }
+
+    /**
+     * Returns a placeholder whose {@code toString()} describes the element on first use.
+     *
+     * @param driver  The WebDriver owning the element.
+     * @param element The WebElement to describe.
+     * @return An object rendering the element description.
+     */
+    public static Object lazy(WebDriver driver, WebElement element) {
+        return new Object() {
+            private String description;
+
+            @Override
+            public String toString() {
+                if (description == null) {
+                    description = describe(driver, element);
+                }
+                return description;
+            }
+        };
+    }
+
+    /**
+     * Describes the element by tag, id, class and text, using the cached description when there is one.
+     *
+     * @param driver         The WebDriver owning the element.
+     * @param proxyOrElement The WebElement to describe, or a proxy resolving to it.
+     * @return The element description.
+     */
+    public static String describe(WebDriver driver, WebElement proxyOrElement) {
+        expungeCollected();
+        WebElement element;
+        try {
+            element = proxyOrElement instanceof WrapsElement ? ((WrapsElement) proxyOrElement).getWrappedElement() : proxyOrElement;
+        } catch (Exception e) {
+            return "Unable to describe element.";
+        }
+        IdentityKey key = new IdentityKey(element, null);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            String description = driver instanceof JavascriptExecutor ? fetchWithScript((JavascriptExecutor) driver, element) : fetch(element);
+            cache.put(new IdentityKey(element, collected), description);
+            return description;
+        } catch (StaleElementReferenceException e) {
+            return "Stale element reference.";
+        } catch (Exception e) {
+            return "Unable to describe element.";
+        }
+    }
+
+    private static String fetchWithScript(JavascriptExecutor js, WebElement element) {
+        Object result;
+        try {
+            result = js.executeScript(DESCRIBE_SCRIPT, element);
+        } catch (StaleElementReferenceException e) {
+            throw e;
+        } catch (Exception e) {
+            return fetch(element);
+        }
+        if (!(result instanceof List) || ((List<?>) result).size() < 4) {
+            return fetch(element);
+        }
+        List<?> parts = (List<?>) result;
+        return format(String.valueOf(parts.get(0)), (String) parts.get(1), (String) parts.get(2), (String) parts.get(3));
+    }
+
+    private static String fetch(WebElement element) {
+        return format(element.getTagName(), element.getDomAttribute("id"), element.getDomAttribute("class"), element.getText());
+    }
+
+    private static String format(String tagName, String id, String className, String text) {
+        StringBuilder description = new StringBuilder();
+        description.append("Tag: ").append(tagName);
+        if (id != null && !id.isEmpty()) {
+            description.append(", ID: ").append(id);
+        }
+        if (className != null && !className.isEmpty()) {
+            description.append(", Class: ").append(className);
+        }
+        if (text != null && !text.isEmpty()) {
+            description.append(", Text: '").append(text).append("'");
+        }
+        return description.toString();
+    }
+
+    private static void expungeCollected() {
+        Object stale;
+        while ((stale = collected.poll()) != null) {
+            cache.remove(stale);
+        }
+    }
+
+    /**
+     * Weak reference compared by the identity of its referent, so cached elements can be garbage collected.
+     */
+    private static final class IdentityKey extends WeakReference<WebElement> {
+        private final int hash;
+
+        private IdentityKey(WebElement element, ReferenceQueue<WebElement> queue) {
+            super(element, queue);
+            this.hash = System.identityHashCode(element);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IdentityKey)) {
+                return false;
+            }
+            WebElement element = get();
+            return element != null && element == ((IdentityKey) other).get();
+        }
+    }
+}
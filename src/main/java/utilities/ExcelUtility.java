@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -12,26 +13,42 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CellValue;
-import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.LocaleUtil;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import config.TestEnvironment;
+
 /**
  * ExcelUtility provides methods to read from and write to Excel files.
  * It supports both .xlsx and .xls formats and handles various cell types.
+ * <p>
+ * With {@code excel.read.mode=stream} (the default) the whole-sheet readers {@link #getData(String, String)},
+ * {@link #getAllData(String, String)} and {@link #getExcelData(String, String)} read .xlsx files through
+ * {@link StreamingExcelReader} instead of loading the workbook, so large sheets are read in constant memory.
+ * Unless {@code excel.snapshot.enabled} is false, these reads are served from a compiled {@link SheetSnapshot}
+ * of the sheet, which is only rebuilt when the file changes.
+ * </p>
+ * <p>
+ * The cell and row accessors read from sheets kept parsed in a {@link WorkbookCache}, so reading a row cell by
+ * cell parses the file once rather than once per cell. A file is parsed again after it changes on disk.
+ * </p>
  */
 public class ExcelUtility {
 
@@ -47,15 +64,14 @@ public class ExcelUtility {
      * @return The string value of the cell, or null if not found or not a string.
      */
     public String getStringData(String filePath, String sheetName, int rowNum, int colNum) {
-        Cell cell = getCell(filePath, sheetName, rowNum, colNum);
-        if (cell != null) {
+        return withCell(filePath, sheetName, rowNum, colNum, cell -> {
             try {
                 return getCellValueAsString(cell);
             } catch (Exception e) {
                 logger.error("Error reading string data from cell [{}, {}] in sheet '{}': {}", rowNum, colNum, sheetName, e.getMessage());
+                return null;
             }
-        }
-        return null;
+        }, null);
     }
 
     /**
@@ -68,15 +84,14 @@ public class ExcelUtility {
      * @return The numeric value of the cell, or 0.0 if not found or not numeric.
      */
     public double getNumericData(String filePath, String sheetName, int rowNum, int colNum) {
-        Cell cell = getCell(filePath, sheetName, rowNum, colNum);
-        if (cell != null) {
+        return withCell(filePath, sheetName, rowNum, colNum, cell -> {
             try {
                 return getCellValueAsNumeric(cell);
             } catch (Exception e) {
                 logger.error("Error reading numeric data from cell [{}, {}] in sheet '{}': {}", rowNum, colNum, sheetName, e.getMessage());
+                return 0.0;
             }
-        }
-        return 0.0;
+        }, 0.0);
     }
 
     /**
@@ -89,15 +104,14 @@ public class ExcelUtility {
      * @return The boolean value of the cell, or false if not found or not boolean.
      */
     public boolean getBooleanData(String filePath, String sheetName, int rowNum, int colNum) {
-        Cell cell = getCell(filePath, sheetName, rowNum, colNum);
-        if (cell != null) {
+        return withCell(filePath, sheetName, rowNum, colNum, cell -> {
             try {
                 return getCellValueAsBoolean(cell);
             } catch (Exception e) {
                 logger.error("Error reading boolean data from cell [{}, {}] in sheet '{}': {}", rowNum, colNum, sheetName, e.getMessage());
+                return false;
             }
-        }
-        return false;
+        }, false);
     }
 
     /**
@@ -110,20 +124,21 @@ public class ExcelUtility {
      * @return The date value of the cell, or null if not found or not a date.
      */
     public Date getDateData(String filePath, String sheetName, int rowNum, int colNum) {
-        Cell cell = getCell(filePath, sheetName, rowNum, colNum);
-        if (cell != null) {
+        return withCell(filePath, sheetName, rowNum, colNum, cell -> {
             try {
                 return getCellValueAsDate(cell);
             } catch (Exception e) {
                 logger.error("Error reading date data from cell [{}, {}] in sheet '{}': {}", rowNum, colNum, sheetName, e.getMessage());
+                return null;
             }
-        }
-        return null;
+        }, null);
     }
 
     /**
      * Writes a value to a specific cell in an Excel file.
      * Supports String, double, boolean, and Date types.
+     * Each call rewrites the file; to write many cells, use {@link #setRowData(String, String, int, Map)} or queue
+     * them on {@link ExcelWriteSession#forFile(String)} and flush once.
      *
      * @param filePath  The path to the Excel file.
      * @param sheetName The name of the sheet.
@@ -132,35 +147,33 @@ public class ExcelUtility {
      * @param value     The value to write (String, Double, Boolean, Date).
      */
     public void setData(String filePath, String sheetName, int rowNum, int colNum, Object value) {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                sheet = workbook.createSheet(sheetName);
-                logger.info("Sheet '{}' created as it did not exist.", sheetName);
-            }
-
-            Row row = sheet.getRow(rowNum);
-            if (row == null) {
-                row = sheet.createRow(rowNum);
-                logger.info("Row '{}' created as it did not exist.", rowNum);
-            }
-
-            Cell cell = row.getCell(colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-            setCellValue(cell, value);
+        try {
+            ExcelWriteSession.write(filePath, sheetName, rowNum, colNum, value);
             logger.info("Set cell [{}, {}] in sheet '{}' with value '{}'.", rowNum, colNum, sheetName, value);
-
-            try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                workbook.write(fos);
-                logger.info("Workbook '{}' written successfully.", filePath);
-            }
-
-        } catch (IOException | InvalidFormatException e) {
+        } catch (IOException e) {
             logger.error("Error setting data in Excel file '{}': {}", filePath, e.getMessage());
         }
     }
 
+    /**
+     * Writes several cells of one row in a single pass over the file, e.g. the result columns of a test case.
+     *
+     * @param filePath  The path to the Excel file.
+     * @param sheetName The name of the sheet.
+     * @param rowNum    The zero-based row number.
+     * @param values    The values to write, keyed by zero-based column number (String, Double, Boolean, Date).
+     */
+    public void setRowData(String filePath, String sheetName, int rowNum, Map<Integer, Object> values) {
+        ExcelWriteSession session = ExcelWriteSession.forFile(filePath);
+        values.forEach((colNum, value) -> session.set(sheetName, rowNum, colNum, value));
+        try {
+            session.flush();
+            logger.info("Set {} cell(s) of row '{}' in sheet '{}'.", values.size(), rowNum, sheetName);
+        } catch (IOException e) {
+            logger.error("Error setting row data in Excel file '{}': {}", filePath, e.getMessage());
+        }
+    }
+
     /**
      * Reads all data from a specific sheet and returns it as a List of Maps.
      * Assumes the first row contains headers.
@@ -170,6 +183,9 @@ public class ExcelUtility {
      * @return A List of Maps where each Map represents a row with column header as key.
      */
     public List<Map<String, Object>> getAllData(String filePath, String sheetName) {
+        if (isStreamable(filePath)) {
+            return getAllDataStreaming(filePath, sheetName);
+        }
         List<Map<String, Object>> sheetData = new ArrayList<>();
 
         try (FileInputStream fis = new FileInputStream(filePath);
@@ -199,7 +215,7 @@ public class ExcelUtility {
                 Row row = rowIterator.next();
                 Map<String, Object> rowData = new LinkedHashMap<>();
                 for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+                    Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
                     rowData.put(headers.get(i), getCellValue(cell));
                 }
                 sheetData.add(rowData);
@@ -221,19 +237,17 @@ public class ExcelUtility {
      * @return The total number of rows, or 0 if sheet does not exist.
      */
     public int getRowCount(String filePath, String sheetName) {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet != null) {
-                int rowCount = sheet.getPhysicalNumberOfRows();
-                logger.info("Sheet '{}' in '{}' has {} rows.", sheetName, filePath, rowCount);
-                return rowCount;
-            } else {
-                logger.warn("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
-                return 0;
-            }
-
+        try {
+            return WorkbookCache.withSheet(filePath, sheetName, sheet -> {
+                if (sheet != null) {
+                    int rowCount = sheet.getPhysicalNumberOfRows();
+                    logger.info("Sheet '{}' in '{}' has {} rows.", sheetName, filePath, rowCount);
+                    return rowCount;
+                } else {
+                    logger.warn("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
+                    return 0;
+                }
+            });
         } catch (IOException | InvalidFormatException e) {
             logger.error("Error getting row count from Excel file '{}': {}", filePath, e.getMessage());
             return 0;
@@ -249,20 +263,18 @@ public class ExcelUtility {
      * @return The total number of columns, or 0 if sheet does not exist.
      */
     public int getColumnCount(String filePath, String sheetName) {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet != null && sheet.getPhysicalNumberOfRows() > 0) {
-                Row headerRow = sheet.getRow(0);
-                int colCount = headerRow.getPhysicalNumberOfCells();
-                logger.info("Sheet '{}' in '{}' has {} columns.", sheetName, filePath, colCount);
-                return colCount;
-            } else {
-                logger.warn("Sheet '{}' does not exist or is empty in '{}'.", sheetName, filePath);
-                return 0;
-            }
-
+        try {
+            return WorkbookCache.withSheet(filePath, sheetName, sheet -> {
+                if (sheet != null && sheet.getPhysicalNumberOfRows() > 0) {
+                    Row headerRow = sheet.getRow(0);
+                    int colCount = headerRow.getPhysicalNumberOfCells();
+                    logger.info("Sheet '{}' in '{}' has {} columns.", sheetName, filePath, colCount);
+                    return colCount;
+                } else {
+                    logger.warn("Sheet '{}' does not exist or is empty in '{}'.", sheetName, filePath);
+                    return 0;
+                }
+            });
         } catch (IOException | InvalidFormatException e) {
             logger.error("Error getting column count from Excel file '{}': {}", filePath, e.getMessage());
             return 0;
@@ -281,38 +293,38 @@ public class ExcelUtility {
     public Map<String, Object> getRowData(String filePath, String sheetName, int rowNum) {
         Map<String, Object> rowData = new LinkedHashMap<>();
 
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
-                return rowData;
-            }
+        try {
+            WorkbookCache.withSheet(filePath, sheetName, sheet -> {
+                if (sheet == null) {
+                    logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
+                    return rowData;
+                }
 
-            if (sheet.getPhysicalNumberOfRows() <= rowNum) {
-                logger.warn("Row '{}' does not exist in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
-                return rowData;
-            }
+                if (sheet.getPhysicalNumberOfRows() <= rowNum) {
+                    logger.warn("Row '{}' does not exist in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
+                    return rowData;
+                }
 
-            Row headerRow = sheet.getRow(0);
-            Row targetRow = sheet.getRow(rowNum);
+                Row headerRow = sheet.getRow(0);
+                Row targetRow = sheet.getRow(rowNum);
 
-            if (headerRow == null || targetRow == null) {
-                logger.warn("Header row or target row is null in sheet '{}' of '{}'.", sheetName, filePath);
-                return rowData;
-            }
+                if (headerRow == null || targetRow == null) {
+                    logger.warn("Header row or target row is null in sheet '{}' of '{}'.", sheetName, filePath);
+                    return rowData;
+                }
 
-            int colCount = headerRow.getPhysicalNumberOfCells();
-            for (int i = 0; i < colCount; i++) {
-                Cell headerCell = headerRow.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                Cell dataCell = targetRow.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                String header = getCellValueAsString(headerCell);
-                Object data = getCellValue(dataCell);
-                rowData.put(header, data);
-            }
+                int colCount = headerRow.getPhysicalNumberOfCells();
+                for (int i = 0; i < colCount; i++) {
+                    Cell headerCell = headerRow.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+                    Cell dataCell = targetRow.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+                    String header = getCellValueAsString(headerCell);
+                    Object data = getCellValue(dataCell);
+                    rowData.put(header, data);
+                }
 
-            logger.info("Retrieved data for row '{}' in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
+                logger.info("Retrieved data for row '{}' in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
+                return rowData;
+            });
         } catch (IOException | InvalidFormatException e) {
             logger.error("Error getting row data from Excel file '{}': {}", filePath, e.getMessage());
         }
@@ -330,11 +342,7 @@ public class ExcelUtility {
      * @return The cell value as an Object, or null if not found.
      */
     public Object readCell(String filePath, String sheetName, int rowNum, int colNum) {
-        Cell cell = getCell(filePath, sheetName, rowNum, colNum);
-        if (cell != null) {
-            return getCellValue(cell);
-        }
-        return null;
+        return withCell(filePath, sheetName, rowNum, colNum, this::getCellValue, null);
     }
 
     /**
@@ -347,24 +355,24 @@ public class ExcelUtility {
     public List<List<Object>> getAllDataAsList(String filePath, String sheetName) {
         List<List<Object>> sheetData = new ArrayList<>();
 
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
-                return sheetData;
-            }
+        try {
+            WorkbookCache.withSheet(filePath, sheetName, sheet -> {
+                if (sheet == null) {
+                    logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
+                    return sheetData;
+                }
 
-            for (Row row : sheet) {
-                List<Object> rowData = new ArrayList<>();
-                for (Cell cell : row) {
-                    rowData.add(getCellValue(cell));
+                for (Row row : sheet) {
+                    List<Object> rowData = new ArrayList<>();
+                    for (Cell cell : row) {
+                        rowData.add(getCellValue(cell));
+                    }
+                    sheetData.add(rowData);
                 }
-                sheetData.add(rowData);
-            }
 
-            logger.info("Read {} rows from sheet '{}' in '{}'.", sheetData.size(), sheetName, filePath);
+                logger.info("Read {} rows from sheet '{}' in '{}'.", sheetData.size(), sheetName, filePath);
+                return sheetData;
+            });
         } catch (IOException | InvalidFormatException e) {
             logger.error("Error reading all data as list from Excel file '{}': {}", filePath, e.getMessage());
         }
@@ -384,42 +392,42 @@ public class ExcelUtility {
     }
 
     /**
-     * Retrieves a specific cell from the Excel file.
+     * Reads a specific cell of a cached sheet (see {@link WorkbookCache}).
      *
      * @param filePath  The path to the Excel file.
      * @param sheetName The name of the sheet.
      * @param rowNum    The zero-based row number.
      * @param colNum    The zero-based column number.
-     * @return The Cell object, or null if not found.
+     * @param reader    Converts the cell; a missing cell in an existing row is passed as a blank cell.
+     * @param fallback  The result if the sheet or row does not exist or the file cannot be read.
+     * @return The converted cell value, or the fallback.
      */
-    private Cell getCell(String filePath, String sheetName, int rowNum, int colNum) {
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = getWorkbook(fis, filePath)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
-                return null;
-            }
+    private <T> T withCell(String filePath, String sheetName, int rowNum, int colNum, Function<Cell, T> reader, T fallback) {
+        try {
+            return WorkbookCache.withSheet(filePath, sheetName, sheet -> {
+                if (sheet == null) {
+                    logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
+                    return fallback;
+                }
 
-            Row row = sheet.getRow(rowNum);
-            if (row == null) {
-                logger.warn("Row '{}' does not exist in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
-                return null;
-            }
+                Row row = sheet.getRow(rowNum);
+                if (row == null) {
+                    logger.warn("Row '{}' does not exist in sheet '{}' of '{}'.", rowNum, sheetName, filePath);
+                    return fallback;
+                }
 
-            Cell cell = row.getCell(colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-            return cell;
+                return reader.apply(row.getCell(colNum, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL));
+            });
         } catch (IOException | InvalidFormatException e) {
             logger.error("Error retrieving cell [{}, {}] from sheet '{}' in '{}': {}", rowNum, colNum, sheetName, filePath, e.getMessage());
-            return null;
+            return fallback;
         }
     }
 
     /**
      * Retrieves the cell value based on its type.
      *
-     * @param cell The Cell object.
+     * @param cell The Cell object, or null for a missing or blank cell.
      * @return The cell value as an Object.
      */
     private Object getCellValue(Cell cell) {
@@ -469,10 +477,13 @@ public class ExcelUtility {
     /**
      * Retrieves the cell value as a String, handling different cell types.
      *
-     * @param cell The Cell object.
+     * @param cell The Cell object, or null for a missing or blank cell.
      * @return The cell value as a String.
      */
     private String getCellValueAsString(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
         switch (cell.getCellType()) {
             case STRING:
                 return cell.getStringCellValue();
@@ -482,8 +493,8 @@ public class ExcelUtility {
                 if (DateUtil.isCellDateFormatted(cell)) {
                     return cell.getDateCellValue().toString();
                 } else {
-                    cell.setCellType(CellType.STRING);
-                    return cell.getStringCellValue();
+                    // Same text as converting the cell to a string cell, without modifying the (possibly cached) sheet.
+                    return NumberToTextConverter.toText(cell.getNumericCellValue());
                 }
             case FORMULA:
                 // Evaluate the formula and return as String
@@ -510,10 +521,13 @@ public class ExcelUtility {
     /**
      * Retrieves the cell value as a double, handling different cell types.
      *
-     * @param cell The Cell object.
+     * @param cell The Cell object, or null for a missing or blank cell.
      * @return The cell value as a double.
      */
     private double getCellValueAsNumeric(Cell cell) {
+        if (cell == null) {
+            return 0.0;
+        }
         switch (cell.getCellType()) {
             case NUMERIC:
                 return cell.getNumericCellValue();
@@ -555,10 +569,13 @@ public class ExcelUtility {
     /**
      * Retrieves the cell value as a boolean, handling different cell types.
      *
-     * @param cell The Cell object.
+     * @param cell The Cell object, or null for a missing or blank cell.
      * @return The cell value as a boolean.
      */
     private boolean getCellValueAsBoolean(Cell cell) {
+        if (cell == null) {
+            return false;
+        }
         switch (cell.getCellType()) {
             case BOOLEAN:
                 return cell.getBooleanCellValue();
@@ -592,10 +609,13 @@ public class ExcelUtility {
     /**
      * Retrieves the cell value as a Date, handling different cell types.
      *
-     * @param cell The Cell object.
+     * @param cell The Cell object, or null for a missing or blank cell.
      * @return The cell value as a Date, or null if not a date.
      */
     private Date getCellValueAsDate(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
         if (DateUtil.isCellDateFormatted(cell)) {
             return cell.getDateCellValue();
         }
@@ -603,31 +623,6 @@ public class ExcelUtility {
         return null;
     }
 
-    /**
-     * Sets the value of a cell based on the type of the provided value.
-     *
-     * @param cell  The Cell object to set the value for.
-     * @param value The value to set (String, Double, Boolean, Date).
-     */
-    private void setCellValue(Cell cell, Object value) {
-        if (value instanceof String) {
-            cell.setCellValue((String) value);
-        } else if (value instanceof Double) {
-            cell.setCellValue((Double) value);
-        } else if (value instanceof Boolean) {
-            cell.setCellValue((Boolean) value);
-        } else if (value instanceof Date) {
-            CellStyle cellStyle = cell.getSheet().getWorkbook().createCellStyle();
-            CreationHelper creationHelper = cell.getSheet().getWorkbook().getCreationHelper();
-            cellStyle.setDataFormat(creationHelper.createDataFormat().getFormat("m/d/yy h:mm"));
-            cell.setCellStyle(cellStyle);
-            cell.setCellValue((Date) value);
-        } else {
-            logger.warn("Unsupported data type '{}'. Setting cell to blank.", value.getClass().getSimpleName());
-            cell.setBlank();
-        }
-    }
-
     /**
      * Retrieves the appropriate Workbook instance based on the file extension.
      *
@@ -674,6 +669,13 @@ public class ExcelUtility {
         }
     }
     public static List<Map<String, String>> getData(String filePath, String sheetName) throws IOException {
+        if (isStreamable(filePath)) {
+            try (Stream<Map<String, String>> records = SheetSnapshot.readRecords(filePath, sheetName)) {
+                return records.collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
         List<Map<String, String>> dataList = new ArrayList<>();
         FileInputStream fis = null;
         Workbook workbook = null;
@@ -762,6 +764,20 @@ public class ExcelUtility {
     }
     public static List<Object[]> getExcelData(String excelPath, String sheetName) {
         List<Object[]> data = new ArrayList<>();
+        if (isStreamable(excelPath)) {
+            try (Stream<List<Object>> rows = SheetSnapshot.readRows(excelPath, sheetName)) {
+                rows.skip(1).forEach(row -> {
+                    Object[] rowData = new Object[13]; // 13 columns
+                    for (int i = 0; i < 13; i++) {
+                        rowData[i] = i < row.size() ? toCellString(row.get(i)) : "";
+                    }
+                    data.add(rowData);
+                });
+            } catch (IOException | UncheckedIOException e) {
+                e.printStackTrace();
+            }
+            return data;
+        }
         try (FileInputStream fis = new FileInputStream(excelPath);
              Workbook workbook = new XSSFWorkbook(fis)) {
             Sheet sheet = workbook.getSheet(sheetName);
@@ -777,8 +793,8 @@ public class ExcelUtility {
                 Row row = rowIterator.next();
                 Object[] rowData = new Object[13]; // 13 columns
                 for (int i = 0; i < 13; i++) {
-                    Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    rowData[i] = cell.toString();
+                    Cell cell = row.getCell(i, Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
+                    rowData[i] = cell == null ? "" : cell.toString();
                 }
                 data.add(rowData);
             }
@@ -787,4 +803,56 @@ public class ExcelUtility {
         }
         return data;
     }
+
+    /**
+     * Whether a whole-sheet read of this file goes through {@link StreamingExcelReader}.
+     */
+    private static boolean isStreamable(String filePath) {
+        return filePath.toLowerCase().endsWith(".xlsx") && "stream".equalsIgnoreCase(TestEnvironment.getExcelReadMode());
+    }
+
+    /**
+     * Streaming counterpart of {@link #getAllData(String, String)}: every row after the header, keyed by header.
+     */
+    private List<Map<String, Object>> getAllDataStreaming(String filePath, String sheetName) {
+        List<Map<String, Object>> sheetData = new ArrayList<>();
+        try (Stream<List<Object>> rows = SheetSnapshot.readRows(filePath, sheetName)) {
+            Iterator<List<Object>> rowIterator = rows.iterator();
+            if (!rowIterator.hasNext()) {
+                logger.warn("Sheet '{}' is empty in '{}'.", sheetName, filePath);
+                return sheetData;
+            }
+            List<String> headers = new ArrayList<>();
+            for (Object header : rowIterator.next()) {
+                headers.add(String.valueOf(header));
+            }
+            while (rowIterator.hasNext()) {
+                List<Object> row = rowIterator.next();
+                Map<String, Object> rowData = new LinkedHashMap<>();
+                for (int i = 0; i < headers.size(); i++) {
+                    rowData.put(headers.get(i), i < row.size() ? row.get(i) : "");
+                }
+                sheetData.add(rowData);
+            }
+            logger.info("Read {} rows from sheet '{}' in '{}'.", sheetData.size(), sheetName, filePath);
+        } catch (IllegalArgumentException e) {
+            logger.error("Sheet '{}' does not exist in '{}'.", sheetName, filePath);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error reading all data from Excel file '{}': {}", filePath, e.getMessage());
+        }
+        return sheetData;
+    }
+
+    /**
+     * Formats a streamed cell value the way {@link Cell#toString()} formats the cell.
+     */
+    private static String toCellString(Object value) {
+        if (value instanceof Date) {
+            return new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale()).format((Date) value);
+        }
+        if (value instanceof Boolean) {
+            return ((Boolean) value) ? "TRUE" : "FALSE";
+        }
+        return String.valueOf(value);
+    }
 }
@@ -0,0 +1,301 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import config.TestEnvironment;
+
+/**
+ * ExcelWriteSession collects cell updates for one Excel file and writes them in a single pass.
+ * <p>
+ * Any thread may add updates to the session of a file ({@link #forFile(String)}); a later update of the same
+ * cell replaces the earlier one. {@link #flush()} opens the workbook once, applies every pending update, writes
+ * the result to a temporary file next to the target and renames it over the target, so readers never see a
+ * half-written file. Writes to the same file are serialised within the JVM, and sessions still holding updates
+ * are flushed when the JVM exits.
+ * </p>
+ * <p>
+ * A new .xlsx file with at least {@code excel.write.streaming.rows} rows is written with {@link SXSSFWorkbook},
+ * which keeps only a window of rows in memory. Existing files are always updated in place, because SXSSF cannot
+ * modify rows that are already written.
+ * </p>
+ */
+public final class ExcelWriteSession implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelWriteSession.class);
+    // Stands in for null values, which the pending map cannot hold; clears the cell.
+    private static final Object BLANK = new Object();
+
+    private static final Map<Path, ExcelWriteSession> sessions = new ConcurrentHashMap<>();
+    private static final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ExcelWriteSession::flushAll, "excel-write-flush"));
+    }
+
+    private final Path path;
+    private final Map<CellKey, Object> pending = new ConcurrentHashMap<>();
+
+    private ExcelWriteSession(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the shared write session of a file, creating it on first use.
+     *
+     * @param filePath The path to the Excel file (.xlsx or .xls); it is created on the first flush if missing.
+     * @return The file's write session.
+     */
+    public static ExcelWriteSession forFile(String filePath) {
+        return sessions.computeIfAbsent(normalize(filePath), ExcelWriteSession::new);
+    }
+
+    /**
+     * Writes a single cell immediately.
+     *
+     * @param filePath  The path to the Excel file.
+     * @param sheetName The name of the sheet; created if missing.
+     * @param rowNum    The zero-based row number.
+     * @param colNum    The zero-based column number.
+     * @param value     The value to write (String, Number, Boolean, Date).
+     * @throws IOException If the file cannot be read or written.
+     */
+    public static void write(String filePath, String sheetName, int rowNum, int colNum, Object value) throws IOException {
+        Map<CellKey, Object> update = new TreeMap<>();
+        update.put(new CellKey(sheetName, rowNum, colNum), value == null ? BLANK : value);
+        apply(normalize(filePath), update);
+    }
+
+    /**
+     * Queues a cell update.
+     *
+     * @param sheetName The name of the sheet; created if missing.
+     * @param rowNum    The zero-based row number.
+     * @param colNum    The zero-based column number.
+     * @param value     The value to write (String, Number, Boolean, Date); null clears the cell.
+     * @return This session, for chaining.
+     */
+    public ExcelWriteSession set(String sheetName, int rowNum, int colNum, Object value) {
+        pending.put(new CellKey(sheetName, rowNum, colNum), value == null ? BLANK : value);
+        return this;
+    }
+
+    /**
+     * @return The number of cell updates not yet written.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all pending updates to the file. Updates queued while the flush runs are kept for the next flush;
+     * if the write fails, the updates it took are queued again unless newer ones replaced them.
+     *
+     * @throws IOException If the file cannot be read or written.
+     */
+    public void flush() throws IOException {
+        Map<CellKey, Object> batch = new TreeMap<>();
+        for (Map.Entry<CellKey, Object> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            apply(path, batch);
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+
+    /**
+     * Flushes the pending updates and detaches the session; a later {@link #forFile(String)} starts a new one.
+     *
+     * @throws IOException If the file cannot be read or written.
+     */
+    @Override
+    public void close() throws IOException {
+        sessions.remove(path, this);
+        flush();
+    }
+
+    /**
+     * Flushes every session that still holds updates. Failures are logged, not thrown.
+     */
+    public static void flushAll() {
+        for (ExcelWriteSession session : sessions.values()) {
+            try {
+                session.flush();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error flushing Excel updates to '{}': {}", session.path, e.getMessage());
+            }
+        }
+    }
+
+    private static Path normalize(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+
+    private static void apply(Path path, Map<CellKey, Object> updates) throws IOException {
+        String fileName = path.getFileName().toString().toLowerCase();
+        boolean xlsx = fileName.endsWith("xlsx");
+        if (!xlsx && !fileName.endsWith("xls")) {
+            throw new IOException("Unsupported file format: " + path + ". Only .xlsx and .xls are supported.");
+        }
+        synchronized (fileLocks.computeIfAbsent(path, p -> new Object())) {
+            long start = System.nanoTime();
+            Workbook workbook = open(path, xlsx, updates);
+            try {
+                CellStyle dateStyle = null;
+                for (Map.Entry<CellKey, Object> update : updates.entrySet()) {
+                    CellKey key = update.getKey();
+                    Sheet sheet = workbook.getSheet(key.sheetName);
+                    if (sheet == null) {
+                        sheet = workbook.createSheet(key.sheetName);
+                        logger.info("Sheet '{}' created as it did not exist.", key.sheetName);
+                    }
+                    Row row = sheet.getRow(key.rowNum);
+                    if (row == null) {
+                        row = sheet.createRow(key.rowNum);
+                    }
+                    Cell cell = row.getCell(key.colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+                    Object value = update.getValue();
+                    if (value instanceof Date && dateStyle == null) {
+                        dateStyle = workbook.createCellStyle();
+                        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yy h:mm"));
+                    }
+                    setCellValue(cell, value, dateStyle);
+                }
+                replace(path, workbook);
+            } finally {
+                if (workbook instanceof SXSSFWorkbook) {
+                    // Removes the temporary row files SXSSF spills to disk.
+                    ((SXSSFWorkbook) workbook).dispose();
+                }
+                workbook.close();
+            }
+            WorkbookCache.invalidate(path.toString());
+            logger.info("Wrote {} cell update(s) to '{}' in {} ms.", updates.size(), path, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static Workbook open(Path path, boolean xlsx, Map<CellKey, Object> updates) throws IOException {
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                return xlsx ? new XSSFWorkbook(in) : new HSSFWorkbook(in);
+            }
+        }
+        if (!xlsx) {
+            return new HSSFWorkbook();
+        }
+        Set<String> rows = new HashSet<>();
+        for (CellKey key : updates.keySet()) {
+            rows.add(key.sheetName + '\u0000' + key.rowNum);
+        }
+        return rows.size() >= TestEnvironment.getExcelStreamingWriteRows() ? new SXSSFWorkbook() : new XSSFWorkbook();
+    }
+
+    private static void replace(Path path, Workbook workbook) throws IOException {
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                workbook.write(out);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void setCellValue(Cell cell, Object value, CellStyle dateStyle) {
+        if (value instanceof String) {
+            cell.setCellValue((String) value);
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof Date) {
+            cell.setCellStyle(dateStyle);
+            cell.setCellValue((Date) value);
+        } else if (value == BLANK) {
+            cell.setBlank();
+        } else {
+            logger.warn("Unsupported data type '{}'. Setting cell to blank.", value.getClass().getSimpleName());
+            cell.setBlank();
+        }
+    }
+
+    /**
+     * Cell address; ordered by sheet, row and column so rows are written in ascending order, as SXSSF requires.
+     */
+    private static final class CellKey implements Comparable<CellKey> {
+        private static final Comparator<CellKey> ORDER = Comparator.comparing((CellKey key) -> key.sheetName)
+                .thenComparingInt(key -> key.rowNum)
+                .thenComparingInt(key -> key.colNum);
+
+        private final String sheetName;
+        private final int rowNum;
+        private final int colNum;
+
+        private CellKey(String sheetName, int rowNum, int colNum) {
+            this.sheetName = sheetName;
+            this.rowNum = rowNum;
+            this.colNum = colNum;
+        }
+
+        @Override
+        public int compareTo(CellKey other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            CellKey other = (CellKey) o;
+            return rowNum == other.rowNum && colNum == other.colNum && sheetName.equals(other.sheetName);
+        }
+
+        @Override
+        public int hashCode() {
+            return (sheetName.hashCode() * 31 + rowNum) * 31 + colNum;
+        }
+    }
+}
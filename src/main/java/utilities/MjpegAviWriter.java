@@ -0,0 +1,178 @@
+package utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes JPEG frames as a Motion-JPEG AVI file, which common players open without extra codecs.
+ * <p>
+ * The frames are stored as they are, without re-encoding: one RIFF chunk per frame plus an index, so writing a
+ * video costs little more than copying its frames to disk. A null frame is written as an empty chunk, which
+ * players show as a repeat of the previous frame; this keeps still stretches of a video almost free.
+ * </p>
+ */
+final class MjpegAviWriter {
+
+    private static final int AVIF_HASINDEX = 0x10;
+    private static final int AVIIF_KEYFRAME = 0x10;
+
+    private MjpegAviWriter() {
+        // Utility class
+    }
+
+    /**
+     * Writes the frames as a video.
+     *
+     * @param file   The .avi file to write.
+     * @param frames The JPEG frames, in order; null repeats the previous frame.
+     * @param width  The frame width in pixels.
+     * @param height The frame height in pixels.
+     * @param fps    The frame rate.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(Path file, List<byte[]> frames, int width, int height, int fps) throws IOException {
+        int maxFrame = 0;
+        long moviSize = 4;
+        for (byte[] frame : frames) {
+            int length = frame == null ? 0 : frame.length;
+            maxFrame = Math.max(maxFrame, length);
+            moviSize += 8 + padded(length);
+        }
+        long idxSize = 16L * frames.size();
+        long riffSize = 4 + 200 + (8 + moviSize) + (8 + idxSize);
+        if (riffSize > 0xFFFFFFFFL) {
+            throw new IOException("Video too large for an AVI file: " + riffSize + " bytes");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(12 + 200 + 12).order(ByteOrder.LITTLE_ENDIAN);
+        fourCc(header, "RIFF");
+        header.putInt((int) riffSize);
+        fourCc(header, "AVI ");
+
+        fourCc(header, "LIST");
+        header.putInt(192);
+        fourCc(header, "hdrl");
+        fourCc(header, "avih");
+        header.putInt(56);
+        header.putInt(1_000_000 / fps);      // microseconds per frame
+        header.putInt(maxFrame * fps);       // max bytes per second
+        header.putInt(0);                    // padding granularity
+        header.putInt(AVIF_HASINDEX);
+        header.putInt(frames.size());
+        header.putInt(0);                    // initial frames
+        header.putInt(1);                    // streams
+        header.putInt(maxFrame);             // suggested buffer size
+        header.putInt(width);
+        header.putInt(height);
+        header.put(new byte[16]);            // reserved
+
+        fourCc(header, "LIST");
+        header.putInt(116);
+        fourCc(header, "strl");
+        fourCc(header, "strh");
+        header.putInt(56);
+        fourCc(header, "vids");
+        fourCc(header, "MJPG");
+        header.putInt(0);                    // flags
+        header.putShort((short) 0);          // priority
+        header.putShort((short) 0);          // language
+        header.putInt(0);                    // initial frames
+        header.putInt(1);                    // scale
+        header.putInt(fps);                  // rate: fps = rate / scale
+        header.putInt(0);                    // start
+        header.putInt(frames.size());        // length
+        header.putInt(maxFrame);             // suggested buffer size
+        header.putInt(-1);                   // quality: default
+        header.putInt(0);                    // sample size: varies
+        header.putShort((short) 0);
+        header.putShort((short) 0);
+        header.putShort((short) width);
+        header.putShort((short) height);
+        fourCc(header, "strf");
+        header.putInt(40);
+        header.putInt(40);                   // BITMAPINFOHEADER size
+        header.putInt(width);
+        header.putInt(height);
+        header.putShort((short) 1);          // planes
+        header.putShort((short) 24);         // bits per pixel
+        fourCc(header, "MJPG");
+        header.putInt(width * height * 3);
+        header.putInt(0);
+        header.putInt(0);
+        header.putInt(0);
+        header.putInt(0);
+
+        fourCc(header, "LIST");
+        header.putInt((int) moviSize);
+        fourCc(header, "movi");
+
+        ByteBuffer index = ByteBuffer.allocate((int) (8 + idxSize)).order(ByteOrder.LITTLE_ENDIAN);
+        fourCc(index, "idx1");
+        index.putInt((int) idxSize);
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            out.write(header.array());
+            ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            int offset = 4;
+            for (byte[] frame : frames) {
+                int length = frame == null ? 0 : frame.length;
+                chunkHeader.clear();
+                fourCc(chunkHeader, "00dc");
+                chunkHeader.putInt(length);
+                out.write(chunkHeader.array());
+                if (frame != null) {
+                    out.write(frame);
+                }
+                if (length % 2 != 0) {
+                    out.write(0);
+                }
+                fourCc(index, "00dc");
+                index.putInt(frame == null ? 0 : AVIIF_KEYFRAME);
+                index.putInt(offset);
+                index.putInt(length);
+                offset += 8 + padded(length);
+            }
+            out.write(index.array());
+        }
+    }
+
+    /**
+     * Reads the size of a JPEG image from its start-of-frame segment.
+     *
+     * @param jpeg The JPEG data.
+     * @return {width, height}, or null if the data has no start-of-frame segment.
+     */
+    static int[] jpegSize(byte[] jpeg) {
+        int i = 2;
+        while (i + 9 < jpeg.length) {
+            if ((jpeg[i] & 0xFF) != 0xFF) {
+                return null;
+            }
+            int marker = jpeg[i + 1] & 0xFF;
+            int length = ((jpeg[i + 2] & 0xFF) << 8) | (jpeg[i + 3] & 0xFF);
+            // SOF0-SOF15, except DHT (C4), JPG (C8) and DAC (CC)
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                int height = ((jpeg[i + 5] & 0xFF) << 8) | (jpeg[i + 6] & 0xFF);
+                int width = ((jpeg[i + 7] & 0xFF) << 8) | (jpeg[i + 8] & 0xFF);
+                return new int[]{width, height};
+            }
+            i += 2 + length;
+        }
+        return null;
+    }
+
+    private static int padded(int length) {
+        return length + (length % 2);
+    }
+
+    private static void fourCc(ByteBuffer buffer, String code) {
+        buffer.put(code.getBytes(StandardCharsets.US_ASCII));
+    }
+}
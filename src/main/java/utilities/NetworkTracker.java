@@ -0,0 +1,179 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v132.network.Network;
+import org.openqa.selenium.devtools.v132.network.model.ResourceType;
+
+import reporting.Log4jManager;
+
+/**
+ * NetworkTracker counts in-flight fetch/XHR requests of a browser session through Chrome DevTools.
+ * <p>
+ * The tracker is attached once per WebDriver session (per thread) and listens to
+ * {@code Network.requestWillBeSent}, {@code Network.loadingFinished} and {@code Network.loadingFailed}.
+ * Waiting for the network to go quiet is then a local check that costs no WebDriver round trips.
+ * Requests that never complete (for example because the page navigated away) are dropped from the
+ * in-flight count after {@link #STALE_REQUEST_TIMEOUT}. The tracker also counts 401 responses, so callers
+ * can tell when the application has rejected the session.
+ * </p>
+ */
+public class NetworkTracker {
+
+    private static final Duration STALE_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final long CHECK_INTERVAL_MS = 25;
+
+    private static final ThreadLocal<NetworkTracker> trackerThreadLocal = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final Map<String, Long> inflightRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger unauthorizedResponses = new AtomicInteger();
+    private final List<DevToolsListeners.Registration> registrations = new CopyOnWriteArrayList<>();
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkTracker(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Returns the tracker of the given session, attaching one to it on first use.
+     *
+     * @param driver The WebDriver session to track.
+     * @return The session's tracker, or null if the browser does not expose Chrome DevTools.
+     */
+    public static NetworkTracker attach(WebDriver driver) {
+        NetworkTracker tracker = trackerThreadLocal.get();
+        if (tracker != null && tracker.driver == driver) {
+            return tracker;
+        }
+        detach();
+        if (!(driver instanceof HasDevTools)) {
+            Log4jManager.warn("Network tracking requires Chrome DevTools; " + driver.getClass().getSimpleName() + " is not supported.");
+            return null;
+        }
+        try {
+            tracker = new NetworkTracker(driver);
+            tracker.listen(((HasDevTools) driver).getDevTools());
+            trackerThreadLocal.set(tracker);
+            Log4jManager.info("Attached network tracker to WebDriver session on thread: " + Thread.currentThread().getName());
+            return tracker;
+        } catch (Exception e) {
+            Log4jManager.warn("Unable to attach network tracker: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return The tracker attached on the current thread, or null if none is attached.
+     */
+    public static NetworkTracker current() {
+        return trackerThreadLocal.get();
+    }
+
+    /**
+     * Stops tracking the current thread's session. Must be called before the session is quit or
+     * returned to the driver pool, so a reused session does not accumulate listeners. Only the tracker's own
+     * listeners are removed; other DevTools listeners of the session keep running.
+     */
+    public static void detach() {
+        NetworkTracker tracker = trackerThreadLocal.get();
+        trackerThreadLocal.remove();
+        if (tracker == null) {
+            return;
+        }
+        // The Network domain stays enabled: other listeners of the session may rely on it.
+        tracker.registrations.forEach(DevToolsListeners.Registration::remove);
+        tracker.registrations.clear();
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+        registrations.add(DevToolsListeners.add(devTools, Network.requestWillBeSent(), request -> {
+            Optional<ResourceType> type = request.getType();
+            if (type.isPresent() && (type.get() == ResourceType.XHR || type.get() == ResourceType.FETCH)) {
+                inflightRequests.put(request.getRequestId().toString(), System.nanoTime());
+                lastActivityNanos = System.nanoTime();
+            }
+        }));
+        registrations.add(DevToolsListeners.add(devTools, Network.responseReceived(), received -> {
+            if (received.getResponse().getStatus() == 401) {
+                unauthorizedResponses.incrementAndGet();
+            }
+        }));
+        registrations.add(DevToolsListeners.add(devTools, Network.loadingFinished(),
+                finished -> complete(finished.getRequestId().toString())));
+        registrations.add(DevToolsListeners.add(devTools, Network.loadingFailed(),
+                failed -> complete(failed.getRequestId().toString())));
+    }
+
+    private void complete(String requestId) {
+        if (inflightRequests.remove(requestId) != null) {
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return The number of fetch/XHR requests currently in flight.
+     */
+    public int getInflightCount() {
+        long staleBefore = System.nanoTime() - STALE_REQUEST_TIMEOUT.toNanos();
+        inflightRequests.values().removeIf(startedAt -> startedAt < staleBefore);
+        return inflightRequests.size();
+    }
+
+    /**
+     * @return The number of responses with status 401 (Unauthorized) received since the tracker was attached.
+     */
+    public int getUnauthorizedCount() {
+        return unauthorizedResponses.get();
+    }
+
+    /**
+     * Checks whether at most {@code maxInflight} requests are pending and no request started or
+     * completed during the last {@code quietMillis}.
+     *
+     * @param quietMillis Required quiet period in milliseconds.
+     * @param maxInflight Number of long-lived requests (polling, streaming) that may stay open.
+     * @return True if the network is idle.
+     */
+    public boolean isIdle(long quietMillis, int maxInflight) {
+        long quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        return getInflightCount() <= maxInflight && System.nanoTime() - lastActivityNanos >= quietNanos;
+    }
+
+    /**
+     * Blocks until the network is idle.
+     *
+     * @param quietMillis Required quiet period in milliseconds.
+     * @param maxInflight Number of long-lived requests that may stay open.
+     * @param timeout     The maximum time to wait.
+     * @throws TimeoutException if the network does not go idle within the timeout.
+     */
+    public void awaitIdle(long quietMillis, int maxInflight, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!isIdle(quietMillis, maxInflight)) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Network did not go idle within " + timeout.getSeconds()
+                        + " second(s): " + getInflightCount() + " request(s) still in flight");
+            }
+            try {
+                Thread.sleep(CHECK_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for network idle", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package utilities;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import reporting.Log4jManager;
+
+/**
+ * ObserverWait blocks on a single asynchronous script per wait instead of polling the driver.
+ * <p>
+ * The injected script evaluates the condition once, then installs a MutationObserver on the document
+ * (re-checking on the next animation frame after each batch of mutations) plus a 100 ms in-page timer
+ * for changes that do not mutate the DOM, such as CSS transitions. The script calls back as soon as the
+ * condition holds or the timeout expires, so a wait costs one WebDriver round trip per script-timeout slice
+ * rather than one per polling interval.
+ * </p>
+ * <p>
+ * {@link #await(Condition, Duration)} returns {@code null} whenever the condition cannot be observed in the
+ * page (stale element, unsupported locator, script error); callers are expected to fall back to polling.
+ * </p>
+ */
+public class ObserverWait {
+
+    private static final Duration MAX_SLICE = Duration.ofSeconds(20);
+    private static final Duration SLICE_MARGIN = Duration.ofSeconds(2);
+
+    private static final String IS_VISIBLE_FN =
+            "function isVisible(el) {" +
+            "  if (!el || !el.isConnected) { return false; }" +
+            "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {" +
+            "    var style = window.getComputedStyle(node);" +
+            "    if (style.display === 'none' || parseFloat(style.opacity) === 0) { return false; }" +
+            "  }" +
+            "  var own = window.getComputedStyle(el);" +
+            "  if (own.visibility === 'hidden' || own.visibility === 'collapse') { return false; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0;" +
+            "}";
+
+    private static final String FIND_ALL_FN =
+            "function findAll(how, what) {" +
+            "  if (how === 'css') { return document.querySelectorAll(what).length; }" +
+            "  var result = document.evaluate(what, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  return result.snapshotLength;" +
+            "}" +
+            "function firstOf(how, what) {" +
+            "  if (how === 'css') { return document.querySelector(what); }" +
+            "  return document.evaluate(what, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "}";
+
+    private static final String OBSERVER_SCRIPT_TEMPLATE =
+            "var done = arguments[arguments.length - 1];" +
+            "var timeoutMs = arguments[0];" +
+            "var args = Array.prototype.slice.call(arguments, 1, arguments.length - 1);" +
+            IS_VISIBLE_FN +
+            FIND_ALL_FN +
+            "var test = function (args) { %s };" +
+            "var finished = false, observer = null, timer = null, interval = null, frame = null;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearTimeout(timer); clearInterval(interval);" +
+            "  if (frame) { cancelAnimationFrame(frame); }" +
+            "  done(result);" +
+            "}" +
+            "function evaluate() {" +
+            "  frame = null;" +
+            "  try { if (test(args)) { finish(true); } } catch (e) { finish('error: ' + e.message); }" +
+            "}" +
+            "evaluate();" +
+            "if (!finished) {" +
+            "  observer = new MutationObserver(function () {" +
+            "    if (!frame && !finished) { frame = requestAnimationFrame(evaluate); }" +
+            "  });" +
+            "  observer.observe(document.documentElement," +
+            "      {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "  interval = setInterval(evaluate, 100);" +
+            "  timer = setTimeout(function () { finish(false); }, timeoutMs);" +
+            "}";
+
+    private static final String EVALUATE_SCRIPT_TEMPLATE =
+            IS_VISIBLE_FN +
+            FIND_ALL_FN +
+            "var args = Array.prototype.slice.call(arguments);" +
+            "return !!(function (args) { %s })(args);";
+
+    private final WebDriver driver;
+
+    public ObserverWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Blocks until the condition holds in the page or the timeout expires.
+     *
+     * @param condition The condition to observe.
+     * @param timeout   The maximum time to wait.
+     * @return TRUE if the condition was met, FALSE on timeout, or null if the condition could not be observed.
+     */
+    public Boolean await(Condition condition, Duration timeout) {
+        if (condition == null || !(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String script = String.format(OBSERVER_SCRIPT_TEMPLATE, condition.body);
+        Duration maxSlice = getMaxSlice();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            long remainingMs = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMs <= 0) {
+                return Boolean.FALSE;
+            }
+            long sliceMs = Math.min(remainingMs, maxSlice.toMillis());
+            Object[] scriptArgs = new Object[condition.args.length + 1];
+            scriptArgs[0] = sliceMs;
+            System.arraycopy(condition.args, 0, scriptArgs, 1, condition.args.length);
+            try {
+                Object result = js.executeAsyncScript(script, scriptArgs);
+                if (Boolean.TRUE.equals(result)) {
+                    return Boolean.TRUE;
+                }
+                if (!Boolean.FALSE.equals(result)) {
+                    Log4jManager.debug("DOM observer could not evaluate " + condition + ": " + result);
+                    return null;
+                }
+            } catch (ScriptTimeoutException e) {
+                // The slice outlived the driver's script timeout; start the next slice.
+            } catch (JavascriptException e) {
+                if (!isNavigation(e)) {
+                    Log4jManager.debug("DOM observer failed for " + condition + ": " + e.getMessage());
+                    return null;
+                }
+                // The page navigated away mid-wait; observe the new document.
+            } catch (WebDriverException e) {
+                Log4jManager.debug("DOM observer unavailable for " + condition + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the condition once in the page, in a single WebDriver round trip.
+     *
+     * @param driver    The WebDriver whose current page is evaluated.
+     * @param condition The condition to evaluate.
+     * @return True if the condition currently holds.
+     */
+    public static boolean evaluate(WebDriver driver, Condition condition) {
+        Object result = ((JavascriptExecutor) driver)
+                .executeScript(String.format(EVALUATE_SCRIPT_TEMPLATE, condition.body), condition.args);
+        return Boolean.TRUE.equals(result);
+    }
+
+    private Duration getMaxSlice() {
+        try {
+            Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout().minus(SLICE_MARGIN);
+            if (!scriptTimeout.isNegative() && !scriptTimeout.isZero() && scriptTimeout.compareTo(MAX_SLICE) < 0) {
+                return scriptTimeout;
+            }
+        } catch (Exception e) {
+            // Older drivers do not report the script timeout; use the default slice.
+        }
+        return MAX_SLICE;
+    }
+
+    private static boolean isNavigation(JavascriptException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("unloaded") || message.contains("navigat"));
+    }
+
+    /**
+     * Waits for the element to be displayed.
+     */
+    public static Condition visibilityOf(WebElement element) {
+        return new Condition("visibility of " + element,
+                "return isVisible(args[0]);", element);
+    }
+
+    /**
+     * Waits for the element to be hidden or detached from the DOM.
+     */
+    public static Condition invisibilityOf(WebElement element) {
+        return new Condition("invisibility of " + element,
+                "return !isVisible(args[0]);", element);
+    }
+
+    /**
+     * Waits for the element to be displayed and enabled.
+     */
+    public static Condition elementToBeClickable(WebElement element) {
+        return new Condition("element to be clickable: " + element,
+                "var el = args[0]; return isVisible(el) && !el.disabled && el.getAttribute('aria-disabled') !== 'true';",
+                element);
+    }
+
+    /**
+     * Waits for the element's rendered text to contain the given text.
+     */
+    public static Condition textToBePresentInElement(WebElement element, String text) {
+        return new Condition("text ('" + text + "') to be present in " + element,
+                "var el = args[0]; return !!el && el.isConnected && (el.innerText || el.textContent || '').indexOf(args[1]) >= 0;",
+                element, text);
+    }
+
+    /**
+     * Waits for the element's attribute, property or computed CSS value to equal the given value.
+     */
+    public static Condition attributeToBe(WebElement element, String attribute, String value) {
+        return new Condition("attribute or CSS '" + attribute + "' to be '" + value + "' in " + element,
+                "var el = args[0]; if (!el || !el.isConnected) { return false; }" +
+                "var prop = el[args[1]];" +
+                "return el.getAttribute(args[1]) === args[2]" +
+                "    || (prop !== undefined && prop !== null && String(prop) === args[2])" +
+                "    || window.getComputedStyle(el).getPropertyValue(args[1]) === args[2];",
+                element, attribute, value);
+    }
+
+    /**
+     * Waits for the element's attribute (or property) to contain the given substring.
+     */
+    public static Condition attributeContains(WebElement element, String attribute, String substring) {
+        return new Condition("attribute '" + attribute + "' to contain '" + substring + "' in " + element,
+                "var el = args[0]; if (!el || !el.isConnected) { return false; }" +
+                "var value = el.getAttribute(args[1]);" +
+                "if (value === null && el[args[1]] !== undefined && el[args[1]] !== null) { value = String(el[args[1]]); }" +
+                "return value !== null && value.indexOf(args[2]) >= 0;",
+                element, attribute, substring);
+    }
+
+    /**
+     * Waits for the element's class attribute to contain the given class name.
+     */
+    public static Condition classContains(WebElement element, String className) {
+        return new Condition("class '" + className + "' in " + element,
+                "var el = args[0]; return !!el && (el.getAttribute('class') || '').indexOf(args[1]) >= 0;",
+                element, className);
+    }
+
+    /**
+     * Waits for the number of elements matching the locator to equal the expected count.
+     *
+     * @return The condition, or null if the locator cannot be evaluated in the page.
+     */
+    public static Condition numberOfElementsToBe(By locator, int expectedCount) {
+        String[] query = toQuery(locator);
+        if (query == null) {
+            return null;
+        }
+        return new Condition("number of elements found by " + locator + " to be " + expectedCount,
+                "return findAll(args[0], args[1]) === args[2];",
+                query[0], query[1], expectedCount);
+    }
+
+    /**
+     * Waits for the first element matching the locator to be hidden or absent.
+     *
+     * @return The condition, or null if the locator cannot be evaluated in the page.
+     */
+    public static Condition invisibilityOfElementLocated(By locator) {
+        String[] query = toQuery(locator);
+        if (query == null) {
+            return null;
+        }
+        return new Condition("invisibility of element located by " + locator,
+                "return !isVisible(firstOf(args[0], args[1]));",
+                query[0], query[1]);
+    }
+
+    /**
+     * Waits for the first element matching the locator to be displayed.
+     *
+     * @return The condition, or null if the locator cannot be evaluated in the page.
+     */
+    public static Condition visibilityOfElementLocated(By locator) {
+        String[] query = toQuery(locator);
+        if (query == null) {
+            return null;
+        }
+        return new Condition("visibility of element located by " + locator,
+                "return isVisible(firstOf(args[0], args[1]));",
+                query[0], query[1]);
+    }
+
+    /**
+     * Combines conditions that must all hold at the same time; they are evaluated together in one script.
+     */
+    public static Condition allOf(Condition... conditions) {
+        return combine("all of", true, conditions);
+    }
+
+    /**
+     * Combines conditions of which at least one must hold; they are evaluated together in one script.
+     */
+    public static Condition anyOf(Condition... conditions) {
+        return combine("any of", false, conditions);
+    }
+
+    private static Condition combine(String label, boolean requireAll, Condition... conditions) {
+        StringBuilder checks = new StringBuilder("var checks = [");
+        StringBuilder counts = new StringBuilder("var counts = [");
+        StringBuilder description = new StringBuilder(label).append(" (");
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < conditions.length; i++) {
+            Condition condition = Objects.requireNonNull(conditions[i], "Condition " + i + " cannot be evaluated in the page");
+            String separator = i == 0 ? "" : ", ";
+            checks.append(separator).append("function (args) { ").append(condition.body).append(" }");
+            counts.append(separator).append(condition.args.length);
+            description.append(i == 0 ? "" : "; ").append(condition.description);
+            args.addAll(Arrays.asList(condition.args));
+        }
+        String body = checks.append("];") + counts.append("];").toString() +
+                "var offset = 0, matched = 0;" +
+                "for (var i = 0; i < checks.length; i++) {" +
+                "  if (checks[i](args.slice(offset, offset + counts[i]))) { matched++; }" +
+                (requireAll ? "  else { return false; }" : "") +
+                "  offset += counts[i];" +
+                "}" +
+                (requireAll ? "return true;" : "return matched > 0;");
+        return new Condition(description.append(")").toString(), body, args.toArray());
+    }
+
+    /**
+     * Translates a locator into a CSS selector or XPath that can be evaluated in the page.
+     *
+     * @return {"css"|"xpath", expression}, or null for locator strategies without a DOM equivalent.
+     */
+    static String[] toQuery(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            return null;
+        }
+        String strategy = description.substring(0, separator);
+        String value = description.substring(separator + 2);
+        switch (strategy) {
+            case "By.cssSelector":
+                return new String[]{"css", value};
+            case "By.xpath":
+                return new String[]{"xpath", value};
+            case "By.id":
+                return new String[]{"xpath", "//*[@id=" + xpathLiteral(value) + "]"};
+            case "By.name":
+                return new String[]{"xpath", "//*[@name=" + xpathLiteral(value) + "]"};
+            case "By.className":
+                return new String[]{"xpath", "//*[contains(concat(' ', normalize-space(@class), ' '), "
+                        + xpathLiteral(" " + value + " ") + ")]"};
+            case "By.tagName":
+                return new String[]{"css", value};
+            default:
+                return null;
+        }
+    }
+
+    static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    /**
+     * A JavaScript predicate over {@code args} evaluated inside the page.
+     */
+    public static final class Condition {
+        private final String description;
+        private final String body;
+        private final Object[] args;
+
+        private Condition(String description, String body, Object... args) {
+            this.description = description;
+            this.body = body;
+            this.args = args;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
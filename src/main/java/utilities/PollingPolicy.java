@@ -0,0 +1,260 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import config.TestEnvironment;
+import reporting.Log4jManager;
+
+/**
+ * PollingPolicy decides how long a wait sleeps between two evaluations of its condition.
+ * <p>
+ * Three strategies are available through the {@code wait.polling.strategy} property:
+ * <ul>
+ *   <li>{@code fixed} – sleeps for the interval requested by the wait (the historical behaviour).</li>
+ *   <li>{@code backoff} – exponential back-off from {@code wait.polling.initial.ms} up to
+ *       {@code wait.polling.max.ms}, with random jitter.</li>
+ *   <li>{@code adaptive} – back-off whose first delay starts from the typical latency learned for the same
+ *       condition in earlier runs; latencies are persisted to {@code wait.polling.history.file}.</li>
+ * </ul>
+ * </p>
+ */
+public abstract class PollingPolicy {
+
+    private static volatile PollingPolicy configured;
+    private static boolean saveHookRegistered;
+
+    /**
+     * Starts the delay sequence for one wait.
+     *
+     * @param conditionKey A stable description of the awaited condition; null unless {@link #usesConditionKey()}.
+     * @return The delay sequence used until the wait completes.
+     */
+    public abstract Backoff start(String conditionKey);
+
+    /**
+     * Records how long a satisfied condition took, so that adaptive policies can learn from it.
+     *
+     * @param conditionKey A stable description of the awaited condition.
+     * @param elapsed      Time until the condition was met.
+     */
+    public void record(String conditionKey, Duration elapsed) {
+        // Only adaptive policies learn from completed waits.
+    }
+
+    /**
+     * @return Whether {@link #start(String)} and {@link #record(String, Duration)} need the condition key; waits
+     *         skip building it otherwise.
+     */
+    public boolean usesConditionKey() {
+        return false;
+    }
+
+    /**
+     * A sequence of delays between consecutive polls of one wait.
+     */
+    public interface Backoff {
+        /**
+         * @param requested The polling interval configured on the wait.
+         * @return The time to sleep before the next poll.
+         */
+        Duration nextDelay(Duration requested);
+    }
+
+    /**
+     * Returns the policy selected in configuration, created once per JVM.
+     *
+     * @return The configured PollingPolicy.
+     */
+    public static PollingPolicy fromConfig() {
+        PollingPolicy policy = configured;
+        if (policy == null) {
+            synchronized (PollingPolicy.class) {
+                policy = configured;
+                if (policy == null) {
+                    policy = create(TestEnvironment.getWaitPollingStrategy());
+                    configured = policy;
+                    registerSaveHook();
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Discards the configured policy so the next {@link #fromConfig()} call builds one from the current
+     * configuration. Latencies learned by an adaptive policy are saved first, so the new one starts from them.
+     */
+    static void reset() {
+        PollingPolicy previous;
+        synchronized (PollingPolicy.class) {
+            previous = configured;
+            configured = null;
+        }
+        if (previous instanceof AdaptiveBackoff) {
+            ((AdaptiveBackoff) previous).save();
+        }
+    }
+
+    /**
+     * Registers, once per JVM, the shutdown hook saving the latencies of whichever adaptive policy is configured
+     * at exit. Policies replaced earlier by {@link #reset()} have already been saved and must not overwrite it.
+     */
+    private static void registerSaveHook() {
+        if (saveHookRegistered) {
+            return;
+        }
+        saveHookRegistered = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            PollingPolicy policy = configured;
+            if (policy instanceof AdaptiveBackoff) {
+                ((AdaptiveBackoff) policy).save();
+            }
+        }, "polling-history-save"));
+    }
+
+    private static PollingPolicy create(String strategy) {
+        Duration initial = Duration.ofMillis(TestEnvironment.getWaitPollingInitialMillis());
+        Duration max = Duration.ofMillis(TestEnvironment.getWaitPollingMaxMillis());
+        double multiplier = TestEnvironment.getWaitPollingMultiplier();
+        double jitter = TestEnvironment.getWaitPollingJitter();
+        switch (strategy) {
+            case "backoff":
+                return new ExponentialBackoff(initial, max, multiplier, jitter);
+            case "adaptive":
+                return new AdaptiveBackoff(initial, max, multiplier, jitter,
+                        Paths.get(TestEnvironment.getWaitPollingHistoryFile()));
+            case "fixed":
+                return new FixedPolling();
+            default:
+                Log4jManager.warn("Unknown wait.polling.strategy '" + strategy + "'. Using fixed polling.");
+                return new FixedPolling();
+        }
+    }
+
+    /**
+     * Sleeps exactly the interval requested by the wait.
+     */
+    public static class FixedPolling extends PollingPolicy {
+        @Override
+        public Backoff start(String conditionKey) {
+            return requested -> requested;
+        }
+    }
+
+    /**
+     * Doubles (by {@code multiplier}) the delay after every poll, capped at {@code max}, with +/- {@code jitter}.
+     */
+    public static class ExponentialBackoff extends PollingPolicy {
+        protected final Duration initial;
+        protected final Duration max;
+        private final double multiplier;
+        private final double jitter;
+
+        public ExponentialBackoff(Duration initial, Duration max, double multiplier, double jitter) {
+            this.initial = initial;
+            this.max = max;
+            this.multiplier = Math.max(1.0, multiplier);
+            this.jitter = Math.min(Math.max(0.0, jitter), 1.0);
+        }
+
+        @Override
+        public Backoff start(String conditionKey) {
+            return startFrom(initial);
+        }
+
+        protected Backoff startFrom(Duration first) {
+            double[] current = {-1};
+            return requested -> {
+                if (current[0] < 0) {
+                    current[0] = Math.max(first.toMillis(), requested.toMillis());
+                } else {
+                    current[0] = Math.min(current[0] * multiplier, max.toMillis());
+                }
+                double spread = current[0] * jitter;
+                double delay = current[0] + (spread == 0 ? 0 : ThreadLocalRandom.current().nextDouble(-spread, spread));
+                return Duration.ofMillis(Math.max(1, Math.min(Math.round(delay), max.toMillis())));
+            };
+        }
+    }
+
+    /**
+     * Exponential back-off whose first delay is half the condition's typical latency from earlier waits,
+     * so conditions that are known to take seconds are not polled every few milliseconds. The latencies of the
+     * configured policy are saved when it is replaced through {@link #reset()} and when the JVM exits.
+     */
+    public static class AdaptiveBackoff extends ExponentialBackoff {
+        private static final double SMOOTHING = 0.3;
+
+        private final Path historyFile;
+        private final Map<String, Double> typicalLatencyMs = new ConcurrentHashMap<>();
+
+        public AdaptiveBackoff(Duration initial, Duration max, double multiplier, double jitter, Path historyFile) {
+            super(initial, max, multiplier, jitter);
+            this.historyFile = historyFile;
+            load();
+        }
+
+        @Override
+        public boolean usesConditionKey() {
+            return true;
+        }
+
+        @Override
+        public Backoff start(String conditionKey) {
+            Double typical = typicalLatencyMs.get(conditionKey);
+            if (typical == null) {
+                return super.start(conditionKey);
+            }
+            long first = Math.min(Math.max(Math.round(typical / 2), initial.toMillis()), max.toMillis());
+            return startFrom(Duration.ofMillis(first));
+        }
+
+        @Override
+        public void record(String conditionKey, Duration elapsed) {
+            double observed = elapsed.toMillis();
+            typicalLatencyMs.merge(conditionKey, observed,
+                    (previous, latest) -> previous + SMOOTHING * (latest - previous));
+        }
+
+        private void load() {
+            if (!Files.exists(historyFile)) {
+                return;
+            }
+            Properties history = new Properties();
+            try (InputStream in = Files.newInputStream(historyFile)) {
+                history.load(in);
+                for (String key : history.stringPropertyNames()) {
+                    typicalLatencyMs.put(key, Double.parseDouble(history.getProperty(key)));
+                }
+                Log4jManager.info("Loaded " + typicalLatencyMs.size() + " wait latencies from " + historyFile);
+            } catch (IOException | NumberFormatException e) {
+                Log4jManager.warn("Unable to read wait latency history " + historyFile + ": " + e.getMessage());
+            }
+        }
+
+        private void save() {
+            Properties history = new Properties();
+            typicalLatencyMs.forEach((key, value) -> history.setProperty(key, String.valueOf(Math.round(value))));
+            try {
+                if (historyFile.getParent() != null) {
+                    Files.createDirectories(historyFile.getParent());
+                }
+                try (OutputStream out = Files.newOutputStream(historyFile)) {
+                    history.store(out, "Typical wait latencies in milliseconds, keyed by condition");
+                }
+            } catch (IOException e) {
+                Log4jManager.error("Unable to save wait latency history {}: {}", historyFile, e.getMessage());
+            }
+        }
+    }
+}
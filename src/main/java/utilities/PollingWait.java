@@ -0,0 +1,186 @@
+package utilities;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import reporting.Log4jManager;
+
+/**
+ * PollingWait is a WebDriverWait whose sleep between polls is decided by a {@link PollingPolicy}
+ * instead of the fixed polling interval, and which reports how many polls every wait made.
+ * <p>
+ * The interval set through {@link #pollingEvery(Duration)} is still honoured by the fixed policy and is used
+ * as the lower bound of the first delay by the back-off policies. Instances are meant to be used by one
+ * thread at a time, like the WaitUtility and CommonActions instances that own them.
+ * </p>
+ * <p>
+ * Like every WebDriverWait it ignores {@code NotFoundException}; {@link #fluent(WebDriver, Duration)} builds a
+ * plain FluentWait that polls the same way but ignores only what the caller asks for.
+ * </p>
+ */
+public class PollingWait extends WebDriverWait {
+
+    private static final Pattern LAMBDA_SUFFIX = Pattern.compile("\\$\\$Lambda.*");
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private static final AtomicLong totalWaits = new AtomicLong();
+    private static final AtomicLong totalPolls = new AtomicLong();
+
+    private final PolicySleeper sleeper;
+    private final PollingPolicy policy;
+
+    /**
+     * Creates a wait that polls according to the configured policy.
+     *
+     * @param driver  The WebDriver to wait on.
+     * @param timeout The maximum time to wait.
+     */
+    public PollingWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, PollingPolicy.fromConfig());
+    }
+
+    /**
+     * Creates a wait that polls according to the given policy.
+     *
+     * @param driver  The WebDriver to wait on.
+     * @param timeout The maximum time to wait.
+     * @param policy  The policy deciding the delay between polls.
+     */
+    public PollingWait(WebDriver driver, Duration timeout, PollingPolicy policy) {
+        this(driver, timeout, policy, new PolicySleeper());
+    }
+
+    private PollingWait(WebDriver driver, Duration timeout, PollingPolicy policy, PolicySleeper sleeper) {
+        super(driver, timeout, Duration.ofMillis(500), Clock.systemDefaultZone(), sleeper);
+        this.sleeper = sleeper;
+        this.policy = policy;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        return timed(policy, sleeper, isTrue, () -> super.until(isTrue));
+    }
+
+    /**
+     * Creates a FluentWait on the driver that polls according to the configured policy. Unlike a PollingWait it
+     * ignores no exception unless told to, as a {@code new FluentWait<>(driver)} would.
+     *
+     * @param driver  The WebDriver to wait on.
+     * @param timeout The maximum time to wait.
+     * @return The FluentWait.
+     */
+    public static FluentWait<WebDriver> fluent(WebDriver driver, Duration timeout) {
+        return new Fluent(driver, PollingPolicy.fromConfig(), new PolicySleeper()).withTimeout(timeout);
+    }
+
+    private static <V> V timed(PollingPolicy policy, PolicySleeper sleeper, Object condition, Supplier<V> wait) {
+        // Only an adaptive policy uses the key; building it for the others would be wasted work.
+        String key = policy.usesConditionKey() ? conditionKey(condition) : null;
+        sleeper.begin(policy.start(key));
+        long start = System.nanoTime();
+        boolean met = false;
+        try {
+            V value = wait.get();
+            met = true;
+            return value;
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            int polls = sleeper.sleeps + 1;
+            totalWaits.incrementAndGet();
+            totalPolls.addAndGet(polls);
+            if (met && key != null) {
+                policy.record(key, elapsed);
+            }
+            Log4jManager.debug("Wait for {} {} after {} poll(s) in {} ms", key != null ? key : conditionType(condition),
+                    met ? "met" : "timed out", polls, elapsed.toMillis());
+        }
+    }
+
+    /**
+     * @return The number of waits completed (met or timed out) in this JVM.
+     */
+    public static long getTotalWaits() {
+        return totalWaits.get();
+    }
+
+    /**
+     * @return The number of condition evaluations made by all waits in this JVM.
+     */
+    public static long getTotalPolls() {
+        return totalPolls.get();
+    }
+
+    /**
+     * Builds a key that is stable across runs and sessions: the condition's type plus the first caller outside the
+     * wait utilities and Selenium, e.g. the page object method waiting for its element. The condition's
+     * {@code toString()} is never used, as for a PageFactory proxy it would look the element up.
+     */
+    static String conditionKey(Object condition) {
+        String callSite = stackWalker.walk(frames -> frames
+                .filter(frame -> !isWaitInfrastructure(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+        return conditionType(condition) + " from " + callSite;
+    }
+
+    private static String conditionType(Object condition) {
+        return LAMBDA_SUFFIX.matcher(condition.getClass().getName()).replaceAll("\\$\\$Lambda");
+    }
+
+    private static boolean isWaitInfrastructure(String className) {
+        return className.startsWith(PollingWait.class.getName())
+                || className.startsWith(WaitUtility.class.getName())
+                || className.startsWith(CommonActions.class.getName())
+                || className.startsWith("org.openqa.selenium.")
+                || className.startsWith("java.");
+    }
+
+    /**
+     * FluentWait counterpart of PollingWait, without WebDriverWait's implicit {@code NotFoundException} ignore.
+     */
+    private static final class Fluent extends FluentWait<WebDriver> {
+        private final PollingPolicy policy;
+        private final PolicySleeper sleeper;
+
+        private Fluent(WebDriver driver, PollingPolicy policy, PolicySleeper sleeper) {
+            super(driver, Clock.systemDefaultZone(), sleeper);
+            this.policy = policy;
+            this.sleeper = sleeper;
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            return timed(policy, sleeper, isTrue, () -> super.until(isTrue));
+        }
+    }
+
+    /**
+     * Sleeper that replaces the wait's fixed interval with the delays of the current back-off sequence.
+     */
+    private static final class PolicySleeper implements Sleeper {
+        private PollingPolicy.Backoff backoff;
+        private int sleeps;
+
+        private void begin(PollingPolicy.Backoff backoff) {
+            this.backoff = backoff;
+            this.sleeps = 0;
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            sleeps++;
+            Duration delay = backoff == null ? duration : backoff.nextDelay(duration);
+            Thread.sleep(delay.toMillis());
+        }
+    }
+}
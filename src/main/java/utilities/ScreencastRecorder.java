@@ -0,0 +1,266 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v132.page.Page;
+
+import config.TestEnvironment;
+import reporting.Log4jManager;
+
+/**
+ * ScreencastRecorder records a browser session through the Chrome DevTools screencast.
+ * <p>
+ * The browser renders the page into JPEG frames itself ({@code Page.startScreencast}) and only sends frames
+ * when the page changes, so an idle page costs nothing. Frames are decoded on a small shared executor with a
+ * bounded queue; when the queue is full, frames are dropped rather than slowing down the test. Only the last
+ * {@code video.window.seconds} of frames are kept in memory, and they are written to disk as a Motion-JPEG AVI
+ * only when asked to, typically for a failed scenario.
+ * </p>
+ * <p>
+ * Unlike a desktop recorder this works headless and records only its own session, so parallel scenarios
+ * each get their own video. One recorder is active per thread, like {@link NetworkTracker}.
+ * </p>
+ */
+public class ScreencastRecorder {
+
+    private static final long STOP_TIMEOUT_MS = 2000;
+    private static final int FPS = 10;
+    private static final long FRAME_MILLIS = 1000 / FPS;
+
+    private static final ThreadLocal<ScreencastRecorder> recorderThreadLocal = new ThreadLocal<>();
+    private static final ThreadPoolExecutor decoder = createDecoder();
+
+    private final WebDriver driver;
+    private final long windowMillis = TimeUnit.SECONDS.toMillis(TestEnvironment.getVideoWindowSeconds());
+    // Frames are decoded in parallel; the sequence number restores their order.
+    private final Deque<Frame> window = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private volatile boolean recording = true;
+    private volatile DevToolsListeners.Registration registration;
+    // Only touched by the DevTools event thread.
+    private long lastKeptAt = Long.MIN_VALUE;
+
+    private ScreencastRecorder(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Starts recording the given session on the current thread, stopping any earlier recording of the thread.
+     *
+     * @param driver The WebDriver session to record.
+     * @return The recorder, or null if the browser does not expose Chrome DevTools.
+     */
+    public static ScreencastRecorder start(WebDriver driver) {
+        ScreencastRecorder previous = recorderThreadLocal.get();
+        if (previous != null) {
+            previous.stop(false, null);
+        }
+        if (!(driver instanceof HasDevTools)) {
+            Log4jManager.warn("Video recording requires Chrome DevTools; {} is not supported.", driver.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            ScreencastRecorder recorder = new ScreencastRecorder(driver);
+            recorder.listen(((HasDevTools) driver).getDevTools());
+            recorderThreadLocal.set(recorder);
+            return recorder;
+        } catch (Exception e) {
+            Log4jManager.warn("Unable to start video recording: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return The recorder active on the current thread, or null if none is recording.
+     */
+    public static ScreencastRecorder current() {
+        return recorderThreadLocal.get();
+    }
+
+    /**
+     * Stops the screencast and, if asked to, writes the frames of the rolling window to a video file.
+     * Must be called before the session is quit or returned to the driver pool, so a reused session does not
+     * keep the recorder's DevTools listener; other listeners of the session are left alone.
+     *
+     * @param keep Whether to write the video; otherwise the frames are discarded.
+     * @param name The file name of the video, without extension.
+     * @return The video file, or null if no video was written.
+     */
+    public Path stop(boolean keep, String name) {
+        if (recorderThreadLocal.get() == this) {
+            recorderThreadLocal.remove();
+        }
+        if (!recording) {
+            return null;
+        }
+        recording = false;
+        try {
+            if (registration != null) {
+                registration.remove();
+            }
+            ((HasDevTools) driver).getDevTools().send(Page.stopScreencast());
+        } catch (Exception e) {
+            Log4jManager.warn("Unable to stop the screencast: {}", e.getMessage());
+        }
+        if (!keep) {
+            synchronized (this) {
+                window.clear();
+            }
+            return null;
+        }
+        try {
+            return write(name);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Log4jManager.warn("Unable to save video {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        registration = DevToolsListeners.add(devTools, Page.screencastFrame(), frame -> {
+            if (!recording) {
+                return;
+            }
+            // The browser sends the next frame only once this one is acknowledged.
+            devTools.send(Page.screencastFrameAck(frame.getSessionId()));
+            long receivedAt = System.currentTimeMillis();
+            // The video has FPS frames per second; faster repaints would only be decoded and buffered to be lost.
+            if (receivedAt - lastKeptAt < FRAME_MILLIS) {
+                return;
+            }
+            lastKeptAt = receivedAt;
+            long seq = sequence.incrementAndGet();
+            String data = frame.getData();
+            pending.incrementAndGet();
+            try {
+                decoder.execute(() -> {
+                    try {
+                        add(new Frame(seq, receivedAt, Base64.getDecoder().decode(data)));
+                    } finally {
+                        done();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                dropped.incrementAndGet();
+                done();
+            }
+        });
+        devTools.send(Page.startScreencast(Optional.of(Page.StartScreencastFormat.JPEG),
+                Optional.of(TestEnvironment.getVideoJpegQuality()),
+                Optional.of(TestEnvironment.getVideoMaxWidth()),
+                Optional.of(TestEnvironment.getVideoMaxHeight()),
+                Optional.of(1)));
+    }
+
+    private synchronized void add(Frame frame) {
+        window.addLast(frame);
+        long oldest = frame.receivedAt - windowMillis;
+        while (!window.isEmpty() && window.peekFirst().receivedAt < oldest) {
+            window.removeFirst();
+        }
+    }
+
+    private synchronized void done() {
+        if (pending.decrementAndGet() == 0) {
+            notifyAll();
+        }
+    }
+
+    private synchronized Path write(String name) throws IOException, InterruptedException {
+        // Let frames already received finish decoding.
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MS;
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            wait(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        List<Frame> frames = new ArrayList<>(window);
+        window.clear();
+        frames.sort(Comparator.comparingLong(frame -> frame.seq));
+        if (frames.isEmpty()) {
+            Log4jManager.info("No video frames recorded for {}.", name);
+            return null;
+        }
+        int[] size = MjpegAviWriter.jpegSize(frames.get(0).jpeg);
+        if (size == null) {
+            throw new IOException("Screencast frames are not JPEG images");
+        }
+
+        // Frames arrive only when the page changes; AVI has a constant frame rate, so every frame is placed in the
+        // slot of its arrival time and repeated (as an empty chunk) until the next one. Slots are computed from the
+        // first frame rather than from the previous one, so rounding does not accumulate into drift.
+        // The last frame is held for a second.
+        long start = frames.get(0).receivedAt;
+        List<byte[]> timeline = new ArrayList<>();
+        for (Frame frame : frames) {
+            long slot = (frame.receivedAt - start) / FRAME_MILLIS;
+            while (timeline.size() < slot) {
+                timeline.add(null);
+            }
+            if (timeline.size() == slot) {
+                timeline.add(frame.jpeg);
+            } else {
+                // Same slot as the previous frame: the newer picture wins.
+                timeline.set(timeline.size() - 1, frame.jpeg);
+            }
+        }
+        for (int i = 1; i < FPS; i++) {
+            timeline.add(null);
+        }
+
+        Path dir = Paths.get(TestEnvironment.getVideoDir());
+        Files.createDirectories(dir);
+        Path file = dir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".avi");
+        MjpegAviWriter.write(file, timeline, size[0], size[1], FPS);
+        Log4jManager.info("Saved video {} ({} frames, {} dropped).", file, frames.size(), dropped.get());
+        return file;
+    }
+
+    private static ThreadPoolExecutor createDecoder() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(TestEnvironment.getVideoQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "screencast-decoder-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static final class Frame {
+        final long seq;
+        final long receivedAt;
+        final byte[] jpeg;
+
+        Frame(long seq, long receivedAt, byte[] jpeg) {
+            this.seq = seq;
+            this.receivedAt = receivedAt;
+            this.jpeg = jpeg;
+        }
+    }
+}
@@ -0,0 +1,653 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import config.TestEnvironment;
+
+/**
+ * SheetSnapshot serves .xlsx sheets from compiled binary snapshots instead of parsing the workbook on every run.
+ * <p>
+ * The first read of a sheet streams it with {@link StreamingExcelReader} and compiles it into a snapshot file in
+ * {@code excel.snapshot.dir}, in two streaming passes, so compiling does not hold the sheet in memory. The snapshot
+ * is named after and stores the SHA-256 of the source file; while the source is unchanged, later reads, in this JVM
+ * or the next one, memory-map the snapshot and decode rows from it on demand. A changed source is compiled into a
+ * new file and the old one deleted. Snapshots live outside {@code target/} by default, so they survive
+ * {@code mvn clean}.
+ * </p>
+ * <p>
+ * The format is columnar: every distinct string is stored once in a pool, and each column is stored with the
+ * narrowest type that holds all its cells (string index, double, boolean or date), falling back to tagged cells
+ * for columns of mixed type. Rows come back exactly as {@link StreamingExcelReader#readRows(String, String)}
+ * returns them. With {@code excel.snapshot.enabled=false}, or for other formats than .xlsx, reads go straight
+ * to {@link StreamingExcelReader}.
+ * </p>
+ */
+public final class SheetSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(SheetSnapshot.class);
+
+    private static final int MAGIC = 0x584C5353; // "XLSS"
+    private static final int VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private static final byte KIND_STRING = 1;
+    private static final byte KIND_NUMBER = 2;
+    private static final byte KIND_BOOLEAN = 3;
+    private static final byte KIND_DATE = 4;
+    private static final byte KIND_MIXED = 5;
+
+    private static final byte TAG_BLANK = 0;
+    private static final byte TAG_STRING = KIND_STRING;
+    private static final byte TAG_NUMBER = KIND_NUMBER;
+    private static final byte TAG_BOOLEAN = KIND_BOOLEAN;
+    private static final byte TAG_DATE = KIND_DATE;
+
+    private static final Map<Path, SourceHash> sourceHashes = new ConcurrentHashMap<>();
+    private static final Map<Path, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<Path, Object> compileLocks = new ConcurrentHashMap<>();
+
+    private SheetSnapshot() {
+        // Utility class
+    }
+
+    /**
+     * Streams the rows of a sheet, header row included, from its snapshot.
+     *
+     * @param filePath  The path to the .xlsx file.
+     * @param sheetName The name of the sheet.
+     * @return The rows as lists of typed cell values, as {@link StreamingExcelReader#readRows(String, String)} returns them.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the sheet does not exist.
+     */
+    public static Stream<List<Object>> readRows(String filePath, String sheetName) throws IOException {
+        Path source = Paths.get(filePath).toAbsolutePath().normalize();
+        if (!TestEnvironment.isExcelSnapshotEnabled() || !filePath.toLowerCase().endsWith(".xlsx") || !Files.isRegularFile(source)) {
+            return StreamingExcelReader.readRows(filePath, sheetName);
+        }
+        Snapshot snapshot = snapshot(source, sheetName);
+        return snapshot != null ? snapshot.rows() : StreamingExcelReader.readRows(filePath, sheetName);
+    }
+
+    /**
+     * Streams the data rows of a sheet as maps keyed by the header row, like
+     * {@link StreamingExcelReader#readRecords(String, String)}, from its snapshot.
+     *
+     * @param filePath  The path to the .xlsx file.
+     * @param sheetName The name of the sheet.
+     * @return The data rows, in sheet order.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the sheet does not exist.
+     */
+    public static Stream<Map<String, String>> readRecords(String filePath, String sheetName) throws IOException {
+        return StreamingExcelReader.toRecords(readRows(filePath, sheetName));
+    }
+
+    private static Snapshot snapshot(Path source, String sheetName) throws IOException {
+        byte[] hash = sourceHash(source);
+        Path snapshotFile = snapshotFile(source, sheetName, hash);
+        Snapshot snapshot = snapshots.get(snapshotFile);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (compileLocks.computeIfAbsent(snapshotFile, p -> new Object())) {
+            snapshot = snapshots.get(snapshotFile);
+            if (snapshot == null) {
+                snapshot = load(snapshotFile, hash);
+                if (snapshot == null) {
+                    snapshot = compile(source, sheetName, hash, snapshotFile);
+                }
+                if (snapshot != null) {
+                    snapshots.put(snapshotFile, snapshot);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * SHA-256 of the source file, recomputed only when its modification time or size changes.
+     */
+    private static byte[] sourceHash(Path source) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        SourceHash known = sourceHashes.get(source);
+        if (known != null && known.lastModified.equals(attributes.lastModifiedTime()) && known.size == attributes.size()) {
+            return known.hash;
+        }
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(source)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        byte[] hash = digest.digest();
+        sourceHashes.put(source, new SourceHash(hash, attributes));
+        return hash;
+    }
+
+    /**
+     * The snapshot of a sheet for one version of the source: the name carries a prefix of the source hash, so a
+     * changed workbook gets a new file and a snapshot that may still be mapped is never overwritten.
+     */
+    private static Path snapshotFile(Path source, String sheetName, byte[] sourceHash) {
+        return Paths.get(TestEnvironment.getExcelSnapshotDir()).toAbsolutePath()
+                .resolve(snapshotPrefix(source, sheetName) + hex(sourceHash, 6) + ".snap");
+    }
+
+    private static String snapshotPrefix(Path source, String sheetName) {
+        byte[] key = sha256().digest((source + "\u0000" + sheetName).getBytes(StandardCharsets.UTF_8));
+        return source.getFileName() + "-" + sheetName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + hex(key, 4) + "-";
+    }
+
+    private static String hex(byte[] bytes, int count) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            hex.append(String.format("%02x", bytes[i]));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Maps an existing snapshot file; returns null if it is missing, of another source version or unreadable.
+     * The header is read into a small heap buffer first, so a stale snapshot is never mapped.
+     */
+    private static Snapshot load(Path snapshotFile, byte[] hash) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8 + HASH_LENGTH);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the file ends.
+            }
+            header.flip();
+            if (header.remaining() < 8 + HASH_LENGTH || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            byte[] storedHash = new byte[HASH_LENGTH];
+            header.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) {
+                return null;
+            }
+            Snapshot snapshot = Snapshot.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (snapshot == null) {
+                return null;
+            }
+            logger.debug("Loaded snapshot '{}' ({} rows).", snapshotFile, snapshot.rowCount);
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable snapshot '{}': {}", snapshotFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Compiles the sheet into its snapshot file in two streaming passes, so memory use does not grow with the
+     * sheet: the first pass finds the row count and the type of every column, which fixes where every cell goes,
+     * and the second writes the cells straight into their columns. Returns null, after logging why, if the
+     * snapshot cannot be written; the sheet is then read without one.
+     */
+    private static Snapshot compile(Path source, String sheetName, byte[] hash, Path snapshotFile) throws IOException {
+        long start = System.nanoTime();
+        Layout layout = Layout.scan(source, sheetName);
+        Path temp = null;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            temp = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                layout.write(channel, source, sheetName, hash);
+            }
+            try {
+                Files.move(temp, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to write snapshot '{}', reading the sheet directly: {}", snapshotFile, e.getMessage());
+            return null;
+        } finally {
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        logger.info("Compiled sheet '{}' of '{}' into '{}' ({} rows, {} bytes) in {} ms.", sheetName, source, snapshotFile,
+                layout.rowCount, Files.size(snapshotFile), (System.nanoTime() - start) / 1_000_000);
+        deleteStale(source, sheetName, snapshotFile);
+        return load(snapshotFile, hash);
+    }
+
+    /**
+     * Deletes the snapshots of earlier versions of the sheet. One that is still mapped (on Windows) cannot be
+     * deleted; it is left for a later compile.
+     */
+    private static void deleteStale(Path source, String sheetName, Path current) {
+        String prefix = snapshotPrefix(source, sheetName);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(current.getParent(), prefix + "*.snap")) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    snapshots.remove(file);
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        logger.debug("Unable to delete stale snapshot '{}': {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Unable to list stale snapshots of '{}': {}", current, e.getMessage());
+        }
+    }
+
+    /**
+     * Layout: magic, version, source hash, row count, column count, the offset of the row lengths, the offset of
+     * the string pool and the offset of every column; then the columns, the length of every row and the string
+     * pool (count, then length-prefixed UTF-8). A column is its kind followed by one fixed-width value per row:
+     * an int pool index (-1 blank) for strings, a double (NaN blank) for numbers, a byte (0 false, 1 true, 2 blank)
+     * for booleans, a long epoch millis (Long.MIN_VALUE blank) for dates, or a tag byte and a long per cell for
+     * mixed columns. Cells past the end of a row are written as blank.
+     */
+    private static final class Layout {
+        private static final int BUFFER_SIZE = 8 * 1024;
+
+        private final int rowCount;
+        private final byte[] kinds;
+        private final long[] columnOffsets;
+        private final long rowLengthsOffset;
+
+        private Layout(int rowCount, byte[] kinds) throws IOException {
+            this.rowCount = rowCount;
+            this.kinds = kinds;
+            this.columnOffsets = new long[kinds.length];
+            long offset = 8 + HASH_LENGTH + 4 * 4 + 4L * kinds.length;
+            for (int c = 0; c < kinds.length; c++) {
+                columnOffsets[c] = offset;
+                offset += 1 + (long) width(kinds[c]) * rowCount;
+            }
+            this.rowLengthsOffset = offset;
+            if (offset + 4L * rowCount > Integer.MAX_VALUE) {
+                throw new IOException("Sheet is too large for a snapshot");
+            }
+        }
+
+        /**
+         * First pass: counts the rows and finds the narrowest kind of every column.
+         */
+        static Layout scan(Path source, String sheetName) throws IOException {
+            int rowCount = 0;
+            byte[] kinds = new byte[0];
+            try (Stream<List<Object>> stream = StreamingExcelReader.readRows(source.toString(), sheetName)) {
+                Iterator<List<Object>> rows = stream.iterator();
+                while (rows.hasNext()) {
+                    List<Object> row = rows.next();
+                    rowCount++;
+                    if (row.size() > kinds.length) {
+                        kinds = Arrays.copyOf(kinds, row.size());
+                    }
+                    for (int c = 0; c < row.size(); c++) {
+                        byte tag = tagOf(row.get(c));
+                        if (tag != TAG_BLANK) {
+                            kinds[c] = kinds[c] == 0 || kinds[c] == tag ? tag : KIND_MIXED;
+                        }
+                    }
+                }
+            }
+            for (int c = 0; c < kinds.length; c++) {
+                if (kinds[c] == 0) {
+                    kinds[c] = KIND_STRING;
+                }
+            }
+            return new Layout(rowCount, kinds);
+        }
+
+        /**
+         * Second pass: streams the rows again and writes every cell into its column, then the row lengths, the
+         * string pool and finally the header.
+         */
+        void write(FileChannel channel, Path source, String sheetName, byte[] hash) throws IOException {
+            Map<String, Integer> pool = new HashMap<>();
+            List<String> strings = new ArrayList<>();
+            SectionWriter[] columns = new SectionWriter[kinds.length];
+            for (int c = 0; c < kinds.length; c++) {
+                columns[c] = new SectionWriter(channel, columnOffsets[c], BUFFER_SIZE);
+                columns[c].putByte(kinds[c]);
+            }
+            SectionWriter rowLengths = new SectionWriter(channel, rowLengthsOffset, BUFFER_SIZE);
+            int r = 0;
+            try (Stream<List<Object>> stream = StreamingExcelReader.readRows(source.toString(), sheetName)) {
+                Iterator<List<Object>> rows = stream.iterator();
+                while (rows.hasNext()) {
+                    List<Object> row = rows.next();
+                    if (r++ == rowCount || row.size() > kinds.length) {
+                        throw sourceChanged();
+                    }
+                    rowLengths.putInt(row.size());
+                    for (int c = 0; c < kinds.length; c++) {
+                        writeCell(columns[c], kinds[c], c < row.size() ? row.get(c) : "", pool, strings);
+                    }
+                }
+            }
+            if (r != rowCount) {
+                throw sourceChanged();
+            }
+            for (SectionWriter column : columns) {
+                column.flush();
+            }
+            rowLengths.flush();
+
+            long poolOffset = rowLengthsOffset + 4L * rowCount;
+            SectionWriter pooled = new SectionWriter(channel, poolOffset, BUFFER_SIZE);
+            pooled.putInt(strings.size());
+            for (String string : strings) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                pooled.putInt(utf8.length);
+                pooled.putBytes(utf8);
+            }
+            pooled.flush();
+            if (pooled.position > Integer.MAX_VALUE) {
+                throw new IOException("Sheet is too large for a snapshot");
+            }
+
+            SectionWriter header = new SectionWriter(channel, 0, BUFFER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putBytes(hash);
+            header.putInt(rowCount);
+            header.putInt(kinds.length);
+            header.putInt((int) rowLengthsOffset);
+            header.putInt((int) poolOffset);
+            for (long offset : columnOffsets) {
+                header.putInt((int) offset);
+            }
+            header.flush();
+        }
+
+        private static void writeCell(SectionWriter column, byte kind, Object value, Map<String, Integer> pool,
+                                      List<String> strings) throws IOException {
+            byte tag = tagOf(value);
+            if (kind != KIND_MIXED && tag != TAG_BLANK && tag != kind) {
+                throw sourceChanged();
+            }
+            switch (kind) {
+                case KIND_STRING:
+                    column.putInt(tag == TAG_BLANK ? -1 : intern((String) value, pool, strings));
+                    break;
+                case KIND_NUMBER:
+                    column.putLong(Double.doubleToRawLongBits(tag == TAG_BLANK ? Double.NaN : (Double) value));
+                    break;
+                case KIND_BOOLEAN:
+                    column.putByte((byte) (tag == TAG_BLANK ? 2 : ((Boolean) value) ? 1 : 0));
+                    break;
+                case KIND_DATE:
+                    column.putLong(tag == TAG_BLANK ? Long.MIN_VALUE : ((Date) value).getTime());
+                    break;
+                default:
+                    column.putByte(tag);
+                    column.putLong(bitsOf(value, tag, pool, strings));
+            }
+        }
+
+        private static int width(byte kind) {
+            switch (kind) {
+                case KIND_STRING:
+                    return 4;
+                case KIND_BOOLEAN:
+                    return 1;
+                case KIND_NUMBER:
+                case KIND_DATE:
+                    return 8;
+                default:
+                    return 9;
+            }
+        }
+
+        private static IOException sourceChanged() {
+            return new IOException("Source changed while its snapshot was compiled");
+        }
+    }
+
+    /**
+     * Buffered sequential writer for one section of the snapshot file, starting at a fixed file position.
+     */
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        private SectionWriter(FileChannel channel, long position, int capacity) {
+            this.channel = channel;
+            this.position = position;
+            this.buffer = ByteBuffer.allocate(capacity);
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putBytes(byte[] value) throws IOException {
+            if (value.length > buffer.capacity()) {
+                flush();
+                write(ByteBuffer.wrap(value));
+                return;
+            }
+            ensure(value.length);
+            buffer.put(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void write(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+        }
+    }
+
+    private static byte tagOf(Object value) {
+        if (value instanceof String) {
+            return ((String) value).isEmpty() ? TAG_BLANK : TAG_STRING;
+        }
+        if (value instanceof Double) {
+            return TAG_NUMBER;
+        }
+        if (value instanceof Boolean) {
+            return TAG_BOOLEAN;
+        }
+        if (value instanceof Date) {
+            return TAG_DATE;
+        }
+        return TAG_BLANK;
+    }
+
+    private static long bitsOf(Object value, byte tag, Map<String, Integer> pool, List<String> strings) {
+        switch (tag) {
+            case TAG_STRING:
+                return intern((String) value, pool, strings);
+            case TAG_NUMBER:
+                return Double.doubleToRawLongBits((Double) value);
+            case TAG_BOOLEAN:
+                return ((Boolean) value) ? 1 : 0;
+            case TAG_DATE:
+                return ((Date) value).getTime();
+            default:
+                return 0;
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> pool, List<String> strings) {
+        return pool.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+
+    /**
+     * A decoded snapshot header over its (usually memory-mapped) buffer; cells are read from the buffer when a
+     * row is requested, with absolute reads only, so one snapshot can be read by several threads.
+     */
+    private static final class Snapshot {
+        private final ByteBuffer buffer;
+        private final int rowCount;
+        private final int[] rowLengths;
+        private final String[] strings;
+        private final byte[] kinds;
+        private final int[] columnOffsets;
+
+        private Snapshot(ByteBuffer buffer, int[] rowLengths, String[] strings, byte[] kinds, int[] columnOffsets) {
+            this.buffer = buffer;
+            this.rowCount = rowLengths.length;
+            this.rowLengths = rowLengths;
+            this.strings = strings;
+            this.kinds = kinds;
+            this.columnOffsets = columnOffsets;
+        }
+
+        /**
+         * Reads the header and string pool; returns null if the buffer is not a snapshot of this version.
+         */
+        static Snapshot decode(ByteBuffer buffer) {
+            ByteBuffer header = buffer.duplicate();
+            if (header.remaining() < 8 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                return null;
+            }
+            header.position(header.position() + HASH_LENGTH);
+            int rowCount = header.getInt();
+            int columnCount = header.getInt();
+            int rowLengthsOffset = header.getInt();
+            int poolOffset = header.getInt();
+            int[] columnOffsets = new int[columnCount];
+            byte[] kinds = new byte[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                columnOffsets[c] = header.getInt();
+                kinds[c] = buffer.get(columnOffsets[c]);
+            }
+            int[] rowLengths = new int[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                rowLengths[r] = buffer.getInt(rowLengthsOffset + 4 * r);
+            }
+            ByteBuffer pool = buffer.duplicate();
+            pool.position(poolOffset);
+            String[] strings = new String[pool.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[pool.getInt()];
+                pool.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            return new Snapshot(buffer, rowLengths, strings, kinds, columnOffsets);
+        }
+
+        Stream<List<Object>> rows() {
+            return IntStream.range(0, rowCount).mapToObj(this::row);
+        }
+
+        private List<Object> row(int r) {
+            List<Object> row = new ArrayList<>(rowLengths[r]);
+            for (int c = 0; c < rowLengths[r]; c++) {
+                row.add(cell(c, r));
+            }
+            return row;
+        }
+
+        private Object cell(int c, int r) {
+            int values = columnOffsets[c] + 1;
+            switch (kinds[c]) {
+                case KIND_STRING:
+                    int index = buffer.getInt(values + 4 * r);
+                    return index < 0 ? "" : strings[index];
+                case KIND_NUMBER:
+                    double number = buffer.getDouble(values + 8 * r);
+                    return Double.isNaN(number) ? "" : (Object) number;
+                case KIND_BOOLEAN:
+                    byte flag = buffer.get(values + r);
+                    return flag == 2 ? "" : (Object) (flag == 1);
+                case KIND_DATE:
+                    long millis = buffer.getLong(values + 8 * r);
+                    return millis == Long.MIN_VALUE ? "" : new Date(millis);
+                default:
+                    int position = values + 9 * r;
+                    long bits = buffer.getLong(position + 1);
+                    switch (buffer.get(position)) {
+                        case TAG_STRING:
+                            return strings[(int) bits];
+                        case TAG_NUMBER:
+                            return Double.longBitsToDouble(bits);
+                        case TAG_BOOLEAN:
+                            return bits == 1;
+                        case TAG_DATE:
+                            return new Date(bits);
+                        default:
+                            return "";
+                    }
+            }
+        }
+    }
+
+    private static final class SourceHash {
+        private final byte[] hash;
+        private final FileTime lastModified;
+        private final long size;
+
+        private SourceHash(byte[] hash, BasicFileAttributes attributes) {
+            this.hash = hash;
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import config.DriverManager;
+import config.TestEnvironment;
+import reporting.Log4jManager;
+
+/**
+ * SleepAuditor records every fixed sleep taken through {@link WaitUtility#wait(int)} with its call site,
+ * and writes a per-run report of the time spent sleeping to {@code wait.sleep.report.file}.
+ * <p>
+ * With {@code wait.sleep.mode=stable} a sleep becomes an upper bound instead of a fixed delay: the call returns
+ * as soon as the page has finished loading, the DOM has not changed for {@code wait.sleep.stable.quiet.ms} and,
+ * when a {@link NetworkTracker} is attached, no fetch/XHR request is pending. The report then also shows how
+ * much time was saved per call site. Sleeps no longer than the quiet window stay plain sleeps.
+ * </p>
+ */
+public final class SleepAuditor {
+
+    private static final String STABLE_SCRIPT =
+            "var quiet = arguments[0], max = arguments[1], done = arguments[arguments.length - 1];"
+            + "var start = Date.now(), last = start;"
+            + "var observer = new MutationObserver(function () { last = Date.now(); });"
+            + "observer.observe(document.documentElement || document, {childList: true, subtree: true, attributes: true, characterData: true});"
+            + "(function check() {"
+            + "  var now = Date.now();"
+            + "  if ((document.readyState === 'complete' && now - last >= quiet) || now - start >= max) {"
+            + "    observer.disconnect(); done(now - start);"
+            + "  } else { setTimeout(check, 25); }"
+            + "})();";
+
+    private static final Map<String, SiteStats> statsBySite = new ConcurrentHashMap<>();
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SleepAuditor::writeReport, "sleep-audit-report"));
+    }
+
+    private SleepAuditor() {
+        // Utility class
+    }
+
+    /**
+     * Sleeps for the given time, or until the page is stable when stable mode is enabled, and records the call.
+     *
+     * @param milliseconds The requested sleep in milliseconds.
+     * @throws InterruptedException if the thread is interrupted while sleeping.
+     */
+    public static void sleep(long milliseconds) throws InterruptedException {
+        String site = callSite();
+        long start = System.nanoTime();
+        try {
+            // The page can only prove itself stable after a full quiet window, so shorter sleeps cannot end early
+            // and would only pay for the script round trip.
+            if ("stable".equals(TestEnvironment.getSleepMode()) && milliseconds > TestEnvironment.getSleepStableQuietMillis()
+                    && DriverManager.isDriverInitialized()) {
+                waitUntilStable(DriverManager.getDriver(), milliseconds);
+            } else {
+                Thread.sleep(milliseconds);
+            }
+        } finally {
+            long actual = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            statsBySite.computeIfAbsent(site, key -> new SiteStats()).record(milliseconds, actual);
+        }
+    }
+
+    private static void waitUntilStable(WebDriver driver, long maxMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMillis(maxMillis).toNanos();
+        long quietMillis = TestEnvironment.getSleepStableQuietMillis();
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(STABLE_SCRIPT, quietMillis, maxMillis);
+            NetworkTracker tracker = NetworkTracker.current();
+            long remaining = deadline - System.nanoTime();
+            if (tracker != null && remaining > 0) {
+                tracker.awaitIdle(quietMillis, 0, Duration.ofNanos(remaining));
+            }
+        } catch (TimeoutException e) {
+            // The requested sleep is the upper bound; an unstable page simply used all of it.
+        } catch (Exception e) {
+            Log4jManager.debug("Stability check failed, sleeping instead: " + e.getMessage());
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                Thread.sleep(Duration.ofNanos(remaining).toMillis());
+            }
+        }
+    }
+
+    private static String callSite() {
+        return stackWalker.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(SleepAuditor.class.getName())
+                        && !frame.getClassName().equals(WaitUtility.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    /**
+     * @return Total milliseconds requested by fixed sleeps in this JVM.
+     */
+    public static long getTotalRequestedMillis() {
+        return statsBySite.values().stream().mapToLong(stats -> stats.requestedMillis.get()).sum();
+    }
+
+    /**
+     * @return Total milliseconds actually spent in fixed sleeps in this JVM.
+     */
+    public static long getTotalActualMillis() {
+        return statsBySite.values().stream().mapToLong(stats -> stats.actualMillis.get()).sum();
+    }
+
+    /**
+     * Builds the report of sleep time per call site, costliest first.
+     *
+     * @return The report as text.
+     */
+    public static String getReport() {
+        List<Map.Entry<String, SiteStats>> sites = new ArrayList<>(statsBySite.entrySet());
+        sites.sort(Comparator.comparingLong((Map.Entry<String, SiteStats> entry) -> entry.getValue().actualMillis.get()).reversed());
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Fixed sleeps (mode=%s): %d ms requested, %d ms spent%n",
+                TestEnvironment.getSleepMode(), getTotalRequestedMillis(), getTotalActualMillis()));
+        report.append(String.format("%-8s %-12s %-12s %-12s %s%n", "calls", "requestedMs", "spentMs", "savedMs", "call site"));
+        for (Map.Entry<String, SiteStats> entry : sites) {
+            SiteStats stats = entry.getValue();
+            report.append(String.format("%-8d %-12d %-12d %-12d %s%n", stats.calls.get(), stats.requestedMillis.get(),
+                    stats.actualMillis.get(), Math.max(0, stats.requestedMillis.get() - stats.actualMillis.get()), entry.getKey()));
+        }
+        return report.toString();
+    }
+
+    private static void writeReport() {
+        if (statsBySite.isEmpty()) {
+            return;
+        }
+        Path reportFile = Paths.get(TestEnvironment.getSleepReportFile());
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                writer.write(getReport());
+            }
+        } catch (IOException e) {
+            System.err.println("[ERROR] Unable to write sleep audit report " + reportFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sleep totals of one call site.
+     */
+    private static final class SiteStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong requestedMillis = new AtomicLong();
+        private final AtomicLong actualMillis = new AtomicLong();
+
+        private void record(long requested, long actual) {
+            calls.incrementAndGet();
+            requestedMillis.addAndGet(requested);
+            actualMillis.addAndGet(actual);
+        }
+    }
+}
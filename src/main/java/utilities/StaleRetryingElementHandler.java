@@ -0,0 +1,70 @@
+package utilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Invocation handler of the WebElement proxies created by {@link CachingElementLocatorFactory}.
+ * <p>
+ * Staleness costs no extra round trip: the call goes to the cached element, and only if the browser answers
+ * with a StaleElementReferenceException is the element located again and the call repeated once. A stale
+ * element rejects the call before acting on it, so repeating a click or sendKeys does not perform it twice.
+ * {@code getWrappedElement} returns the cached element as it is, without checking it; code that waits for
+ * staleness therefore waits on the unwrapped element (see {@link WaitUtility#waitForElementToBeStale}).
+ * </p>
+ */
+final class StaleRetryingElementHandler implements InvocationHandler {
+
+    private final CachingElementLocator locator;
+
+    StaleRetryingElementHandler(CachingElementLocator locator) {
+        this.locator = locator;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        // Unlike Selenium's LocatingElementHandler, which locates the element before dispatching any method
+        // (toString included), identity and description are answered here without a lookup, so describing a
+        // proxy (e.g. in a wait's condition or timeout message) cannot block, fail or leak session ids.
+        switch (method.getName()) {
+            case "toString":
+                if (method.getParameterCount() == 0) {
+                    return "Proxy element for: " + locator;
+                }
+                break;
+            case "equals":
+                if (method.getParameterCount() == 1) {
+                    return proxy == args[0];
+                }
+                break;
+            case "hashCode":
+                if (method.getParameterCount() == 0) {
+                    return System.identityHashCode(proxy);
+                }
+                break;
+            case "getWrappedElement":
+                return locator.findElement();
+            default:
+                break;
+        }
+        boolean fromCache = locator.isCached();
+        WebElement element = locator.findElement();
+        try {
+            return method.invoke(element, args);
+        } catch (InvocationTargetException e) {
+            if (!fromCache || !(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+        locator.invalidate();
+        try {
+            return method.invoke(locator.findElement(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
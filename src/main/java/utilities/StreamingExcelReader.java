@@ -0,0 +1,408 @@
+package utilities;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * StreamingExcelReader reads .xlsx sheets row by row without building a workbook in memory.
+ * <p>
+ * The sheet XML is pulled with StAX straight from the zip package, so memory use does not grow with the number
+ * of rows: only the current row, the shared strings table and the cell styles are held. Cell values are typed as
+ * with {@link ExcelUtility}: String, Double, Boolean or Date, and "" for blank or error cells. Formula cells yield
+ * the result cached in the file; they are not evaluated.
+ * </p>
+ * <p>
+ * The returned streams hold the file open until closed, so use them in a try-with-resources block.
+ * </p>
+ */
+public final class StreamingExcelReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExcelReader.class);
+
+    private StreamingExcelReader() {
+        // Utility class
+    }
+
+    /**
+     * Streams the rows of a sheet, header row included. Rows that are missing from the file are skipped;
+     * missing cells before the last cell of a row are "".
+     *
+     * @param filePath  The path to the .xlsx file.
+     * @param sheetName The name of the sheet.
+     * @return The rows as lists of typed cell values.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the sheet does not exist.
+     */
+    public static Stream<List<Object>> readRows(String filePath, String sheetName) throws IOException {
+        RowIterator rows = RowIterator.open(filePath, sheetName);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Streams the data rows of a sheet as maps keyed by the header row, skipping rows whose cells are all blank.
+     * Values are formatted like {@link ExcelUtility#getData(String, String)}: numbers keep their decimals and
+     * dates are written as yyyy-MM-dd.
+     *
+     * @param filePath  The path to the .xlsx file.
+     * @param sheetName The name of the sheet.
+     * @return The data rows, in sheet order.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the sheet does not exist.
+     */
+    public static Stream<Map<String, String>> readRecords(String filePath, String sheetName) throws IOException {
+        return toRecords(readRows(filePath, sheetName));
+    }
+
+    /**
+     * Turns a stream of rows, header row first, into header-keyed records as {@link #readRecords(String, String)}
+     * returns them. Closing the records closes the rows.
+     *
+     * @param rows The rows of a sheet.
+     * @return The data rows, in sheet order.
+     */
+    static Stream<Map<String, String>> toRecords(Stream<List<Object>> rows) {
+        Iterator<List<Object>> iterator = rows.iterator();
+        if (!iterator.hasNext()) {
+            return Stream.<Map<String, String>>empty().onClose(rows::close);
+        }
+        List<String> headers = new ArrayList<>();
+        for (Object header : iterator.next()) {
+            headers.add(toText(header));
+        }
+        Iterator<Map<String, String>> records = new Iterator<Map<String, String>>() {
+            private Map<String, String> next = advance();
+
+            private Map<String, String> advance() {
+                while (iterator.hasNext()) {
+                    List<Object> row = iterator.next();
+                    if (isBlank(row)) {
+                        continue;
+                    }
+                    Map<String, String> record = new LinkedHashMap<>();
+                    for (int i = 0; i < headers.size(); i++) {
+                        record.put(headers.get(i), i < row.size() ? toText(row.get(i)) : "");
+                    }
+                    return record;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> current = next;
+                next = advance();
+                return current;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Streams the data rows of a sheet as typed records.
+     *
+     * @param filePath  The path to the .xlsx file.
+     * @param sheetName The name of the sheet.
+     * @param mapper    Converts a header-keyed row into a record.
+     * @param <T>       The record type.
+     * @return The records, in sheet order.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the sheet does not exist.
+     */
+    public static <T> Stream<T> readRecords(String filePath, String sheetName, Function<Map<String, String>, T> mapper) throws IOException {
+        return readRecords(filePath, sheetName).map(mapper);
+    }
+
+    /**
+     * Formats a cell value the way {@link ExcelUtility#getData(String, String)} does.
+     *
+     * @param value A typed cell value.
+     * @return The value as text.
+     */
+    static String toText(Object value) {
+        if (value instanceof Date) {
+            return new SimpleDateFormat("yyyy-MM-dd").format((Date) value);
+        }
+        return value == null ? "" : value.toString();
+    }
+
+    static boolean isBlank(List<Object> row) {
+        for (Object value : row) {
+            if (value != null && !"".equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pulls rows from the sheet XML on demand.
+     */
+    private static final class RowIterator implements Iterator<List<Object>>, Closeable {
+
+        private final OPCPackage pkg;
+        private final InputStream sheetStream;
+        private final XMLStreamReader xml;
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+        private List<Object> next;
+
+        private RowIterator(OPCPackage pkg, InputStream sheetStream, ReadOnlySharedStringsTable sharedStrings, StylesTable styles)
+                throws XMLStreamException {
+            this.pkg = pkg;
+            this.sheetStream = sheetStream;
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+            this.next = readNextRow();
+        }
+
+        static RowIterator open(String filePath, String sheetName) throws IOException {
+            File file = new File(filePath);
+            if (!file.exists()) {
+                throw new FileNotFoundException("File not found: " + filePath);
+            }
+            OPCPackage pkg = null;
+            InputStream sheetStream = null;
+            try {
+                pkg = OPCPackage.open(file, PackageAccess.READ);
+                XSSFReader reader = new XSSFReader(pkg);
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext()) {
+                    InputStream candidate = sheets.next();
+                    if (sheetName.equals(sheets.getSheetName())) {
+                        sheetStream = candidate;
+                        break;
+                    }
+                    candidate.close();
+                }
+                if (sheetStream == null) {
+                    throw new IllegalArgumentException("Sheet not found: " + sheetName);
+                }
+                RowIterator rows = new RowIterator(pkg, sheetStream, new ReadOnlySharedStringsTable(pkg), reader.getStylesTable());
+                logger.debug("Streaming sheet '{}' from '{}'.", sheetName, filePath);
+                return rows;
+            } catch (OpenXML4JException | XMLStreamException | SAXException e) {
+                closeQuietly(sheetStream, pkg);
+                throw new IOException("Unable to read sheet '" + sheetName + "' from '" + filePath + "': " + e.getMessage(), e);
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(sheetStream, pkg);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public List<Object> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<Object> current = next;
+            try {
+                next = readNextRow();
+            } catch (XMLStreamException e) {
+                throw new UncheckedIOException(new IOException("Malformed sheet XML: " + e.getMessage(), e));
+            }
+            return current;
+        }
+
+        @Override
+        public void close() {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                logger.debug("Error closing sheet reader: {}", e.getMessage());
+            }
+            closeQuietly(sheetStream, pkg);
+        }
+
+        private List<Object> readNextRow() throws XMLStreamException {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        }
+
+        private List<Object> readRow() throws XMLStreamException {
+            List<Object> cells = new ArrayList<>();
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                    String reference = xml.getAttributeValue(null, "r");
+                    int column = reference != null ? columnIndex(reference) : cells.size();
+                    String type = xml.getAttributeValue(null, "t");
+                    String style = xml.getAttributeValue(null, "s");
+                    Object value = readCell(type, style);
+                    while (cells.size() < column) {
+                        cells.add("");
+                    }
+                    cells.add(value);
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            return cells;
+        }
+
+        private Object readCell(String type, String style) throws XMLStreamException {
+            String value = null;
+            StringBuilder inlineText = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("v".equals(name)) {
+                        value = xml.getElementText();
+                    } else if ("t".equals(name)) {
+                        if (inlineText == null) {
+                            inlineText = new StringBuilder();
+                        }
+                        inlineText.append(xml.getElementText());
+                    } else if ("f".equals(name)) {
+                        xml.getElementText();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            if (type == null) {
+                type = "n";
+            }
+            switch (type) {
+                case "s":
+                    return value == null ? "" : sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+                case "inlineStr":
+                    return inlineText == null ? "" : inlineText.toString();
+                case "str":
+                    return value == null ? "" : value;
+                case "b":
+                    return value == null ? "" : (Object) "1".equals(value.trim());
+                case "e":
+                    return "";
+                case "d":
+                    return value == null || value.isEmpty() ? "" : parseIsoDate(value.trim());
+                case "n":
+                default:
+                    if (value == null || value.isEmpty()) {
+                        return "";
+                    }
+                    double number = Double.parseDouble(value);
+                    if (style != null && isDateStyle(Integer.parseInt(style))) {
+                        return DateUtil.getJavaDate(number);
+                    }
+                    return number;
+            }
+        }
+
+        /**
+         * Converts an ISO-8601 date cell ({@code t="d"}, written by strict OOXML and some exporters) to the same
+         * Date a numeric date cell is read as. Values that cannot be parsed are returned as text.
+         */
+        private static Object parseIsoDate(String value) {
+            try {
+                if (value.indexOf('T') < 0) {
+                    return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+                }
+                TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(value,
+                        OffsetDateTime::from, LocalDateTime::from);
+                if (parsed instanceof OffsetDateTime) {
+                    return Date.from(((OffsetDateTime) parsed).toInstant());
+                }
+                return Date.from(((LocalDateTime) parsed).atZone(ZoneId.systemDefault()).toInstant());
+            } catch (DateTimeParseException e) {
+                return value;
+            }
+        }
+
+        private boolean isDateStyle(int styleIndex) {
+            return dateStyles.computeIfAbsent(styleIndex, index -> {
+                XSSFCellStyle cellStyle = styles.getStyleAt(index);
+                return cellStyle != null && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+            });
+        }
+
+        private static int columnIndex(String reference) {
+            int column = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char ch = reference.charAt(i);
+                if (ch < 'A' || ch > 'Z') {
+                    break;
+                }
+                column = column * 26 + (ch - 'A' + 1);
+            }
+            return column - 1;
+        }
+
+        private static void closeQuietly(InputStream stream, OPCPackage pkg) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException e) {
+                logger.debug("Error closing sheet stream: {}", e.getMessage());
+            }
+            if (pkg != null) {
+                // Read-only packages are released without writing anything back.
+                pkg.revert();
+            }
+        }
+    }
+}
@@ -2,11 +2,11 @@ package utilities;
 
 
 import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
@@ -20,14 +20,18 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import config.ConfigReader;
 import config.DriverManager;
+import config.TestEnvironment;
 import reporting.Log4jManager;
+import reporting.ScreenshotPipeline;
 
 /**
  * WaitUtility provides advanced waiting mechanisms for Selenium WebDriver.
@@ -38,28 +42,77 @@ public class WaitUtility {
 
     private WebDriver driver;
     private WebDriverWait defaultWait;
+    private ObserverWait observerWait;
     private static final int DEFAULT_TIMEOUT = 100; // seconds
     private static final int DEFAULT_POLLING_INTERVAL = 1; // milliseconds
 
+    static {
+        // Polling settings are cached in the PollingPolicy; rebuild it when they are reloaded.
+        // wait.engine and the sleep settings are read per WaitUtility instance or call and need no action.
+        ConfigReader.getInstance().addChangeListener((changedKeys, snapshot) -> {
+            if (changedKeys.stream().anyMatch(key -> key.startsWith("wait.polling."))) {
+                PollingPolicy.reset();
+                Log4jManager.info("Wait polling settings changed: {}", changedKeys);
+            }
+        });
+    }
+
     /**
      * Constructor initializes WebDriver and default WebDriverWait instances.
+     * When wait.engine=observer, element waits block on an in-page DOM observer instead of polling.
      */
     public WaitUtility() {
         this.driver = DriverManager.getDriver();
-        this.defaultWait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
+        this.defaultWait = new PollingWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
         this.defaultWait.pollingEvery(Duration.ofMillis(DEFAULT_POLLING_INTERVAL));
         this.defaultWait.ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
+        if ("observer".equalsIgnoreCase(TestEnvironment.getWaitEngine())) {
+            this.observerWait = new ObserverWait(driver);
+        }
+    }
+
+    /**
+     * Waits for a condition using the DOM observer when it is enabled and able to evaluate the condition,
+     * falling back to polling the given ExpectedCondition for whatever time is left otherwise.
+     *
+     * @param observed       Builds the in-page condition, or returns null if it has no observer equivalent. Only called
+     *                       when the observer engine is enabled, as building it may resolve a PageFactory proxy.
+     * @param polled         The equivalent polling condition; evaluated once to confirm an observed result.
+     * @param timeoutSeconds The maximum time to wait in seconds.
+     * @return The value produced by the polling condition.
+     */
+    private <T> T until(Supplier<ObserverWait.Condition> observedCondition, ExpectedCondition<T> polled, int timeoutSeconds) {
+        WebDriverWait wait = timeoutSeconds == DEFAULT_TIMEOUT ? defaultWait : createCustomWait(timeoutSeconds, DEFAULT_POLLING_INTERVAL);
+        if (observerWait == null) {
+            return wait.until(polled);
+        }
+        ObserverWait.Condition observed = observedCondition.get();
+        if (observed == null) {
+            return wait.until(polled);
+        }
+        long start = System.nanoTime();
+        Boolean met = observerWait.await(observed, Duration.ofSeconds(timeoutSeconds));
+        if (Boolean.TRUE.equals(met)) {
+            return wait.until(polled);
+        }
+        if (Boolean.FALSE.equals(met)) {
+            throw new TimeoutException("Expected condition failed: waiting for " + observed
+                    + " (observed for " + timeoutSeconds + " second(s))");
+        }
+        long remaining = timeoutSeconds - Duration.ofNanos(System.nanoTime() - start).getSeconds();
+        return createCustomWait((int) Math.max(1, remaining), DEFAULT_POLLING_INTERVAL).until(polled);
     }
 
     /**
      * Creates a custom WebDriverWait with specified timeout and polling interval.
+     * The delay between polls follows the configured {@link PollingPolicy}.
      *
      * @param timeoutSeconds    The maximum time to wait in seconds.
      * @param pollingIntervalMs The polling interval in milliseconds.
      * @return A configured WebDriverWait instance.
      */
     public WebDriverWait createCustomWait(int timeoutSeconds, int pollingIntervalMs) {
-        return (WebDriverWait) new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds))
+        return (WebDriverWait) new PollingWait(driver, Duration.ofSeconds(timeoutSeconds))
                 .pollingEvery(Duration.ofMillis(pollingIntervalMs))
                 .ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
     }
@@ -73,7 +126,7 @@ public class WaitUtility {
     public WebElement waitForElementToBeClickable(WebElement element) {
         try {
             WebElement clickableElement = defaultWait.until(ExpectedConditions.elementToBeClickable(element));
-            Log4jManager.info("Element is clickable: " + getElementDescription(element));
+            Log4jManager.info("Element is clickable: {}", ElementDescriber.lazy(driver, element));
             return clickableElement;
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be clickable: " + getElementDescription(element));
@@ -103,10 +156,15 @@ public class WaitUtility {
         }
     }
 
-    // Add small pause after scrolling
+    /**
+     * Pauses for a fixed time. Every call is recorded by {@link SleepAuditor}; with wait.sleep.mode=stable
+     * the pause ends early once the page is stable.
+     *
+     * @param milliseconds The maximum time to pause in milliseconds.
+     */
     public static void wait(int milliseconds) {
         try {
-            Thread.sleep(milliseconds);
+            SleepAuditor.sleep(milliseconds);
         } catch (InterruptedException e) {
             Log4jManager.error("Error waiting for " + milliseconds + " milliseconds. Error: " + e.getMessage());
         }
@@ -121,8 +179,8 @@ public class WaitUtility {
      */
     public WebElement waitForElementToBeVisible(WebElement element) {
         try {
-            WebElement visibleElement = defaultWait.until(ExpectedConditions.visibilityOf(element));
-            Log4jManager.info("Element is visible: " + getElementDescription(element));
+            WebElement visibleElement = until(() -> ObserverWait.visibilityOf(element), ExpectedConditions.visibilityOf(element), DEFAULT_TIMEOUT);
+            Log4jManager.info("Element is visible: {}", ElementDescriber.lazy(driver, element));
             return visibleElement;
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be visible: " + getElementDescription(element));
@@ -187,8 +245,8 @@ public class WaitUtility {
      */
     public void waitForTextToBePresentInElement(WebElement element, String text) {
         try {
-            defaultWait.until(ExpectedConditions.textToBePresentInElement(element, text));
-            Log4jManager.info("Text '" + text + "' is present in element: " + getElementDescription(element));
+            until(() -> ObserverWait.textToBePresentInElement(element, text), ExpectedConditions.textToBePresentInElement(element, text), DEFAULT_TIMEOUT);
+            Log4jManager.info("Text '{}' is present in element: {}", text, ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for text '" + text + "' to be present in element: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForTextToBePresentInElement_timeout.png");
@@ -209,9 +267,8 @@ public class WaitUtility {
      */
     public void waitForAttributeToBe(WebElement element, String attribute, String expectedValue) {
         try {
-            defaultWait.until(ExpectedConditions.attributeToBe(element, attribute, expectedValue));
-            Log4jManager.info("Attribute '" + attribute + "' of element: " + getElementDescription(element) +
-                    " is now '" + expectedValue + "'.");
+            until(() -> ObserverWait.attributeToBe(element, attribute, expectedValue), ExpectedConditions.attributeToBe(element, attribute, expectedValue), DEFAULT_TIMEOUT);
+            Log4jManager.info("Attribute '{}' of element: {} is now '{}'.", attribute, ElementDescriber.lazy(driver, element), expectedValue);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for attribute '" + attribute + "' to be '" + expectedValue +
                     "' in element: " + getElementDescription(element));
@@ -234,9 +291,8 @@ public class WaitUtility {
      */
     public void waitForCssPropertyToBe(WebElement element, String cssProperty, String expectedValue) {
         try {
-            defaultWait.until(ExpectedConditions.attributeToBe(element, cssProperty, expectedValue));
-            Log4jManager.info("CSS property '" + cssProperty + "' of element: " + getElementDescription(element) +
-                    " is now '" + expectedValue + "'.");
+            until(() -> ObserverWait.attributeToBe(element, cssProperty, expectedValue), ExpectedConditions.attributeToBe(element, cssProperty, expectedValue), DEFAULT_TIMEOUT);
+            Log4jManager.info("CSS property '{}' of element: {} is now '{}'.", cssProperty, ElementDescriber.lazy(driver, element), expectedValue);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for CSS property '" + cssProperty + "' to be '" + expectedValue +
                     "' in element: " + getElementDescription(element));
@@ -321,8 +377,8 @@ public class WaitUtility {
      */
     public void waitForElementToBeInvisible(WebElement element) {
         try {
-            defaultWait.until(ExpectedConditions.invisibilityOf(element));
-            Log4jManager.info("Element is now invisible: " + getElementDescription(element));
+            until(() -> ObserverWait.invisibilityOf(element), ExpectedConditions.invisibilityOf(element), DEFAULT_TIMEOUT);
+            Log4jManager.info("Element is now invisible: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be invisible: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeInvisible_timeout.png");
@@ -382,8 +438,8 @@ public class WaitUtility {
      */
     public void waitForElementTextToBe(WebElement element, String text) {
         try {
-            defaultWait.until(ExpectedConditions.textToBePresentInElement(element, text));
-            Log4jManager.info("Element text is now: '" + text + "' for element: " + getElementDescription(element));
+            until(() -> ObserverWait.textToBePresentInElement(element, text), ExpectedConditions.textToBePresentInElement(element, text), DEFAULT_TIMEOUT);
+            Log4jManager.info("Element text is now: '{}' for element: {}", text, ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element text to be: '" + text + "' for element: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementTextToBe_timeout.png");
@@ -404,9 +460,8 @@ public class WaitUtility {
      */
     public void waitForAttributeToContain(WebElement element, String attribute, String substring) {
         try {
-            defaultWait.until(ExpectedConditions.attributeContains(element, attribute, substring));
-            Log4jManager.info("Attribute '" + attribute + "' of element: " + getElementDescription(element) +
-                    " contains substring: '" + substring + "'.");
+            until(() -> ObserverWait.attributeContains(element, attribute, substring), ExpectedConditions.attributeContains(element, attribute, substring), DEFAULT_TIMEOUT);
+            Log4jManager.info("Attribute '{}' of element: {} contains substring: '{}'.", attribute, ElementDescriber.lazy(driver, element), substring);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for attribute '" + attribute + "' to contain substring: '" + substring +
                     "' in element: " + getElementDescription(element));
@@ -431,7 +486,7 @@ public class WaitUtility {
             List<WebElement> clickableElements = new ArrayList<>();
             for (WebElement element : elements) {
                 clickableElements.add(defaultWait.until(ExpectedConditions.elementToBeClickable(element)));
-                Log4jManager.info("Element is clickable: " + getElementDescription(element));
+                Log4jManager.info("Element is clickable: {}", ElementDescriber.lazy(driver, element));
             }
             return clickableElements;
         } catch (TimeoutException e) {
@@ -473,8 +528,7 @@ public class WaitUtility {
                 String actualValue = element.getCssValue(cssProperty);
                 return actualValue.equals(expectedValue);
             });
-            Log4jManager.info("CSS property '" + cssProperty + "' of element: " + getElementDescription(element) +
-                    " is now '" + expectedValue + "'.");
+            Log4jManager.info("CSS property '{}' of element: {} is now '{}'.", cssProperty, ElementDescriber.lazy(driver, element), expectedValue);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for CSS property '" + cssProperty + "' to be '" + expectedValue +
                     "' in element: " + getElementDescription(element));
@@ -516,7 +570,7 @@ public class WaitUtility {
     public void waitForElementToBeSelected(WebElement element) {
         try {
             defaultWait.until(ExpectedConditions.elementToBeSelected(element));
-            Log4jManager.info("Element is selected: " + getElementDescription(element));
+            Log4jManager.info("Element is selected: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be selected: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeSelected_timeout.png");
@@ -537,7 +591,7 @@ public class WaitUtility {
     public void waitForElementToBeDeselected(WebElement element) {
         try {
             defaultWait.until(ExpectedConditions.not(ExpectedConditions.elementToBeSelected(element)));
-            Log4jManager.info("Element is deselected: " + getElementDescription(element));
+            Log4jManager.info("Element is deselected: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be deselected: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeDeselected_timeout.png");
@@ -582,8 +636,7 @@ public class WaitUtility {
      */
     public void waitForElementToBeInvisible(By locator, int timeoutSeconds) {
         try {
-            WebDriverWait customWait = createCustomWait(timeoutSeconds, DEFAULT_POLLING_INTERVAL);
-            customWait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            until(() -> ObserverWait.invisibilityOfElementLocated(locator), ExpectedConditions.invisibilityOfElementLocated(locator), timeoutSeconds);
             Log4jManager.info("Element located by " + locator.toString() + " is now invisible.");
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be invisible: " + locator.toString());
@@ -609,8 +662,7 @@ public class WaitUtility {
                 String actualValue = (String) ((JavascriptExecutor) driver).executeScript("return arguments[0]." + property, element);
                 return actualValue.equals(value);
             });
-            Log4jManager.info("Property '" + property + "' of element: " + getElementDescription(element) +
-                    " is now '" + value + "'.");
+            Log4jManager.info("Property '{}' of element: {} is now '{}'.", property, ElementDescriber.lazy(driver, element), value);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for property '" + property + "' to be '" + value +
                     "' in element: " + getElementDescription(element));
@@ -644,6 +696,34 @@ public class WaitUtility {
         }
     }
 
+    /**
+     * Waits until no fetch/XHR request has started or finished for {@code quietMillis} and at most
+     * {@code maxInflight} requests are still pending, as observed through Chrome DevTools.
+     * Browsers without DevTools fall back to {@link #waitForPageLoad()}.
+     *
+     * @param quietMillis Required quiet period in milliseconds.
+     * @param maxInflight Number of long-lived requests (polling, streaming) that may stay open.
+     */
+    public void waitForNetworkIdle(long quietMillis, int maxInflight) {
+        NetworkTracker tracker = TestEnvironment.isNetworkTrackingEnabled() ? NetworkTracker.attach(driver) : null;
+        if (tracker == null) {
+            waitForPageLoad();
+            return;
+        }
+        try {
+            tracker.awaitIdle(quietMillis, maxInflight, Duration.ofSeconds(DEFAULT_TIMEOUT));
+            Log4jManager.info("Network idle for " + quietMillis + " ms with " + tracker.getInflightCount() + " request(s) in flight.");
+        } catch (TimeoutException e) {
+            Log4jManager.error("Timeout waiting for network idle. " + e.getMessage());
+            takeScreenshot("screenshots/waitForNetworkIdle_timeout.png");
+            throw e;
+        } catch (Exception e) {
+            Log4jManager.error("Error waiting for network idle. Error: " + e.getMessage());
+            takeScreenshot("screenshots/waitForNetworkIdle_error.png");
+            throw e;
+        }
+    }
+
     /**
      * Waits for a specific number of elements to be present in the DOM using a custom condition.
      *
@@ -652,7 +732,7 @@ public class WaitUtility {
      */
     public void waitForNumberOfElementsToBe(By locator, int expectedCount) {
         try {
-            defaultWait.until(ExpectedConditions.numberOfElementsToBe(locator, expectedCount));
+            until(() -> ObserverWait.numberOfElementsToBe(locator, expectedCount), ExpectedConditions.numberOfElementsToBe(locator, expectedCount), DEFAULT_TIMEOUT);
             Log4jManager.info("Number of elements located by " + locator.toString() + " is now: " + expectedCount);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for number of elements to be: " + expectedCount + " for locator: " + locator.toString());
@@ -666,6 +746,30 @@ public class WaitUtility {
         }
     }
 
+    /**
+     * Waits for a select element to contain an option with the given visible text, e.g. once a dropdown's
+     * options have been loaded by an XHR. Matches the text the same way as {@link Select#selectByVisibleText(String)}.
+     *
+     * @param select The select element.
+     * @param text   The visible text of the option.
+     */
+    public void waitForOptionToBePresent(WebElement select, String text) {
+        By option = By.xpath(".//option[normalize-space(.) = " + ObserverWait.xpathLiteral(text.trim()) + "]");
+        try {
+            until(() -> null, ExpectedConditions.presenceOfNestedElementLocatedBy(select, option), DEFAULT_TIMEOUT);
+            Log4jManager.info("Option '{}' present in: {}", text, ElementDescriber.lazy(driver, select));
+        } catch (TimeoutException e) {
+            Log4jManager.error("Timeout waiting for option '" + text + "' in: " + getElementDescription(select));
+            takeScreenshot("screenshots/waitForOptionToBePresent_timeout.png");
+            throw e;
+        } catch (Exception e) {
+            Log4jManager.error("Error waiting for option '" + text + "' in: " + getElementDescription(select) +
+                    ". Error: " + e.getMessage());
+            takeScreenshot("screenshots/waitForOptionToBePresent_error.png");
+            throw e;
+        }
+    }
+
     /**
      * Waits for a specific element to contain a given CSS class using a custom condition.
      *
@@ -674,8 +778,8 @@ public class WaitUtility {
      */
     public void waitForElementToContainClass(WebElement element, String className) {
         try {
-            defaultWait.until(driver -> element.getAttribute("class").contains(className));
-            Log4jManager.info("Element: " + getElementDescription(element) + " now contains class: '" + className + "'.");
+            until(() -> ObserverWait.classContains(element, className), driver -> element.getAttribute("class").contains(className), DEFAULT_TIMEOUT);
+            Log4jManager.info("Element: {} now contains class: '{}'.", ElementDescriber.lazy(driver, element), className);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to contain class: '" + className + "' for element: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToContainClass_timeout.png");
@@ -709,6 +813,9 @@ public class WaitUtility {
     }
 
     public void highlightElements(WebElement element) {
+        if (!TestEnvironment.isHighlightEnabled()) {
+            return;
+        }
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].setAttribute('style', 'border: 2px solid red;');", element);
     }
@@ -743,8 +850,7 @@ public class WaitUtility {
     public void waitForCssValue(WebElement element, String cssProperty, String value) {
         try {
             defaultWait.until(driver -> element.getCssValue(cssProperty).equals(value));
-            Log4jManager.info("CSS property '" + cssProperty + "' of element: " + getElementDescription(element) +
-                    " is now '" + value + "'.");
+            Log4jManager.info("CSS property '{}' of element: {} is now '{}'.", cssProperty, ElementDescriber.lazy(driver, element), value);
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for CSS property '" + cssProperty + "' to be '" + value +
                     "' in element: " + getElementDescription(element));
@@ -765,8 +871,11 @@ public class WaitUtility {
      */
     public void waitForElementToBeStale(WebElement element) {
         try {
-            defaultWait.until(ExpectedConditions.stalenessOf(element));
-            Log4jManager.info("Element is now stale: " + getElementDescription(element));
+            // A page object proxy locates its element again when it goes stale, so it would never report
+            // staleness; wait on the element it points to now instead.
+            WebElement current = element instanceof WrapsElement ? ((WrapsElement) element).getWrappedElement() : element;
+            defaultWait.until(ExpectedConditions.stalenessOf(current));
+            Log4jManager.info("Element is now stale: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to become stale: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeStale_timeout.png");
@@ -788,7 +897,7 @@ public class WaitUtility {
     public WebElement waitForElementBasedOnCondition(Function<WebDriver, WebElement> condition) {
         try {
             WebElement element = defaultWait.until(condition);
-            Log4jManager.info("Custom condition met for element: " + getElementDescription(element));
+            Log4jManager.info("Custom condition met for element: {}", ElementDescriber.lazy(driver, element));
             return element;
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for custom condition.");
@@ -802,24 +911,53 @@ public class WaitUtility {
     }
 
     /**
-     * Takes a screenshot of the current browser window and saves it to the specified path.
+     * Waits until all the given conditions hold at the same time. The conditions may target different
+     * elements; they are evaluated together in one JavaScript call per poll (or observed in the page when
+     * wait.engine=observer) instead of one wait per condition.
      *
-     * @param filePath The path where the screenshot will be saved.
+     * @param conditions The conditions, built with the factory methods of {@link ObserverWait}.
      */
-    private void takeScreenshot(String filePath) {
+    public void waitForAll(ObserverWait.Condition... conditions) {
+        waitForComposite(ObserverWait.allOf(conditions), "waitForAll");
+    }
+
+    /**
+     * Waits until at least one of the given conditions holds, evaluating them together in one JavaScript
+     * call per poll.
+     *
+     * @param conditions The conditions, built with the factory methods of {@link ObserverWait}.
+     */
+    public void waitForAny(ObserverWait.Condition... conditions) {
+        waitForComposite(ObserverWait.anyOf(conditions), "waitForAny");
+    }
+
+    private void waitForComposite(ObserverWait.Condition composite, String screenshotPrefix) {
         try {
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
-            File destination = new File(filePath);
-            org.openqa.selenium.io.FileHandler.copy(source, destination);
-            Log4jManager.info("Screenshot taken and saved to: " + filePath);
-        } catch (IOException e) {
-            Log4jManager.error("Failed to take screenshot. Error: " + e.getMessage());
-            // Depending on your framework's design, you might want to throw a runtime exception here.
-            throw new RuntimeException("Failed to take screenshot", e);
+            until(composite, drv -> ObserverWait.evaluate(drv, composite), DEFAULT_TIMEOUT);
+            Log4jManager.info("Composite condition met: " + composite);
+        } catch (TimeoutException e) {
+            Log4jManager.error("Timeout waiting for composite condition: " + composite);
+            takeScreenshot("screenshots/" + screenshotPrefix + "_timeout.png");
+            throw e;
+        } catch (Exception e) {
+            Log4jManager.error("Error waiting for composite condition: " + composite + ". Error: " + e.getMessage());
+            takeScreenshot("screenshots/" + screenshotPrefix + "_error.png");
+            throw e;
         }
     }
 
+    /**
+     * Takes a screenshot of the current browser window and saves it to the specified path.
+     *
+     * @param filePath The path where the screenshot will be saved; the extension follows screenshot.format.
+     */
+    private void takeScreenshot(String filePath) {
+        // Encoding and writing happen in the background; the test thread only waits for the capture.
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        ScreenshotPipeline.save(screenshot, filePath);
+        Log4jManager.info("Screenshot taken; saving to: " + ScreenshotPipeline.pathFor(filePath));
+    }
+
     /**
      * Retrieves a description of the WebElement for logging purposes.
      *
@@ -827,33 +965,13 @@ public class WaitUtility {
      * @return A string description of the WebElement.
      */
     private String getElementDescription(WebElement element) {
-        try {
-            StringBuilder description = new StringBuilder();
-            description.append("Tag: ").append(element.getTagName());
-            String id = element.getAttribute("id");
-            if (id != null && !id.isEmpty()) {
-                description.append(", ID: ").append(id);
-            }
-            String className = element.getAttribute("class");
-            if (className != null && !className.isEmpty()) {
-                description.append(", Class: ").append(className);
-            }
-            String text = element.getText();
-            if (text != null && !text.isEmpty()) {
-                description.append(", Text: '").append(text).append("'");
-            }
-            return description.toString();
-        } catch (StaleElementReferenceException e) {
-            return "Stale element reference.";
-        } catch (Exception e) {
-            return "Unable to describe element.";
-        }
+        return ElementDescriber.describe(driver, element);
     }
 
     public void waitForPresenceOfElementLocated(WebElement element) {
         try {
-            defaultWait.until(ExpectedConditions.visibilityOf(element));
-            Log4jManager.info("Element is visible: " + getElementDescription(element));
+            until(() -> ObserverWait.visibilityOf(element), ExpectedConditions.visibilityOf(element), DEFAULT_TIMEOUT);
+            Log4jManager.info("Element is visible: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element to be visible: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementToBeVisible_timeout.png");
@@ -895,7 +1013,7 @@ public class WaitUtility {
     public void waitForFrameAndSwitchToIt(WebElement frameElement) {
         try {
             defaultWait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(frameElement));
-            Log4jManager.info("Switched to frame: " + getElementDescription(frameElement));
+            Log4jManager.info("Switched to frame: {}", ElementDescriber.lazy(driver, frameElement));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for frame: " + getElementDescription(frameElement));
             takeScreenshot("screenshots/waitForFrameAndSwitchToIt_timeout.png");
@@ -930,7 +1048,7 @@ public class WaitUtility {
                 previousPosition[0] = currentPosition;
                 return stabilized;
             });
-            Log4jManager.info("Element position stabilized: " + getElementDescription(element));
+            Log4jManager.info("Element position stabilized: {}", ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element position to stabilize: " + getElementDescription(element));
             takeScreenshot("screenshots/waitForElementPositionToStabilize_timeout.png");
@@ -1020,6 +1138,7 @@ public class WaitUtility {
 
     /**
      * Creates a fluent wait with customizable parameters.
+     * The delay between polls follows the configured {@link PollingPolicy}.
      *
      * @param timeoutSeconds    Maximum wait time.
      * @param pollingIntervalMs Polling interval.
@@ -1027,8 +1146,7 @@ public class WaitUtility {
      * @return Configured FluentWait instance.
      */
     public FluentWait<WebDriver> createFluentWait(int timeoutSeconds, int pollingIntervalMs, Class<? extends Throwable>... ignoredExceptions) {
-        return new FluentWait<>(driver)
-                .withTimeout(Duration.ofSeconds(timeoutSeconds))
+        return PollingWait.fluent(driver, Duration.ofSeconds(timeoutSeconds))
                 .pollingEvery(Duration.ofMillis(pollingIntervalMs))
                 .ignoreAll(List.of(ignoredExceptions));
     }
@@ -1064,7 +1182,7 @@ public class WaitUtility {
     public void waitForElementToBeEnabled(WebElement element, boolean enabled) {
         try {
             defaultWait.until(driver -> element.isEnabled() == enabled);
-            Log4jManager.info("Element enabled state: " + enabled + " for: " + getElementDescription(element));
+            Log4jManager.info("Element enabled state: {} for: {}", enabled, ElementDescriber.lazy(driver, element));
         } catch (TimeoutException e) {
             Log4jManager.error("Timeout waiting for element enabled state: " + enabled);
             takeScreenshot("screenshots/waitForElementEnabledState_timeout.png");
@@ -0,0 +1,169 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import config.TestEnvironment;
+
+/**
+ * WorkbookCache keeps parsed Excel sheets in memory for {@link ExcelUtility}'s cell and row accessors.
+ * <p>
+ * Entries are keyed by file path and sheet name and remember the modification time and size of the file they
+ * were parsed from; once the file changes, the next access parses it again. At most {@code excel.cache.size}
+ * sheets are kept, and the least recently used one is evicted first. Sheets of the same file version share one
+ * parsed workbook.
+ * </p>
+ * <p>
+ * POI workbooks are not thread-safe, so a cached sheet is only handed out inside {@link #withSheet}, which
+ * holds the lock of its workbook.
+ * </p>
+ */
+final class WorkbookCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkbookCache.class);
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > TestEnvironment.getExcelCacheSize();
+        }
+    };
+    private static final Map<Path, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private WorkbookCache() {
+        // Utility class
+    }
+
+    /**
+     * Applies a function to a cached sheet while holding its workbook's lock.
+     *
+     * @param filePath  The path to the Excel file.
+     * @param sheetName The name of the sheet.
+     * @param function  Reads from the sheet; receives null if the workbook has no such sheet.
+     * @param <T>       The result type.
+     * @return The function's result.
+     * @throws IOException            If the file cannot be read.
+     * @throws InvalidFormatException If the file is not an .xlsx or .xls workbook.
+     */
+    static <T> T withSheet(String filePath, String sheetName, Function<Sheet, T> function) throws IOException, InvalidFormatException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        String key = path + "\u0000" + sheetName;
+        Entry entry = lookup(key, attributes);
+        if (entry == null) {
+            synchronized (loadLocks.computeIfAbsent(path, p -> new Object())) {
+                entry = lookup(key, attributes);
+                if (entry == null) {
+                    entry = load(path, sheetName, key, attributes);
+                }
+            }
+        }
+        synchronized (entry.workbook) {
+            return function.apply(entry.sheet);
+        }
+    }
+
+    /**
+     * Drops every cached sheet of a file, e.g. after writing to it.
+     *
+     * @param filePath The path to the Excel file.
+     */
+    static void invalidate(String filePath) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.path.equals(path));
+        }
+    }
+
+    /**
+     * Drops all cached sheets.
+     */
+    static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static Entry lookup(String key, BasicFileAttributes attributes) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.isCurrent(attributes) ? entry : null;
+        }
+    }
+
+    private static Entry load(Path path, String sheetName, String key, BasicFileAttributes attributes) throws IOException, InvalidFormatException {
+        Workbook workbook = null;
+        synchronized (entries) {
+            for (Entry other : entries.values()) {
+                if (other.path.equals(path) && other.isCurrent(attributes)) {
+                    workbook = other.workbook;
+                    break;
+                }
+            }
+        }
+        if (workbook == null) {
+            long start = System.nanoTime();
+            workbook = parse(path);
+            logger.debug("Parsed workbook '{}' in {} ms.", path, (System.nanoTime() - start) / 1_000_000);
+        }
+        Sheet sheet;
+        synchronized (workbook) {
+            sheet = workbook.getSheet(sheetName);
+        }
+        // Evicted workbooks hold no file handle; they are left to the garbage collector.
+        Entry entry = new Entry(path, workbook, sheet, attributes);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static Workbook parse(Path path) throws IOException, InvalidFormatException {
+        String fileName = path.getFileName().toString().toLowerCase();
+        boolean xlsx = fileName.endsWith("xlsx");
+        if (!xlsx && !fileName.endsWith("xls")) {
+            logger.error("Unsupported file format for file '{}'. Only .xlsx and .xls are supported.", path);
+            throw new InvalidFormatException("Unsupported file format: " + path);
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return xlsx ? new XSSFWorkbook(in) : new HSSFWorkbook(in);
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final Workbook workbook;
+        private final Sheet sheet;
+        private final FileTime lastModified;
+        private final long size;
+
+        private Entry(Path path, Workbook workbook, Sheet sheet, BasicFileAttributes attributes) {
+            this.path = path;
+            this.workbook = workbook;
+            this.sheet = sheet;
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+        }
+
+        private boolean isCurrent(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+}
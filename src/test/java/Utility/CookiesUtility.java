@@ -1,11 +1,13 @@
 package Utility;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
 import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 public class CookiesUtility {
@@ -78,6 +80,24 @@ public class CookiesUtility {
     return Types;
     }
 
+    public Set<Cookie> getAllCookies(WebDriver driver) {
+        return driver.manage().getCookies();
+    }
+
+    // Cookies can only be added for the domain of the page currently open; expired ones are skipped.
+    public int addCookies(WebDriver driver, Collection<Cookie> cookies) {
+        Date now = new Date();
+        int added = 0;
+        for (Cookie c : cookies) {
+            if (c.getExpiry() != null && c.getExpiry().before(now)) {
+                continue;
+            }
+            driver.manage().addCookie(c);
+            added++;
+        }
+        return added;
+    }
+
 
 
 }
@@ -4,71 +4,43 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import utilities.SheetSnapshot;
+
 public class ExcelFileUtility {
 
-    // Method to handle different cell types
-    private static Object getCellValue(Cell cell) {
-    	  if (cell == null) {
-              return ""; // or handle it in a way that makes sense for your application
-          }
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue();
-                } else {
-                    return cell.getNumericCellValue();
-                }
-            case BOOLEAN:
-                return cell.getBooleanCellValue();
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
-        }
-    }
     public static Object[][] getExcelData(String filePath, String sheetName) {
         Object[][] data = null;
 
-        try (FileInputStream file = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(file)) {
-
-            Sheet sheet = workbook.getSheet(sheetName);
-            int rowCount = sheet.getPhysicalNumberOfRows();
-            int colCount = sheet.getRow(0).getPhysicalNumberOfCells();
-            data = new Object[rowCount - 1][colCount];
-
-            // Iterate through rows and columns
-            Iterator<Row> rowIterator = sheet.iterator();
-            rowIterator.next(); // Skip header row
+        try (Stream<List<Object>> sheet = SheetSnapshot.readRows(filePath, sheetName)) {
+            List<List<Object>> rows = sheet.collect(Collectors.toList());
+            int colCount = rows.get(0).size();
+            data = new Object[rows.size() - 1][colCount];
 
-            int rowIndex = 0;
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
+            // Skip header row
+            for (int rowIndex = 1; rowIndex < rows.size(); rowIndex++) {
+                List<Object> row = rows.get(rowIndex);
                 for (int colIndex = 0; colIndex < colCount; colIndex++) {
-                    Cell cell = row.getCell(colIndex);
-                    data[rowIndex][colIndex] = getCellValue(cell);
+                    data[rowIndex - 1][colIndex] = colIndex < row.size() ? row.get(colIndex) : "";
                 }
-                rowIndex++;
             }
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
         }
         return data;
@@ -1,18 +1,19 @@
 package Utility;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import utilities.SheetSnapshot;
+
 public class MyUtilite {
 	 public static  final  int page_Loading_Time=10;
 	    public static final int wait_Time =10;
@@ -35,19 +36,20 @@ public class MyUtilite {
 	        return "anumandlasreenu"+timestamp+"@gmail.com";
 	    }
 	    public static Object[][] getTestDataFromExcel(String sheetname) throws IOException {
-	        File f=new File(System.getProperty("user.dir")+"/src/main/java/testdata/testdata.xlsx");
-	        FileInputStream fi=new FileInputStream(f);
-	        XSSFWorkbook workbook=new XSSFWorkbook(fi);
-	        XSSFSheet XSSFSheet = workbook.getSheet(sheetname);
-	       XSSFRow xssfRow = XSSFSheet.getRow(0);
-	        int coloumn= xssfRow .getLastCellNum();
-	       int row= XSSFSheet.getLastRowNum();
-	       Object[][] data=new Object[row][coloumn];
-	       for(int i=0;i<row;i++){
-	           for(int j=0;j<coloumn;j++){
-	               data[i][j]=XSSFSheet.getRow(i+1).getCell(j).getStringCellValue();
-	           }
-	       }
-	       return data;
+	        String path=System.getProperty("user.dir")+"/src/main/java/testdata/testdata.xlsx";
+	        List<List<Object>> rows;
+	        try (Stream<List<Object>> sheet = SheetSnapshot.readRows(path, sheetname)) {
+	            rows = sheet.collect(Collectors.toList());
+	        }
+	        int coloumn= rows.get(0).size();
+	        int row= rows.size()-1;
+	        Object[][] data=new Object[row][coloumn];
+	        for(int i=0;i<row;i++){
+	            List<Object> cells=rows.get(i+1);
+	            for(int j=0;j<coloumn;j++){
+	                data[i][j]= j<cells.size() ? String.valueOf(cells.get(j)) : "";
+	            }
+	        }
+	        return data;
 	    }
 }
@@ -0,0 +1,335 @@
+package Utility;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import config.TestEnvironment;
+import io.cucumber.java.Scenario;
+import io.cucumber.testng.PickleWrapper;
+import reporting.Log4jManager;
+
+/**
+ * ScenarioScheduler orders the scenarios of each runner longest-first, using their durations from previous runs.
+ * <p>
+ * TestNG hands the rows of a parallel data provider to its worker threads in order, so starting the longest
+ * scenarios first (LPT) keeps a long scenario from starting last and stretching the run. Durations are recorded
+ * by {@link #scenarioStarted()} and {@link #scenarioFinished(Scenario)}, smoothed over runs and kept in
+ * {@code scheduler.history.file}; scenarios without history are estimated with the average of the known ones.
+ * </p>
+ * <p>
+ * Registered as a TestNG listener, it also sets the data provider thread count to {@code scheduler.workers}, or,
+ * when that is 0, to the number of browsers the machine can hold: one per core, limited by free memory at
+ * {@code scheduler.browser.memory.mb} per browser. The predicted and actual makespan of every runner are written
+ * to {@code scheduler.report.file} when the JVM exits.
+ * </p>
+ * <p>
+ * In a sharded run ({@code shard.count} above 1) each JVM keeps only the scenarios of its own shard, see
+ * {@link #shard(Object[][], long)}; every shard computes the same split, so each scenario runs exactly once.
+ * </p>
+ */
+public class ScenarioScheduler implements IAlterSuiteListener {
+
+    private static final long DEFAULT_ESTIMATE_MS = 60_000;
+    // Weight of the latest run in the smoothed duration.
+    private static final double SMOOTHING = 0.5;
+
+    private static final Map<String, Long> history = loadHistory();
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private static final Map<String, Batch> batchByScenario = new ConcurrentHashMap<>();
+    private static final List<Batch> batches = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Long> scenarioStart = new ThreadLocal<>();
+    private static volatile int workers;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScenarioScheduler::writeResults, "scenario-scheduler-report"));
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int count = getWorkerCount();
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(count);
+        }
+        Log4jManager.info("Running data provider scenarios on {} worker(s).", count);
+    }
+
+    /**
+     * Orders a runner's scenarios longest-first and predicts how long they will take on the configured workers.
+     * In a sharded run only the scenarios of this JVM's shard are returned.
+     *
+     * @param runner    The runner class, for the report.
+     * @param scenarios The rows of AbstractTestNGCucumberTests#scenarios().
+     * @return The rows to run, longest predicted duration first.
+     */
+    public static Object[][] schedule(Class<?> runner, Object[][] scenarios) {
+        if ((!TestEnvironment.isSchedulerEnabled() && !TestEnvironment.isSharded()) || scenarios.length == 0) {
+            return scenarios;
+        }
+        long estimate = estimateUnknown();
+        Object[][] ordered = scenarios.clone();
+        Arrays.sort(ordered, Comparator.comparingLong((Object[] row) -> predict(keyOf(row), estimate)).reversed());
+        if (TestEnvironment.isSharded()) {
+            ordered = shard(ordered, estimate);
+        }
+
+        Batch batch = new Batch(runner.getSimpleName(), ordered.length, getWorkerCount());
+        long[] durations = new long[ordered.length];
+        for (int i = 0; i < ordered.length; i++) {
+            String key = keyOf(ordered[i]);
+            durations[i] = predict(key, estimate);
+            batchByScenario.put(key, batch);
+        }
+        batch.predictedMs = makespan(durations, batch.workers);
+        batches.add(batch);
+        Log4jManager.info("Scheduled {} scenario(s) of {} longest-first on {} worker(s); predicted makespan {} ms.",
+                ordered.length, batch.runner, batch.workers, batch.predictedMs);
+        return ordered;
+    }
+
+    /**
+     * Keeps the rows of this JVM's shard. With shard.strategy=hash a scenario goes to the shard given by the hash
+     * of its key, so it stays there as scenarios are added or removed. With shard.strategy=duration the rows,
+     * longest first, are dealt to the shard with the least predicted work so far, which balances the shards.
+     */
+    private static Object[][] shard(Object[][] ordered, long estimate) {
+        int count = TestEnvironment.getShardCount();
+        int index = TestEnvironment.getShardIndex();
+        boolean byHash = "hash".equalsIgnoreCase(TestEnvironment.getShardStrategy());
+        long[] load = new long[count];
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : ordered) {
+            String key = keyOf(row);
+            int shard = 0;
+            if (byHash) {
+                shard = Math.floorMod(key.hashCode(), count);
+            } else {
+                for (int i = 1; i < count; i++) {
+                    if (load[i] < load[shard]) {
+                        shard = i;
+                    }
+                }
+                load[shard] += predict(key, estimate);
+            }
+            if (shard == index) {
+                kept.add(row);
+            }
+        }
+        return kept.toArray(new Object[0][]);
+    }
+
+    /**
+     * Marks the start of the current thread's scenario; call it first thing in the before-scenario hook.
+     */
+    public static void scenarioStarted() {
+        scenarioStart.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Records the duration of the current thread's scenario; call it last thing in the after-scenario hook.
+     *
+     * @param scenario The finished scenario.
+     */
+    public static void scenarioFinished(Scenario scenario) {
+        Long start = scenarioStart.get();
+        if (start == null) {
+            return;
+        }
+        scenarioStart.remove();
+        long end = System.currentTimeMillis();
+        String key = keyOf(scenario.getUri().toString(), scenario.getLine());
+        measured.put(key, end - start);
+        Batch batch = batchByScenario.get(key);
+        if (batch != null) {
+            batch.record(start, end);
+        }
+    }
+
+    /**
+     * @return The number of scenarios run in parallel: scheduler.workers, or one per core limited by free memory.
+     */
+    public static int getWorkerCount() {
+        if (workers == 0) {
+            int configured = TestEnvironment.getSchedulerWorkers();
+            workers = configured > 0 ? configured : autoWorkerCount();
+        }
+        return workers;
+    }
+
+    private static int autoWorkerCount() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long freeMb = cores * (long) TestEnvironment.getSchedulerBrowserMemoryMb();
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean) {
+            freeMb = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                    .getFreePhysicalMemorySize() / (1024 * 1024);
+        }
+        long byMemory = freeMb / Math.max(1, TestEnvironment.getSchedulerBrowserMemoryMb());
+        // The shards of a sharded run share the machine.
+        return (int) Math.max(1, Math.min(cores, byMemory) / TestEnvironment.getShardCount());
+    }
+
+    /**
+     * Length of the LPT schedule: each duration, in the given order, goes to the worker that frees up first.
+     */
+    static long makespan(long[] durations, int workerCount) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < workerCount; i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durations) {
+            long finish = finishTimes.poll() + duration;
+            finishTimes.add(finish);
+            makespan = Math.max(makespan, finish);
+        }
+        return makespan;
+    }
+
+    private static long predict(String key, long estimate) {
+        Long known = history.get(key);
+        return known != null ? known : estimate;
+    }
+
+    private static long estimateUnknown() {
+        return (long) history.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_ESTIMATE_MS);
+    }
+
+    private static String keyOf(Object[] row) {
+        PickleWrapper pickle = (PickleWrapper) row[0];
+        return keyOf(pickle.getPickle().getUri().toString(), pickle.getPickle().getLine());
+    }
+
+    private static String keyOf(String uri, int line) {
+        return uri + ":" + line;
+    }
+
+    private static Map<String, Long> loadHistory() {
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        Path file = Paths.get(TestEnvironment.getSchedulerHistoryFile());
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            Log4jManager.warn("Unable to read scenario history {}: {}", file, e.getMessage());
+            return durations;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                // Ignore malformed entries; the scenario is measured again.
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Builds the report of predicted and actual makespan per runner.
+     *
+     * @return The report as text.
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-10s %-8s %-14s %-14s %s%n", "scenarios", "workers", "predictedMs", "actualMs", "runner"));
+        for (Batch batch : batches) {
+            report.append(String.format("%-10d %-8d %-14d %-14s %s%n", batch.scenarios, batch.workers, batch.predictedMs,
+                    batch.firstStart == Long.MAX_VALUE ? "-" : String.valueOf(batch.lastEnd - batch.firstStart), batch.runner));
+        }
+        return report.toString();
+    }
+
+    private static void writeResults() {
+        if (!measured.isEmpty()) {
+            writeHistory();
+        }
+        if (batches.isEmpty()) {
+            return;
+        }
+        Path reportFile = Paths.get(TestEnvironment.getSchedulerReportFile());
+        if (TestEnvironment.isSharded()) {
+            reportFile = Paths.get(TestEnvironment.getShardDir()).resolve(reportFile.getFileName());
+        }
+        try {
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                writer.write(getReport());
+            }
+        } catch (IOException e) {
+            Log4jManager.error("Unable to write scheduler report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Merges this run's durations into the history file; entries of scenarios that did not run are kept, so
+     * runs of different runners or shards share one history. Shards finishing together take turns through a
+     * lock file.
+     */
+    private static void writeHistory() {
+        Path file = Paths.get(TestEnvironment.getSchedulerHistoryFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                         StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+                Map<String, Long> merged = new ConcurrentHashMap<>(loadHistory());
+                measured.forEach((key, duration) -> merged.merge(key, duration,
+                        (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING)));
+                Properties properties = new Properties();
+                merged.forEach((key, duration) -> properties.setProperty(key, String.valueOf(duration)));
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    properties.store(writer, "Smoothed scenario durations in ms, by feature uri:line");
+                }
+            }
+        } catch (IOException e) {
+            Log4jManager.error("Unable to write scenario history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * The scenarios of one data provider call and the time they actually took.
+     */
+    private static final class Batch {
+        private final String runner;
+        private final int scenarios;
+        private final int workers;
+        private long predictedMs;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd;
+
+        private Batch(String runner, int scenarios, int workers) {
+            this.runner = runner;
+            this.scenarios = scenarios;
+            this.workers = workers;
+        }
+
+        private synchronized void record(long start, long end) {
+            firstStart = Math.min(firstStart, start);
+            lastEnd = Math.max(lastEnd, end);
+        }
+    }
+}
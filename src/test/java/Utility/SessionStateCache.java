@@ -0,0 +1,231 @@
+package Utility;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.InvalidCookieDomainException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnableToSetCookieException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import config.TestEnvironment;
+import reporting.Log4jManager;
+import utilities.NetworkTracker;
+
+/**
+ * SessionStateCache logs each user in through the UI once per run and reuses the resulting session.
+ * <p>
+ * After a UI login the cookies, localStorage and sessionStorage of the application are captured and cached
+ * by username. Later logins of the same user inject that state into the new browser session and open the
+ * landing page directly. A cached session is dropped when it is older than login.state.ttl.minutes, when one
+ * of its cookies expires, or when the application answers 401 or sends the browser back to the login page.
+ * Scenarios tagged {@code @uiLogin} always log in through the UI.
+ * </p>
+ */
+public class SessionStateCache {
+
+    private static final String LOGIN_PATH = "/login";
+    private static final long VALIDATION_QUIET_MS = 300;
+    private static final Duration VALIDATION_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, SessionState> states = new ConcurrentHashMap<>();
+    private static final Map<String, Object> loginLocks = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> uiLoginRequired = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<ActiveSession> activeSession = new ThreadLocal<>();
+
+    private static final CookiesUtility cookiesUtility = new CookiesUtility();
+
+    /**
+     * Logs the user in, restoring the cached session when possible and running the UI login otherwise.
+     * Concurrent logins of the same user wait for the first UI login and then restore its session.
+     *
+     * @param driver   The WebDriver session, currently on the login page.
+     * @param username The user to log in.
+     * @param uiLogin  Performs the login through the UI.
+     * @return True if the cached session was restored, false if the UI login ran.
+     */
+    public static boolean login(WebDriver driver, String username, Runnable uiLogin) {
+        if (!TestEnvironment.isLoginStateCacheEnabled()) {
+            uiLogin.run();
+            return false;
+        }
+        if (!uiLoginRequired.get() && restore(driver, username)) {
+            return true;
+        }
+        synchronized (loginLocks.computeIfAbsent(username, k -> new Object())) {
+            if (!uiLoginRequired.get() && states.containsKey(username) && restore(driver, username)) {
+                return true;
+            }
+            uiLogin.run();
+            capture(driver, username);
+        }
+        return false;
+    }
+
+    /**
+     * Captures the session of a user who has just logged in. Nothing is cached if the browser does not
+     * leave the login page within the explicit wait.
+     *
+     * @param driver   The logged-in WebDriver session.
+     * @param username The user the session belongs to.
+     */
+    public static void capture(WebDriver driver, String username) {
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(TestEnvironment.getExplicitWait()))
+                    .until(ExpectedConditions.not(ExpectedConditions.urlContains(LOGIN_PATH)));
+        } catch (TimeoutException e) {
+            Log4jManager.warn("Login of {} did not leave the login page; session not cached", username);
+            return;
+        }
+        SessionState state = new SessionState(cookiesUtility.getAllCookies(driver),
+                StorageUtility.getLocalStorage(driver), StorageUtility.getSessionStorage(driver));
+        states.put(username, state);
+        track(username);
+        Log4jManager.info("Cached login session of {} ({} cookies, {} localStorage items)",
+                username, state.cookies.size(), state.localStorage.size());
+    }
+
+    /**
+     * Injects the cached session of a user into the browser and opens the landing page. If the browser refuses
+     * the cached cookies or the application rejects the session, it is invalidated and the browser is sent back
+     * to the login page.
+     *
+     * @param driver   The WebDriver session.
+     * @param username The user to log in.
+     * @return True if the session was restored and accepted.
+     */
+    public static boolean restore(WebDriver driver, String username) {
+        SessionState state = states.get(username);
+        if (state == null) {
+            return false;
+        }
+        if (state.isExpired()) {
+            states.remove(username, state);
+            Log4jManager.info("Cached login session of {} expired", username);
+            return false;
+        }
+        String baseUrl = TestEnvironment.getBaseUrl();
+        // Cookies and storage can only be set for the origin of the page currently open.
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl + LOGIN_PATH);
+        }
+        driver.manage().deleteAllCookies();
+        try {
+            cookiesUtility.addCookies(driver, state.cookies);
+        } catch (InvalidCookieDomainException | UnableToSetCookieException e) {
+            // E.g. a cookie of another subdomain, or the login page redirected to another origin.
+            Log4jManager.warn("Unable to restore cookies of {} on {}: {}", username, driver.getCurrentUrl(), e.getMessage());
+            invalidate(username);
+            driver.manage().deleteAllCookies();
+            driver.get(baseUrl + LOGIN_PATH);
+            return false;
+        }
+        StorageUtility.setLocalStorage(driver, state.localStorage);
+        StorageUtility.setSessionStorage(driver, state.sessionStorage);
+
+        NetworkTracker tracker = NetworkTracker.current();
+        int unauthorizedBefore = tracker != null ? tracker.getUnauthorizedCount() : 0;
+        driver.get(baseUrl + TestEnvironment.getLoginLandingPath());
+        if (tracker != null) {
+            try {
+                tracker.awaitIdle(VALIDATION_QUIET_MS, 0, VALIDATION_TIMEOUT);
+            } catch (TimeoutException e) {
+                Log4jManager.debug("Network not idle after restoring session of {}: {}", username, e.getMessage());
+            }
+        }
+        boolean rejected = driver.getCurrentUrl().contains(LOGIN_PATH)
+                || (tracker != null && tracker.getUnauthorizedCount() > unauthorizedBefore);
+        if (rejected) {
+            invalidate(username);
+            driver.manage().deleteAllCookies();
+            driver.get(baseUrl + LOGIN_PATH);
+            return false;
+        }
+        track(username);
+        Log4jManager.info("Restored cached login session of {}", username);
+        return true;
+    }
+
+    /**
+     * Drops the cached session of a user, so the next login goes through the UI.
+     *
+     * @param username The user whose session is dropped.
+     */
+    public static void invalidate(String username) {
+        if (states.remove(username) != null) {
+            Log4jManager.info("Invalidated cached login session of {}", username);
+        }
+    }
+
+    /**
+     * Forces UI logins on the current thread, e.g. for scenarios that test the login page itself.
+     *
+     * @param required True to bypass the cache for the current scenario.
+     */
+    public static void setUiLoginRequired(boolean required) {
+        uiLoginRequired.set(required);
+    }
+
+    /**
+     * Ends the current thread's scenario: the session used in it is invalidated if the application
+     * answered 401 since the login, and the per-scenario state is cleared. Call before the tracker is detached.
+     */
+    public static void endScenario() {
+        ActiveSession session = activeSession.get();
+        activeSession.remove();
+        uiLoginRequired.remove();
+        NetworkTracker tracker = NetworkTracker.current();
+        if (session != null && tracker != null && tracker.getUnauthorizedCount() > session.unauthorizedBaseline) {
+            invalidate(session.username);
+        }
+    }
+
+    private static void track(String username) {
+        NetworkTracker tracker = NetworkTracker.current();
+        activeSession.set(new ActiveSession(username, tracker != null ? tracker.getUnauthorizedCount() : 0));
+    }
+
+    private static final class SessionState {
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final Instant expiresAt;
+
+        private SessionState(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+            this.cookies = Collections.unmodifiableSet(new HashSet<>(cookies));
+            this.localStorage = Collections.unmodifiableMap(localStorage);
+            this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+            Instant expiry = Instant.now().plus(Duration.ofMinutes(TestEnvironment.getLoginStateTtlMinutes()));
+            for (Cookie cookie : cookies) {
+                Date cookieExpiry = cookie.getExpiry();
+                if (cookieExpiry != null && cookieExpiry.toInstant().isBefore(expiry)) {
+                    expiry = cookieExpiry.toInstant();
+                }
+            }
+            this.expiresAt = expiry;
+        }
+
+        private boolean isExpired() {
+            return !Instant.now().isBefore(expiresAt);
+        }
+    }
+
+    private static final class ActiveSession {
+        private final String username;
+        private final int unauthorizedBaseline;
+
+        private ActiveSession(String username, int unauthorizedBaseline) {
+            this.username = username;
+            this.unauthorizedBaseline = unauthorizedBaseline;
+        }
+    }
+}
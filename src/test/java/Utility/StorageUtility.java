@@ -1,12 +1,64 @@
 package Utility;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 
 public class StorageUtility {
+    private static final String READ_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], r = {};"
+            + "for (var i = 0; i < s.length; i++) { var k = s.key(i); r[k] = s.getItem(k); }"
+            + "return r;";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], items = arguments[1];"
+            + "for (var k in items) { s.setItem(k, items[k]); }";
+
     public static void setLocalStorageItem(WebDriver driver, String key, String value) {
         ((JavascriptExecutor) driver).executeScript(
                 "window.localStorage.setItem(arguments[0], arguments[1]);", key, value
         );
     }
+
+    public static void setSessionStorageItem(WebDriver driver, String key, String value) {
+        ((JavascriptExecutor) driver).executeScript(
+                "window.sessionStorage.setItem(arguments[0], arguments[1]);", key, value
+        );
+    }
+
+    // Whole storage areas are read and written with one script call each.
+    public static Map<String, String> getLocalStorage(WebDriver driver) {
+        return readStorage(driver, "localStorage");
+    }
+
+    public static Map<String, String> getSessionStorage(WebDriver driver) {
+        return readStorage(driver, "sessionStorage");
+    }
+
+    public static void setLocalStorage(WebDriver driver, Map<String, String> items) {
+        writeStorage(driver, "localStorage", items);
+    }
+
+    public static void setSessionStorage(WebDriver driver, Map<String, String> items) {
+        writeStorage(driver, "sessionStorage", items);
+    }
+
+    private static Map<String, String> readStorage(WebDriver driver, String area) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT, area);
+        Map<String, String> items = new LinkedHashMap<>();
+        if (result instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                items.put(String.valueOf(entry.getKey()), entry.getValue() == null ? null : String.valueOf(entry.getValue()));
+            }
+        }
+        return items;
+    }
+
+    private static void writeStorage(WebDriver driver, String area, Map<String, String> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, area, items);
+    }
 }
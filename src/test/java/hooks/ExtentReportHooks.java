@@ -3,15 +3,12 @@ package hooks;
 import java.util.Base64;
 
 import io.cucumber.java.*;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
-import org.openqa.selenium.WebDriver;
 
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 
-import config.DriverManager;
 import reporting.ExtentManager;
+import reporting.ScreenshotService;
 
 /**
  * Cucumber hooks for ExtentReports.
@@ -53,7 +50,7 @@ public class ExtentReportHooks {
         try {
             if (scenario.isFailed()) {
                 test.log(Status.FAIL, "Scenario Failed: " + scenario.getName());
-                attachScreenshot(scenario, test);
+                attachScreenshot(test);
             } else {
                 test.log(Status.PASS, "Scenario Passed: " + scenario.getName());
             }
@@ -64,26 +61,15 @@ public class ExtentReportHooks {
     }
 
     /**
-     * Captures a screenshot and attaches it both to the Cucumber scenario and the Extent test.
+     * Adds the failure's screenshot to the Extent test. Hooks.afterStep attaches it to the Cucumber scenario.
      */
-    private void attachScreenshot(Scenario scenario, ExtentTest test) {
-        WebDriver driver = getDriverSafely();
-        if (driver == null) {
+    private void attachScreenshot(ExtentTest test) {
+        // Shared with the other hooks; also available once the browser has been quit.
+        byte[] screenshot = ScreenshotService.captureFailure();
+        if (screenshot == null) {
             return;
         }
-        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-        // Attach to Cucumber report
-        scenario.attach(screenshot, "image/png", "Failed Screenshot");
-        // Attach to Extent report using Base64
         String base64Screenshot = Base64.getEncoder().encodeToString(screenshot);
         test.addScreenCaptureFromBase64String(base64Screenshot, "Failed Screenshot");
     }
-
-    private WebDriver getDriverSafely() {
-        try {
-            return DriverManager.getDriver();
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -1,63 +1,85 @@
 package hooks;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Date;
 
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
 
 import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
 
-import atu.testrecorder.ATUTestRecorder;
+import Utility.ScenarioScheduler;
+import Utility.SessionStateCache;
 import config.DriverManager;
-import config.PicoContainerConfig;
+import config.TestEnvironment;
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import reporting.Log4jManager;
+import reporting.ScreenshotService;
+import utilities.NetworkTracker;
+import utilities.ScreencastRecorder;
 
 /**
  * Cucumber hooks that include video recording, step-level logging,
  * screenshot capture, and browser log attachment.
+ * <p>
+ * Videos are recorded per browser session by {@link ScreencastRecorder} and only saved for failed scenarios.
+ * </p>
+ * <p>
+ * Timers, the video recorder and attachments are kept in the scenario's own {@link ScenarioContext}, so
+ * scenarios running in parallel do not overwrite each other's state.
+ * </p>
  */
 public class Hooks {
 
-    public static ATUTestRecorder recorder;
-    public static Instant stepStartTime;
+    private final ScenarioContext context;
+
+    // Scenario-scoped context, injected by the Cucumber PicoContainer integration
+    public Hooks(ScenarioContext context) {
+        this.context = context;
+    }
 
     @Before(order = 0)
     public void beforeScenario(Scenario scenario) throws Exception {
+        ScenarioScheduler.scenarioStarted();
+        context.start(scenario);
+        ScreenshotService.reset();
         Log4jManager.info("=== Starting Scenario: " + scenario.getName() + " ===");
-        // Uncomment if video recording is desired.
-        try {
-            String videoName = scenario.getName().replaceAll(" ", "") + "_" + System.currentTimeMillis();
-            recorder = new ATUTestRecorder("videos/", videoName, false);
-            recorder.start();
-        } catch (Exception e) {
-            ExtentCucumberAdapter.getCurrentScenario().info("Video recording failed to start: " + e.getMessage());
-        }
 
        // Reset index before each scenario outline
         ExtentCucumberAdapter.getCurrentScenario().createNode(scenario.getName());
         ExtentCucumberAdapter.addTestStepLog("Starting Scenario: " + scenario.getName());
         ExtentCucumberAdapter.getCurrentScenario().assignCategory(scenario.getSourceTagNames().toString());
-        PicoContainerConfig.getContainer();
+
+        // Scenarios that test the login page itself must not reuse a cached session.
+        SessionStateCache.setUiLoginRequired(scenario.getSourceTagNames().contains("@uiLogin"));
 
         // Initialize the WebDriver instance before the scenario starts.
         DriverManager.initDriver();
+        // Start counting fetch/XHR requests from the first page load so network-idle waits see all of them.
+        if (TestEnvironment.isNetworkTrackingEnabled()) {
+            NetworkTracker.attach(DriverManager.getDriver());
+        }
+        // Record the browser session; the video is only saved if the scenario fails.
+        if (TestEnvironment.isVideoRecordingEnabled()) {
+            ScreencastRecorder recorder = ScreencastRecorder.start(DriverManager.getDriver());
+            if (recorder == null) {
+                ExtentCucumberAdapter.getCurrentScenario().info("Video recording failed to start.");
+            }
+            context.setRecorder(recorder);
+        }
     }
 
     @BeforeStep
     public void beforeStep(Scenario scenario) {
         Log4jManager.info("=== Starting Step ===");
-        stepStartTime = Instant.now();
+        context.startStep();
         ExtentCucumberAdapter.getCurrentStep().createNode(scenario.getName());
     }
 
@@ -65,35 +87,31 @@ public class Hooks {
     public void afterStep(Scenario scenario) {
         Log4jManager.info("=== Ending Step ===");
 
-        Duration stepDuration = Duration.between(stepStartTime, Instant.now());
+        Duration stepDuration = context.endStep();
         String duration = stepDuration.toMillis() + " ms";
         if (stepDuration.toSeconds() > 0) {
             duration = stepDuration.toSeconds() + " sec";
         }
         if (scenario.isFailed()) {
-            scenario.attach(duration.getBytes(), "text/plain", "Step Execution Time");
-            byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
-            scenario.attach(screenshot, "image/png", "Failure Screenshot");
+            context.attach(duration.getBytes(), "text/plain", "Step Execution Time");
+            // Screenshots of the steps leading up to the failure, if screenshot.ring.size is set.
+            for (ScreenshotService.Shot shot : ScreenshotService.drainRecentSteps()) {
+                context.attach(shot.getPng(), "image/png", shot.getLabel());
+            }
+            // Taken once and shared with the other hooks and listeners reporting this failure.
+            byte[] screenshot = ScreenshotService.captureFailure();
+            if (screenshot != null) {
+                context.attach(screenshot, "image/png", "Failure Screenshot");
+            }
             ExtentCucumberAdapter.getCurrentStep().fail("Step Failed: " + scenario.getName() + " (" + duration + ")");
         } else {
+            ScreenshotService.recordStep("Step " + context.getStepDurations().size() + " Screenshot");
             ExtentCucumberAdapter.getCurrentStep().pass("Step Passed: " + scenario.getName() + " (" + duration + ")");
         }
     }
 
     @After
     public void afterScenario(Scenario scenario) {
-        // Optional: Stop video recording if enabled.
-
-        try {
-            if (recorder != null) {
-                recorder.stop();
-                // Optionally, attach the video to the Cucumber report.
-            }
-        } catch (Exception e) {
-            ExtentCucumberAdapter.getCurrentScenario().info("Error stopping video recording: " + e.getMessage());
-        }
-
-
         // Capture browser console logs if the WebDriver is initialized.
         if (DriverManager.isDriverInitialized()) {
             try {
@@ -112,7 +130,7 @@ public class Hooks {
                 }
                 if (logBuilder.length() > 0) {
                     // Attach the logs to the Cucumber report with UTF-8 encoding.
-                    scenario.attach(logBuilder.toString().getBytes(StandardCharsets.UTF_8),
+                    context.attach(logBuilder.toString().getBytes(StandardCharsets.UTF_8),
                             "text/plain",
                             "Browser Console Logs");
                 }
@@ -130,7 +148,10 @@ public class Hooks {
             ExtentCucumberAdapter.getCurrentScenario().pass("Scenario Passed: " + scenario.getName());
         }
 
-        // Quit the WebDriver session.
+        // Drop the cached login session if the application rejected it, then quit the WebDriver session.
+        SessionStateCache.endScenario();
+        stopVideoRecording(scenario);
+        NetworkTracker.detach();
        if (DriverManager.isDriverInitialized()){
            DriverManager.quitDriver();
         }
@@ -139,6 +160,30 @@ public class Hooks {
 
         // Log the end of the scenario.
         Log4jManager.info("=== Ending Scenario: " + scenario.getName() + " ===");
+        ScenarioScheduler.scenarioFinished(scenario);
+        context.finish();
     }
 
+    /**
+     * Stops the scenario's video recording and, for a failed scenario, saves the last seconds of video and
+     * attaches its location to the report.
+     */
+    private void stopVideoRecording(Scenario scenario) {
+        ScreencastRecorder recorder = context.getRecorder();
+        if (recorder == null) {
+            return;
+        }
+        try {
+            // The thread id keeps the videos of parallel runs of the same scenario apart.
+            String videoName = scenario.getName().replaceAll(" ", "") + "_" + System.currentTimeMillis()
+                    + "_" + Thread.currentThread().getId();
+            Path video = recorder.stop(scenario.isFailed(), videoName);
+            if (video != null) {
+                context.attach(video.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8), "text/plain", "Failure Video");
+                ExtentCucumberAdapter.getCurrentScenario().info("Failure video: " + video.toAbsolutePath());
+            }
+        } catch (Exception e) {
+            ExtentCucumberAdapter.getCurrentScenario().info("Error stopping video recording: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package hooks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.cucumber.java.Scenario;
+import utilities.ScreencastRecorder;
+
+/**
+ * State of one running scenario: its timers, its video recorder and what was attached to it.
+ * <p>
+ * Cucumber's PicoContainer creates one instance per scenario and injects it into {@link Hooks} and into any
+ * step definition that takes it as a constructor parameter. A scenario runs on a single thread, so parallel
+ * scenarios never share an instance; code that is not injected reaches the context of the scenario running on
+ * its thread through {@link #current()}. Use from any other thread is rejected, so a leak between scenarios
+ * fails loudly instead of mixing up timings.
+ * </p>
+ */
+public class ScenarioContext {
+
+    private static final ThreadLocal<ScenarioContext> current = new ThreadLocal<>();
+
+    private final List<Duration> stepDurations = new ArrayList<>();
+    private final List<String> attachmentNames = new ArrayList<>();
+    private Thread owner;
+    private Scenario scenario;
+    private ScreencastRecorder recorder;
+    private long scenarioStartNanos;
+    private long stepStartNanos = -1;
+
+    /**
+     * @return The context of the scenario running on the current thread, or null outside a scenario.
+     */
+    public static ScenarioContext current() {
+        return current.get();
+    }
+
+    /**
+     * Binds the context to the scenario and the current thread; called by the first before-scenario hook.
+     *
+     * @param scenario The starting scenario.
+     */
+    void start(Scenario scenario) {
+        this.owner = Thread.currentThread();
+        this.scenario = scenario;
+        this.scenarioStartNanos = System.nanoTime();
+        current.set(this);
+    }
+
+    /**
+     * Unbinds the context from the thread; called by the last after-scenario hook.
+     */
+    void finish() {
+        checkThread();
+        current.remove();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public ScreencastRecorder getRecorder() {
+        return recorder;
+    }
+
+    void setRecorder(ScreencastRecorder recorder) {
+        checkThread();
+        this.recorder = recorder;
+    }
+
+    void startStep() {
+        checkThread();
+        stepStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the step timer and records the step's duration.
+     *
+     * @return The duration of the step that just ended.
+     */
+    Duration endStep() {
+        checkThread();
+        Duration duration = stepStartNanos < 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - stepStartNanos);
+        stepStartNanos = -1;
+        stepDurations.add(duration);
+        return duration;
+    }
+
+    /**
+     * @return The durations of the steps finished so far, in step order.
+     */
+    public List<Duration> getStepDurations() {
+        return Collections.unmodifiableList(stepDurations);
+    }
+
+    /**
+     * @return The time since the scenario started.
+     */
+    public Duration getElapsed() {
+        return Duration.ofNanos(System.nanoTime() - scenarioStartNanos);
+    }
+
+    /**
+     * Attaches data to the scenario's report and remembers the attachment's name.
+     *
+     * @param data      The data to attach.
+     * @param mediaType The media type, e.g. "image/png".
+     * @param name      The attachment name shown in the report.
+     */
+    public void attach(byte[] data, String mediaType, String name) {
+        checkThread();
+        scenario.attach(data, mediaType, name);
+        attachmentNames.add(name);
+    }
+
+    /**
+     * @return The names of the attachments added through this context, in order.
+     */
+    public List<String> getAttachmentNames() {
+        return Collections.unmodifiableList(attachmentNames);
+    }
+
+    private void checkThread() {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException("Context of scenario '" + (scenario == null ? "?" : scenario.getName())
+                    + "' used from thread " + Thread.currentThread().getName() + " instead of "
+                    + (owner == null ? "none" : owner.getName()));
+        }
+    }
+}
@@ -6,14 +6,16 @@ import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.KeyEvent;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
+import utilities.ObserverWait;
 import utilities.WaitUtility;
 
 public class ImportCSVPage {
@@ -33,20 +35,27 @@ public class ImportCSVPage {
     private WebElement portfolioSelect;
     @FindBy(id = "propertySelect")
     private WebElement propertySelect;
-    @FindBy(xpath = "//*[local-name()='circle' and contains(@class,'MuiCircularProgress')]")
+    private static final String LOADER_XPATH = "//*[local-name()='circle' and contains(@class,'MuiCircularProgress')]";
+    @FindBy(xpath = LOADER_XPATH)
     private WebElement loader;
 
     public ImportCSVPage(CommonActions commonActions, WaitUtility waitUtility) {
         this.commonActions = commonActions;
         this.waitUtility = waitUtility;
-        PageFactory.initElements(DriverManager.getDriver(), this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
 
     public void selectCategoryAndFileUpload(String category, String PortfolioName, String PropertyName, String file) throws AWTException, InterruptedException {
-        waitUtility.waitForElementToBeVisible(categorySelectOption);
+        if (category.equalsIgnoreCase("Portfolio")) {
+            // One combined wait instead of a visibility wait followed by a loader wait
+            waitUtility.waitForAll(
+                    ObserverWait.visibilityOf(categorySelectOption),
+                    ObserverWait.invisibilityOfElementLocated(By.xpath(LOADER_XPATH)));
+        } else {
+            waitUtility.waitForElementToBeVisible(categorySelectOption);
+        }
         String propery = PropertyName;
         if (category.equalsIgnoreCase("Portfolio")) {
-            waitUtility.waitForElementToBeInvisible(loader());
             js.executeScript("arguments[0].scrollIntoView();", categorySelectOption);
             js.executeScript("arguments[0].click();", categorySelectOption);
             commonActions.selectByVisibleText(categorySelectOption, category);
@@ -62,7 +71,8 @@ public class ImportCSVPage {
             if (PortfolioName.equalsIgnoreCase("{random}") | PortfolioName.equalsIgnoreCase("NA") | PortfolioName.equalsIgnoreCase("")) {
                 commonActions.selectRandomFromDropdown(portfolioSelect());
             } else {
-                Thread.sleep(7000);
+                waitUtility.waitForNetworkIdle(500, 0);
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
 
@@ -75,7 +85,8 @@ public class ImportCSVPage {
             if (PortfolioName.equalsIgnoreCase("{random}") | PortfolioName.equalsIgnoreCase("NA") | PortfolioName.equalsIgnoreCase("")) {
                 commonActions.selectRandomFromDropdown(portfolioSelect());
             } else {
-                Thread.sleep(3000);
+                waitUtility.waitForNetworkIdle(500, 0);
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
             commonActions.waitForElementToBeInvisible(loader());
@@ -91,8 +102,9 @@ public class ImportCSVPage {
             } else {
                 js.executeScript("arguments[0].scrollIntoView();", portfolioSelect());
                 js.executeScript("arguments[0].click();", portfolioSelect());
-                Thread.sleep(10000);
+                waitUtility.waitForNetworkIdle(500, 0);
                 waitUtility.waitForElementToBeInvisible(loader());
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
             commonActions.waitForElementToBeInvisible(loader());
@@ -102,7 +114,8 @@ public class ImportCSVPage {
                 commonActions.selectRandomFromDropdown(propertySelect());
             } else {
 
-                Thread.sleep(2000);
+                waitUtility.waitForNetworkIdle(500, 0);
+                waitUtility.waitForOptionToBePresent(propertySelect(), PropertyName);
                 commonActions.selectByVisibleText(propertySelect(), PropertyName);
             }
 
@@ -117,8 +130,9 @@ public class ImportCSVPage {
             } else {
                 js.executeScript("arguments[0].scrollIntoView();", portfolioSelect());
                 js.executeScript("arguments[0].click();", portfolioSelect());
-                Thread.sleep(10000);
+                waitUtility.waitForNetworkIdle(500, 0);
                 waitUtility.waitForElementToBeInvisible(loader());
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
 
@@ -132,8 +146,9 @@ public class ImportCSVPage {
             } else {
                 js.executeScript("arguments[0].scrollIntoView();", portfolioSelect());
                 js.executeScript("arguments[0].click();", portfolioSelect());
-                Thread.sleep(10000);
+                waitUtility.waitForNetworkIdle(500, 0);
                 waitUtility.waitForElementToBeInvisible(loader());
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
             commonActions.waitForElementToBeInvisible(loader());
@@ -144,7 +159,8 @@ public class ImportCSVPage {
                 commonActions.selectRandomFromDropdown(propertySelect());
             } else {
 
-                Thread.sleep(2000);
+                waitUtility.waitForNetworkIdle(500, 0);
+                waitUtility.waitForOptionToBePresent(propertySelect(), PropertyName);
                 commonActions.selectByVisibleText(propertySelect(), PropertyName);
             }
 
@@ -158,8 +174,9 @@ public class ImportCSVPage {
             } else {
                 js.executeScript("arguments[0].scrollIntoView();", portfolioSelect());
                 js.executeScript("arguments[0].click();", portfolioSelect());
-                Thread.sleep(10000);
+                waitUtility.waitForNetworkIdle(500, 0);
                 waitUtility.waitForElementToBeInvisible(loader());
+                waitUtility.waitForOptionToBePresent(portfolioSelect(), PortfolioName);
                 commonActions.selectByVisibleText(portfolioSelect(), PortfolioName);
             }
             commonActions.waitForElementToBeInvisible(loader());
@@ -170,7 +187,8 @@ public class ImportCSVPage {
                 commonActions.selectRandomFromDropdown(propertySelect());
             } else {
 
-                Thread.sleep(2000);
+                waitUtility.waitForNetworkIdle(500, 0);
+                waitUtility.waitForOptionToBePresent(propertySelect(), PropertyName);
                 commonActions.selectByVisibleText(propertySelect(), PropertyName);
             }
         } else if (category.equalsIgnoreCase("Rental Transactions")) {
@@ -186,7 +204,7 @@ public class ImportCSVPage {
         Toolkit.getDefaultToolkit().getSystemClipboard().setContents(filePath, null);
         Robot robot = new Robot();
         // Paste the file path and press Enter
-        Thread.sleep(1000);
+        WaitUtility.wait(1000);
         robot.delay(30000); // Wait for the file upload dialog to appear
         robot.keyPress(KeyEvent.VK_CONTROL);
         robot.keyPress(KeyEvent.VK_V);
@@ -3,9 +3,9 @@ package pageObjects;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
 import utilities.WaitUtility;
 
@@ -32,7 +32,7 @@ public class LoginPage {
     {
         this.commonActions = commonActions;
         this.waitUtility = waitUtility;
-        PageFactory.initElements(DriverManager.getDriver(),this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
     public void clickForgotPassword()
     {
@@ -12,12 +12,12 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import Utility.DataPicker;
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
 import utilities.WaitUtility;
 
@@ -30,7 +30,7 @@ public class  MaintenancePage{
     public MaintenancePage(CommonActions commonActions, WaitUtility waitUtility) {
         this.commonActions = commonActions;
         this.waitUtility = waitUtility;
-        PageFactory.initElements(DriverManager.getDriver(),this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
     @FindBy(id="addNew")
     private WebElement addNew;
@@ -0,0 +1,130 @@
+package pageObjects;
+
+import utilities.CommonActions;
+import utilities.WaitUtility;
+
+/**
+ * PageObjectManager hands the step definitions of a scenario one shared instance of each page object.
+ * <p>
+ * Cucumber's PicoContainer integration creates a new container for every scenario. It builds one
+ * PageObjectManager, one CommonActions and one WaitUtility in it and injects them into every step definition
+ * class that takes them as constructor parameters. Page objects are created on first use, so a scenario only
+ * pays for the PageFactory set-up of the pages it visits. Parallel scenarios run in separate containers and
+ * share no instances.
+ * </p>
+ */
+public class PageObjectManager {
+    private final CommonActions commonActions;
+    private final WaitUtility waitUtility;
+
+    private DashboardPage dashboardPage;
+    private ImportCSVPage importCSVPage;
+    private LoginPage loginPage;
+    private MaintenancePage maintenancePage;
+    private PortfolioPage portfolioPage;
+    private ReportPage reportPage;
+    private SignUPPage signUPPage;
+    private TenantsPage tenantsPage;
+    private UsersPage usersPage;
+    private VendorPage vendorPage;
+
+    public PageObjectManager(CommonActions commonActions, WaitUtility waitUtility) {
+        this.commonActions = commonActions;
+        this.waitUtility = waitUtility;
+    }
+
+    public CommonActions getCommonActions() {
+        return commonActions;
+    }
+
+    public WaitUtility getWaitUtility() {
+        return waitUtility;
+    }
+
+    public DashboardPage getDashboardPage() {
+        if (dashboardPage == null) {
+            dashboardPage = new DashboardPage(commonActions, waitUtility);
+        }
+        return dashboardPage;
+    }
+
+    public ImportCSVPage getImportCSVPage() {
+        if (importCSVPage == null) {
+            importCSVPage = new ImportCSVPage(commonActions, waitUtility);
+        }
+        return importCSVPage;
+    }
+
+    public LoginPage getLoginPage() {
+        if (loginPage == null) {
+            loginPage = new LoginPage(commonActions, waitUtility);
+        }
+        return loginPage;
+    }
+
+    public MaintenancePage getMaintenancePage() {
+        if (maintenancePage == null) {
+            maintenancePage = new MaintenancePage(commonActions, waitUtility);
+        }
+        return maintenancePage;
+    }
+
+    public PortfolioPage getPortfolioPage() {
+        if (portfolioPage == null) {
+            portfolioPage = new PortfolioPage(commonActions, waitUtility);
+        }
+        return portfolioPage;
+    }
+
+    public ReportPage getReportPage() {
+        if (reportPage == null) {
+            reportPage = new ReportPage(commonActions, waitUtility, commonActions, waitUtility);
+        }
+        return reportPage;
+    }
+
+    public SignUPPage getSignUPPage() {
+        if (signUPPage == null) {
+            signUPPage = new SignUPPage(commonActions, waitUtility);
+        }
+        return signUPPage;
+    }
+
+    public TenantsPage getTenantsPage() {
+        if (tenantsPage == null) {
+            tenantsPage = new TenantsPage(commonActions, waitUtility);
+        }
+        return tenantsPage;
+    }
+
+    public UsersPage getUsersPage() {
+        if (usersPage == null) {
+            usersPage = new UsersPage(commonActions, waitUtility);
+        }
+        return usersPage;
+    }
+
+    public VendorPage getVendorPage() {
+        if (vendorPage == null) {
+            vendorPage = new VendorPage(commonActions, waitUtility);
+        }
+        return vendorPage;
+    }
+
+    /**
+     * Drops all page objects, so the next getter call binds fresh elements. Needed only when a scenario
+     * reloads a page whose object uses {@code @CacheLookup} elements, e.g. logging in several users in a row.
+     */
+    public void reset() {
+        dashboardPage = null;
+        importCSVPage = null;
+        loginPage = null;
+        maintenancePage = null;
+        portfolioPage = null;
+        reportPage = null;
+        signUPPage = null;
+        tenantsPage = null;
+        usersPage = null;
+        vendorPage = null;
+    }
+}
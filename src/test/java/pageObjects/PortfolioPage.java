@@ -8,12 +8,12 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.Select;
 
 import com.github.javafaker.Faker;
 
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
 import utilities.WaitUtility;
 
@@ -195,7 +195,7 @@ public void enterAddress2(String address){
     {
         this.commonActions = commonActions;
         this.waitUtility = waitUtility;
-        PageFactory.initElements(DriverManager.getDriver(),this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
     public WebElement GetRowsPerPage()
     {
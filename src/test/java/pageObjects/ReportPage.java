@@ -4,9 +4,9 @@ import java.util.List;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
 import utilities.WaitUtility;
 
@@ -16,7 +16,7 @@ public class ReportPage {
     public ReportPage(CommonActions commonActions, WaitUtility waitUtility, CommonActions commonActions1, WaitUtility waitUtility1) {
         this.commonActions = commonActions1;
         this.waitUtility = waitUtility1;
-        PageFactory.initElements(DriverManager.getDriver(),this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
     @FindBy(id="selectReportCategorySelect")
     private WebElement selectReportCategorySelect;
@@ -2,9 +2,9 @@ package pageObjects;
 
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 import config.DriverManager;
+import utilities.CachingElementLocatorFactory;
 import utilities.CommonActions;
 import utilities.WaitUtility;
 
@@ -16,7 +16,7 @@ public class TenantsPage {
     public TenantsPage(CommonActions commonActions, WaitUtility waitUtility) {
         this.commonActions = commonActions;
         this.waitUtility = waitUtility;
-        PageFactory.initElements(DriverManager.getDriver(), this);
+        CachingElementLocatorFactory.initElements(DriverManager.getDriver(), this);
     }
     public boolean isTenantDirectoryPage() {
         waitUtility.waitForElementToBeVisible(tenantDirectoryText);
@@ -2,6 +2,7 @@ package runners;
 
 import org.testng.annotations.DataProvider;
 
+import Utility.ScenarioScheduler;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
 
@@ -10,15 +11,16 @@ import io.cucumber.testng.CucumberOptions;
         glue = {"stepDefinitions", "hooks"},
         plugin = {
                 "pretty",
-                "html:target/cucumber-reports/cucumber.html",
-                "json:target/cucumber-reports/cucumber.json",
-                "junit:target/cucumber-reports/cucumber.xml",
+                // Report files (written under the shard directory in sharded runs):
+                "runners.ShardReportFormatter:html:target/cucumber-reports/cucumber.html",
+                "runners.ShardReportFormatter:json:target/cucumber-reports/cucumber.json",
+                "runners.ShardReportFormatter:junit:target/cucumber-reports/cucumber.xml",
                 // Allure report plugin:
                 "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
                 // Extent report adapter plugin (note the trailing colon):
                 "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
-                "timeline:test-output-thread/",
-                "rerun:target/failedrerun.txt"
+                "runners.ShardReportFormatter:timeline:test-output-thread/",
+                "runners.ShardReportFormatter:rerun:target/failedrerun.txt"
         },
         monochrome = true
 )
@@ -26,6 +28,6 @@ public class DirectoriesTest extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true) // Enable parallel execution of scenarios
     public Object[][] scenarios() {
-        return super.scenarios();
+        return ScenarioScheduler.schedule(getClass(), super.scenarios());
     }
 }
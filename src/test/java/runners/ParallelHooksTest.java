@@ -0,0 +1,34 @@
+package runners;
+
+import org.testng.annotations.DataProvider;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+
+/**
+ * Runs the eight scenarios of ParallelHooks.feature at the same time (see testng-parallel-hooks.xml) to check
+ * that the hooks keep per-scenario state apart. Scenarios are not scheduled or sharded, as all of them must
+ * run in one JVM at once.
+ */
+@CucumberOptions(
+        features = "src/test/resources/features/ParallelHooks.feature",
+        glue = {"stepDefinitions", "hooks"},
+        plugin = {
+                "pretty",
+                // Report files (written under the shard directory in sharded runs):
+                "runners.ShardReportFormatter:html:target/cucumber-reports/parallel-hooks.html",
+                "runners.ShardReportFormatter:json:target/cucumber-reports/parallel-hooks.json",
+                // Extent report adapter plugin (note the trailing colon):
+                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
+                "runners.ShardReportFormatter:timeline:test-output-thread/parallel-hooks/"
+        },
+        monochrome = true
+)
+public class ParallelHooksTest extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = true) // Enable parallel execution of scenarios
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+}
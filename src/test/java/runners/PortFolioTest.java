@@ -9,6 +9,7 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 
+import Utility.ScenarioScheduler;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
 import org.testng.annotations.Test;
@@ -25,13 +26,14 @@ import java.util.Map;
 
         plugin = {
                 "pretty",
-                "html:target/cucumber-reports/cucumber.html",
-                "json:target/cucumber-reports/cucumber.json",
-                "junit:target/cucumber-reports/cucumber.xml",
+                // Report files (written under the shard directory in sharded runs):
+                "runners.ShardReportFormatter:html:target/cucumber-reports/cucumber.html",
+                "runners.ShardReportFormatter:json:target/cucumber-reports/cucumber.json",
+                "runners.ShardReportFormatter:junit:target/cucumber-reports/cucumber.xml",
                 "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
                 "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
-                "timeline:test-output-thread/",
-                "rerun:target/failedrerun.txt"
+                "runners.ShardReportFormatter:timeline:test-output-thread/",
+                "runners.ShardReportFormatter:rerun:target/failedrerun.txt"
         },
         monochrome = true
 )
@@ -39,7 +41,7 @@ public class PortFolioTest  extends AbstractTestNGCucumberTests {
     @Override
     @DataProvider(parallel = true) // Enable parallel execution of scenarios
     public Object[][] scenarios() {
-        return super.scenarios();
+        return ScenarioScheduler.schedule(getClass(), super.scenarios());
     }
 
 }
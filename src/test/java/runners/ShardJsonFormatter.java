@@ -0,0 +1,40 @@
+package runners;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.cucumber.core.plugin.JsonFormatter;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+/**
+ * Cucumber JSON plugin of a shard JVM that writes one file per runner.
+ * <p>
+ * A shard runs every runner class of the suite, each with its own Cucumber runtime, so a plain
+ * {@code json:<file>} plugin would be overwritten by every runner and only the last one would reach the merged
+ * report. This plugin is created once per runtime and writes to its own numbered file in the given directory;
+ * {@link reporting.ShardReportMerger} merges all of them. Set by {@link ShardLauncher} through
+ * {@code -Dcucumber.plugin=runners.ShardJsonFormatter:<dir>}.
+ * </p>
+ */
+public class ShardJsonFormatter implements EventListener {
+
+    private static final AtomicInteger runtimes = new AtomicInteger();
+
+    private final JsonFormatter delegate;
+
+    public ShardJsonFormatter(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        File file = new File(directory, "cucumber-" + runtimes.incrementAndGet() + ".json");
+        this.delegate = new JsonFormatter(new FileOutputStream(file));
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        delegate.setEventPublisher(publisher);
+    }
+}
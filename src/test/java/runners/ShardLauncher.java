@@ -0,0 +1,81 @@
+package runners;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+import config.TestEnvironment;
+import reporting.Log4jManager;
+import reporting.ShardReportMerger;
+
+/**
+ * Runs the TestNG suite split across shard.count JVMs on this machine and merges their reports.
+ * <p>
+ * Each shard is a forked JVM running the whole suite with -Dshard.index=N; the runners keep only the
+ * scenarios of that shard (see {@link Utility.ScenarioScheduler}). A shard writes its Cucumber JSON (one file
+ * per runner), Allure results, Extent data and console output to shard.output.dir/shard-N. The report files of the
+ * runners' own plugins (html, junit, rerun, timeline) go there too, through {@link ShardReportFormatter}. Once all
+ * shards have finished, their reports are merged into target/ by {@link ShardReportMerger}.
+ * </p>
+ * <p>
+ * Started by the "shard" Maven profile: {@code mvn -Pshard -Dshard.count=4 test}.
+ * </p>
+ */
+public class ShardLauncher {
+
+    // System properties handed on to every shard.
+    private static final List<String> FORWARDED_PROPERTIES = Arrays.asList("env", "config.dir");
+
+    public static void main(String[] args) throws Exception {
+        String suite = args.length > 0 ? args[0] : "testng.xml";
+        int count = TestEnvironment.getShardCount();
+        Path shardsDir = Paths.get(TestEnvironment.getShardOutputDir()).toAbsolutePath();
+        // Results of an earlier run must not be merged into this one.
+        FileUtils.deleteDirectory(shardsDir.toFile());
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path shardDir = shardsDir.resolve("shard-" + i);
+            Files.createDirectories(shardDir);
+            List<String> command = new ArrayList<>(Arrays.asList(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dshard.index=" + i,
+                    "-Dshard.count=" + count,
+                    "-Dshard.strategy=" + TestEnvironment.getShardStrategy(),
+                    // One Cucumber JSON file per runner; a single json:<file> would be overwritten by each runner.
+                    "-Dcucumber.plugin=" + ShardJsonFormatter.class.getName() + ":" + shardDir.resolve(ShardReportMerger.CUCUMBER_JSON_DIR),
+                    // The Extent Cucumber adapter's own report, kept apart per shard.
+                    "-Dextent.reporter.spark.out=" + shardDir.resolve("extent-adapter").resolve("Spark.html"),
+                    "-Dallure.results.directory=" + shardDir.resolve(ShardReportMerger.ALLURE_RESULTS)));
+            for (String property : FORWARDED_PROPERTIES) {
+                if (System.getProperty(property) != null) {
+                    command.add("-D" + property + "=" + System.getProperty(property));
+                }
+            }
+            command.addAll(Arrays.asList("org.testng.TestNG", "-usedefaultlisteners", "false",
+                    "-d", shardDir.resolve("testng").toString(), suite));
+            File console = shardDir.resolve("console.log").toFile();
+            shards.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(console).start());
+            Log4jManager.info("Started shard {} of {}; output in {}.", i, count, console);
+        }
+
+        boolean failed = false;
+        for (int i = 0; i < shards.size(); i++) {
+            int exitCode = shards.get(i).waitFor();
+            if (exitCode != 0) {
+                failed = true;
+                Log4jManager.error("Shard {} finished with exit code {}.", i, exitCode);
+            }
+        }
+        ShardReportMerger.merge(shardsDir, count, Paths.get("target").toAbsolutePath());
+        Log4jManager.flush();
+        System.exit(failed ? 1 : 0);
+    }
+}
@@ -0,0 +1,85 @@
+package runners;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import config.TestEnvironment;
+import io.cucumber.core.plugin.HtmlFormatter;
+import io.cucumber.core.plugin.JUnitFormatter;
+import io.cucumber.core.plugin.JsonFormatter;
+import io.cucumber.core.plugin.RerunFormatter;
+import io.cucumber.core.plugin.TimelineFormatter;
+import io.cucumber.plugin.EventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import reporting.ShardReportMerger;
+
+/**
+ * Cucumber report plugin of the runners that keeps the report files of shards apart.
+ * <p>
+ * Takes a built-in file plugin and its path, e.g. {@code runners.ShardReportFormatter:rerun:target/failedrerun.txt},
+ * for html, json, junit, rerun and timeline. Outside a sharded run it writes to the path as given. A plugin passed
+ * with {@code -Dcucumber.plugin} is added to the ones of {@code @CucumberOptions} rather than replacing them, so
+ * in a shard JVM this plugin moves the path under the shard directory instead, where shards running at the same
+ * time do not overwrite each other. Every runner of a shard writes its own rerun file into
+ * {@link ShardReportMerger#RERUN_DIR}, from which {@link ShardReportMerger} builds the rerun file of the run.
+ * </p>
+ */
+public class ShardReportFormatter implements EventListener {
+
+    private static final AtomicInteger reruns = new AtomicInteger();
+
+    private final Consumer<EventPublisher> delegate;
+
+    public ShardReportFormatter(String argument) throws IOException {
+        int colon = argument.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected <plugin>:<path>, got '" + argument + "'");
+        }
+        String plugin = argument.substring(0, colon);
+        Path path = Paths.get(argument.substring(colon + 1));
+        if (TestEnvironment.isSharded()) {
+            Path shardDir = Paths.get(TestEnvironment.getShardDir());
+            path = "rerun".equals(plugin)
+                    ? shardDir.resolve(ShardReportMerger.RERUN_DIR).resolve("rerun-" + reruns.incrementAndGet() + ".txt")
+                    : shardDir.resolve(path);
+        }
+        switch (plugin) {
+            case "html":
+                delegate = new HtmlFormatter(open(path))::setEventPublisher;
+                break;
+            case "json":
+                delegate = new JsonFormatter(open(path))::setEventPublisher;
+                break;
+            case "junit":
+                delegate = new JUnitFormatter(open(path))::setEventPublisher;
+                break;
+            case "rerun":
+                delegate = new RerunFormatter(open(path))::setEventPublisher;
+                break;
+            case "timeline":
+                Files.createDirectories(path);
+                delegate = new TimelineFormatter(path.toFile())::setEventPublisher;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported report plugin '" + plugin + "'");
+        }
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        return new FileOutputStream(file.toFile());
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        delegate.accept(publisher);
+    }
+}
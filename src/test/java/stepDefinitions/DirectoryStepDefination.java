@@ -4,7 +4,6 @@ import java.util.Objects;
 import java.util.Random;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
 import com.github.javafaker.Faker;
@@ -14,26 +13,27 @@ import io.cucumber.java.en.And;
 import io.cucumber.java.en.When;
 import pageObjects.DashboardPage;
 import pageObjects.MaintenancePage;
+import pageObjects.PageObjectManager;
 import pageObjects.TenantsPage;
 import pageObjects.UsersPage;
 import pageObjects.VendorPage;
-import utilities.CommonActions;
-import utilities.WaitUtility;
 
 public class DirectoryStepDefination {
+    private final PageObjectManager pageObjectManager;
     private DashboardPage dashboardPage;
     private MaintenancePage maintenancePage;
     private UsersPage usersPage;
     private TenantsPage tenantsPage;
     private VendorPage vendorPage;
 
-    public DirectoryStepDefination() {
-        PageFactory.initElements(DriverManager.getDriver(), this);
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public DirectoryStepDefination(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
     @When("User clicks on the Directories button")
     public void user_clicks_on_the_directories_button() throws InterruptedException {
-        dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+        dashboardPage = pageObjectManager.getDashboardPage();
         dashboardPage.MoveToDirectories();
     }
 
@@ -50,9 +50,9 @@ public class DirectoryStepDefination {
 
     @When("User navigates to the selected directory {string}")
     public void user_navigates_to_the_selected_directory(String directoryName) {
-        usersPage = new UsersPage(new CommonActions(), new WaitUtility());
-        tenantsPage = new TenantsPage(new CommonActions(), new WaitUtility());
-        vendorPage = new VendorPage(new CommonActions(), new WaitUtility());
+        usersPage = pageObjectManager.getUsersPage();
+        tenantsPage = pageObjectManager.getTenantsPage();
+        vendorPage = pageObjectManager.getVendorPage();
         WebDriver driver = DriverManager.getDriver();
         if (Objects.requireNonNull(driver.getCurrentUrl()).contains("https://pm-uat.yvooa.com/directories/tenants")) {
             Assert.assertEquals(tenantsPage.getTenantDirectoryText(), directoryName);
@@ -2,20 +2,17 @@ package stepDefinitions;
 
 import java.awt.AWTException;
 
-import org.openqa.selenium.support.PageFactory;
-
-import config.DriverManager;
 import io.cucumber.java.en.And;
 import pageObjects.DashboardPage;
 import pageObjects.ImportCSVPage;
 import pageObjects.MaintenancePage;
+import pageObjects.PageObjectManager;
 import pageObjects.TenantsPage;
 import pageObjects.UsersPage;
 import pageObjects.VendorPage;
-import utilities.CommonActions;
-import utilities.WaitUtility;
 
 public class ImportStepDefination {
+    private final PageObjectManager pageObjectManager;
     private DashboardPage dashboardPage;
     private MaintenancePage maintenancePage;
     private UsersPage usersPage;
@@ -23,19 +20,20 @@ public class ImportStepDefination {
     private VendorPage vendorPage;
     private ImportCSVPage importCSVPage;
 
-    public ImportStepDefination() {
-        PageFactory.initElements(DriverManager.getDriver(), this);
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public ImportStepDefination(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
     @And("User is redirected to the Dashboard And User clicks on the import button")
     public void user_is_redirected_to_the_dashboard_and_user_clicks_on_the_import_button() {
-        dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+        dashboardPage = pageObjectManager.getDashboardPage();
         dashboardPage.Clickonimports();
     }
 
     @And("User select {string} And {string} And {string} And {string} Fields")
     public void user_select_and_fields(String category, String portfolioname,String PropertyName ,String file) throws AWTException, InterruptedException {
-        importCSVPage=new ImportCSVPage(new CommonActions(),new WaitUtility());
+        importCSVPage=pageObjectManager.getImportCSVPage();
         importCSVPage.selectCategoryAndFileUpload(category,portfolioname,PropertyName,file);
     }
 
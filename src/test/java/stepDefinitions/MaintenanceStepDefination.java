@@ -1,33 +1,34 @@
 package stepDefinitions;
 
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
-import config.DriverManager;
 import io.cucumber.java.en.And;
 import pageObjects.DashboardPage;
 import pageObjects.MaintenancePage;
-import utilities.CommonActions;
+import pageObjects.PageObjectManager;
 import utilities.WaitUtility;
 
 public class MaintenanceStepDefination {
+    private final PageObjectManager pageObjectManager;
     private DashboardPage dashboardPage;
     private MaintenancePage maintenancePage;
-    public MaintenanceStepDefination() {
-        PageFactory.initElements(DriverManager.getDriver(), this);
+
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public MaintenanceStepDefination(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
    @And("User clicks on the maintenance button")
     public void user_clicks_on_the_maintenance_button() {
-        dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+        dashboardPage = pageObjectManager.getDashboardPage();
       dashboardPage.ClickOnMaintenance();
     }
 
     @And("User is redirected to the Maintenance page")
     public void user_is_redirected_to_the_maintenance_page() throws InterruptedException {
-        maintenancePage = new MaintenancePage(new CommonActions(), new WaitUtility());
-        Thread.sleep(1000);
+        maintenancePage = pageObjectManager.getMaintenancePage();
+        WaitUtility.wait(1000);
         maintenancePage.clickAddNew();
     }
 
@@ -0,0 +1,91 @@
+package stepDefinitions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+
+import config.DriverManager;
+import hooks.ScenarioContext;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+
+/**
+ * Steps of ParallelHooks.feature, which checks that Hooks keeps the state of parallel scenarios apart.
+ */
+public class ParallelHooksSteps {
+
+    // Step timings include the before/after step hooks, which slow down with eight browsers running.
+    private static final long TOLERANCE_MS = 500;
+    private static CountDownLatch started;
+
+    private final ScenarioContext context;
+    private String scenarioId;
+    private int pausedStep = -1;
+
+    // Scenario-scoped context, injected by the Cucumber PicoContainer integration
+    public ParallelHooksSteps(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @Given("the local hooks test page is open for scenario {string}")
+    public void openLocalPage(String id) {
+        scenarioId = id;
+        String url = Paths.get("src/test/resources/pages/hooks-test.html").toAbsolutePath().toUri() + "?scenario=" + id;
+        DriverManager.getDriver().get(url);
+        Assert.assertEquals(DriverManager.getDriver().getTitle(), "Scenario " + id);
+    }
+
+    @And("all {int} parallel scenarios have started")
+    public void awaitParallelScenarios(int count) throws InterruptedException {
+        CountDownLatch latch = startLatch(count);
+        latch.countDown();
+        Assert.assertTrue(latch.await(2, TimeUnit.MINUTES),
+                "Only " + (count - latch.getCount()) + " of " + count + " scenarios ran at the same time");
+    }
+
+    @When("the scenario pauses for {int} ms in one step")
+    public void pause(int milliseconds) throws InterruptedException {
+        pausedStep = context.getStepDurations().size();
+        // A plain sleep: WaitUtility.wait may end early once the page is stable.
+        Thread.sleep(milliseconds);
+    }
+
+    @And("the scenario attaches a note")
+    public void attachNote() {
+        context.attach(("Note of scenario " + scenarioId).getBytes(StandardCharsets.UTF_8), "text/plain", "note-" + scenarioId);
+    }
+
+    @Then("the paused step took about {int} ms")
+    public void verifyPausedStep(int milliseconds) {
+        List<Duration> durations = context.getStepDurations();
+        // The paused step and the attach step have finished since the pause started.
+        Assert.assertEquals(durations.size(), pausedStep + 2, "Step durations recorded for this scenario: " + durations);
+        long measured = durations.get(pausedStep).toMillis();
+        Assert.assertTrue(measured >= milliseconds && measured < milliseconds + TOLERANCE_MS,
+                "Paused " + milliseconds + " ms but the step timer measured " + measured + " ms");
+    }
+
+    @And("the scenario context only holds the state of scenario {string}")
+    public void verifyContext(String id) {
+        Assert.assertSame(ScenarioContext.current(), context);
+        Assert.assertTrue(context.getScenario().getName().startsWith("Scenario " + id + " "),
+                "Context belongs to '" + context.getScenario().getName() + "'");
+        Assert.assertEquals(context.getAttachmentNames(), Collections.singletonList("note-" + id));
+        Assert.assertEquals(DriverManager.getDriver().getTitle(), "Scenario " + id);
+    }
+
+    private static synchronized CountDownLatch startLatch(int count) {
+        if (started == null) {
+            started = new CountDownLatch(count);
+        }
+        return started;
+    }
+}
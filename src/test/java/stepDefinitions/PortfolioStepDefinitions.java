@@ -6,13 +6,12 @@ import java.util.Map;
 
 import com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter;
 import config.TestEnvironment;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
 import com.applitools.eyes.selenium.Eyes;
 
+import Utility.SessionStateCache;
 import config.DriverManager;
 import hooks.ApplitoolsHooks;
 import io.cucumber.java.Before;
@@ -23,14 +22,15 @@ import io.cucumber.java.en.Then;
 import org.testng.annotations.DataProvider;
 import pageObjects.DashboardPage;
 import pageObjects.LoginPage;
+import pageObjects.PageObjectManager;
 import pageObjects.PortfolioPage;
-import utilities.CommonActions;
 import utilities.ExcelUtility;
 import utilities.WaitUtility;
 
 import static stepDefinitions.Yvooa_RegisterSteps.driver;
 
 public class PortfolioStepDefinitions {
+    private final PageObjectManager pageObjectManager;
     private static int scenarioInstanceCount = 0;
     private static final Object lock = new Object(); // For thread safety
 
@@ -44,11 +44,9 @@ public class PortfolioStepDefinitions {
     public int dataRowIndex = 0;
     static int pages;
 
-    // Public no-argument constructor required by PicoContainer
-    public PortfolioStepDefinitions() {
-
-        // Initialize PageFactory elements using the current WebDriver
-        PageFactory.initElements(DriverManager.getDriver(), this);
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public PortfolioStepDefinitions(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
     @Before(order = 1)
@@ -73,10 +71,13 @@ public class PortfolioStepDefinitions {
     public void user_enters_valid_credentials() {
         if (testData != null && dataRowIndex < testData.size()) {
             Map<String, String> data = testData.get(dataRowIndex);
-            loginPage = new LoginPage(new CommonActions(), new WaitUtility());
-            loginPage.enterEmail(data.get("username"));
-            loginPage.enterPassword(data.get("password"));
-            loginPage.clickLoginButton();
+            loginPage = pageObjectManager.getLoginPage();
+            // Restores the user's cached session when there is one; otherwise logs in through the UI and caches it.
+            SessionStateCache.login(DriverManager.getDriver(), data.get("username"), () -> {
+                loginPage.enterEmail(data.get("username"));
+                loginPage.enterPassword(data.get("password"));
+                loginPage.clickLoginButton();
+            });
         } else {
             throw new RuntimeException("No more test data found for scenario: " + currentScenario.getName());
         }
@@ -84,13 +85,13 @@ public class PortfolioStepDefinitions {
 
     @And("User is redirected to the Dashboard And User clicks on the Portfolio button")
     public void user_clicks_portfolio_button() {
-        dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+        dashboardPage = pageObjectManager.getDashboardPage();
         dashboardPage.ClickOnPortfolio();
     }
 
     @Then("User is redirected to the Portfolio page")
     public void verify_portfolio_page() {
-        portfolioPage = new PortfolioPage(new CommonActions(), new WaitUtility());
+        portfolioPage = pageObjectManager.getPortfolioPage();
      driver = DriverManager.getDriver();
         Assert.assertEquals(driver.getCurrentUrl(), "https://pm-uat.yvooa.com/portfolio");
         portfolioPage.waitforTableToLoad();
@@ -247,15 +248,22 @@ public class PortfolioStepDefinitions {
         for (Map<String, String> rowData : excelData) {
             System.out.println("Running for: " + rowData);
 
-            loginPage = new LoginPage(new CommonActions(), new WaitUtility());
-            Thread.sleep(2000);
-            loginPage = new LoginPage(new CommonActions(), new WaitUtility());
-            loginPage.enterEmail(rowData.get("username"));
-            loginPage.enterPassword(rowData.get("password"));
-            loginPage.clickLoginButton();
-            dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+            // Each row logs in again, so the login page's cached elements must be looked up afresh.
+            pageObjectManager.reset();
+            loginPage = pageObjectManager.getLoginPage();
+            SessionStateCache.login(DriverManager.getDriver(), rowData.get("username"), () -> {
+                // Later rows start on the portfolio page of the previous row's user.
+                if (!DriverManager.getDriver().getCurrentUrl().contains("/login")) {
+                    DriverManager.getDriver().get(TestEnvironment.getBaseUrl() + "/login");
+                }
+                WaitUtility.wait(2000);
+                loginPage.enterEmail(rowData.get("username"));
+                loginPage.enterPassword(rowData.get("password"));
+                loginPage.clickLoginButton();
+            });
+            dashboardPage = pageObjectManager.getDashboardPage();
             dashboardPage.ClickOnPortfolio();
-            portfolioPage = new PortfolioPage(new CommonActions(), new WaitUtility());
+            portfolioPage = pageObjectManager.getPortfolioPage();
 //            driver = DriverManager.getDriver();
             Assert.assertEquals(driver.getCurrentUrl(), "https://pm-uat.yvooa.com/portfolio");
             portfolioPage.waitforTableToLoad();
@@ -3,11 +3,11 @@ package stepDefinitions;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.testng.Assert;
 
 import com.applitools.eyes.selenium.Eyes;
 
+import Utility.SessionStateCache;
 import config.DriverManager;
 import config.TestEnvironment;
 import hooks.ApplitoolsHooks;
@@ -17,12 +17,12 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import pageObjects.DashboardPage;
 import pageObjects.LoginPage;
-import utilities.CommonActions;
+import pageObjects.PageObjectManager;
 import utilities.EyesManager;
 import utilities.VisualTestingUtil;
-import utilities.WaitUtility;
 
 public class Yoova_LoginSteps {
+    private final PageObjectManager pageObjectManager;
     // Instance variables
     private WebDriver driver;
     private static final double VISUAL_DIFF_THRESHOLD = 0.5;
@@ -30,10 +30,9 @@ public class Yoova_LoginSteps {
 
     private LoginPage loginPage;
 
-    // Public no-argument constructor required by PicoContainer
-    public Yoova_LoginSteps() {
-        // Initialize PageFactory elements using the current WebDriver
-        PageFactory.initElements(DriverManager.getDriver(), this);
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public Yoova_LoginSteps(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
     @Given("open browser")
@@ -46,11 +45,10 @@ public class Yoova_LoginSteps {
 
     @Then("User launch Login page")
     public void User_launch_Login_page() throws Exception {
-        Thread.sleep(2000);
         // Navigate to the login page using the base URL from configuration
         DriverManager.getDriver().get(TestEnvironment.getBaseUrl() + "/login");
         // Initialize the LoginPage page object with the injected dependencies
-        loginPage = new LoginPage(new CommonActions(), new WaitUtility());
+        loginPage = pageObjectManager.getLoginPage();
 
     }
 
@@ -58,9 +56,12 @@ public class Yoova_LoginSteps {
     public void user_enters_valid_credentials(String username, String password) throws Exception {
 
 
-        loginPage.enterEmail(username);
-        loginPage.enterPassword(password);
-        loginPage.clickLoginButton();
+        // Restores the user's cached session when there is one; otherwise logs in through the UI and caches it.
+        SessionStateCache.login(DriverManager.getDriver(), username, () -> {
+            loginPage.enterEmail(username);
+            loginPage.enterPassword(password);
+            loginPage.clickLoginButton();
+        });
         VisualTestingUtil.VisualComparisonResult result =
                 new VisualTestingUtil(driver).captureAndCompare("dashboard_after_login");
 
@@ -83,7 +84,7 @@ public class Yoova_LoginSteps {
     @And("User is redirected to the Dashboard")
     public void user_is_redirected_to_the_dashboard() throws Exception {
        // Assert.assertEquals(driver.getCurrentUrl(), TestEnvironment.getBaseUrl() + "/dashboard");
-        DashboardPage dashboardPage = new DashboardPage(new CommonActions(), new WaitUtility());
+        DashboardPage dashboardPage = pageObjectManager.getDashboardPage();
         Assert.assertTrue(dashboardPage.isLogoDisplayed());
         // Visual testing
         if (eyes != null) {
@@ -12,7 +12,6 @@ import java.util.Set;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.testng.Assert;
@@ -24,11 +23,12 @@ import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import pageObjects.PageObjectManager;
 import pageObjects.SignUPPage;
-import utilities.CommonActions;
 import utilities.WaitUtility;
 
 public class Yvooa_RegisterSteps {
+    private final PageObjectManager pageObjectManager;
     // Instance variables
    private SignUPPage signUPPage;
     public String generatedEmail;
@@ -36,29 +36,30 @@ public class Yvooa_RegisterSteps {
     public static WebDriver driver;
     public WaitUtility wait;
     String emailText;
-    public Yvooa_RegisterSteps() {
-        // Initialize PageFactory elements using the current WebDriver
-        PageFactory.initElements(DriverManager.getDriver(), this);
+
+    // Scenario-scoped page objects, injected by the Cucumber PicoContainer integration
+    public Yvooa_RegisterSteps(PageObjectManager pageObjectManager) {
+        this.pageObjectManager = pageObjectManager;
     }
 
     @Given("User is on the Sign Up page of Yuvoo website")
     public void user_is_on_sign_up_page() throws InterruptedException,Exception{
         driver = (RemoteWebDriver) DriverManager.getDriver();
         // Navigate to the Sign Up page using the base URL from configuration
-        Thread.sleep(5000);
+        WaitUtility.wait(5000);
      driver.get(TestEnvironment.getBaseUrl() + "/SignUP");
         // Initialize the page object with injected dependencies
-        signUPPage = new SignUPPage(new CommonActions(), new WaitUtility());
+        signUPPage = pageObjectManager.getSignUPPage();
         // Open a new tab for temporary email service
         driver.switchTo().newWindow(WindowType.TAB);
-        Thread.sleep(5000);
+        WaitUtility.wait(5000);
         driver.navigate().to("https://temp-mail.org/en/");
         // Create a FluentWait instance for waiting for the email element
         FluentWait<WebDriver> fluentWait = new FluentWait<>(driver)
                 .withTimeout(Duration.ofSeconds(30))
                 .pollingEvery(Duration.ofSeconds(5))
                 .ignoring(NoSuchElementException.class);
-        wait = new WaitUtility();
+        wait = pageObjectManager.getWaitUtility();
 
         WebElement emailElement = fluentWait.until(
                 ExpectedConditions.visibilityOfElementLocated(By.id("mail")));
@@ -0,0 +1,22 @@
+@parallelHooks
+Feature: Parallel-safe hooks
+  description: Scenarios running at the same time keep their own step timers, recorders and attachments.
+
+  Scenario Outline: Scenario <id> keeps its own step timings under parallel load
+    Given the local hooks test page is open for scenario "<id>"
+    And all 8 parallel scenarios have started
+    When the scenario pauses for <pause> ms in one step
+    And the scenario attaches a note
+    Then the paused step took about <pause> ms
+    And the scenario context only holds the state of scenario "<id>"
+
+    Examples:
+      | id | pause |
+      | 1  | 300   |
+      | 2  | 900   |
+      | 3  | 1500  |
+      | 4  | 2100  |
+      | 5  | 2700  |
+      | 6  | 3300  |
+      | 7  | 3900  |
+      | 8  | 4500  |
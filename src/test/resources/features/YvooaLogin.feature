@@ -2,6 +2,7 @@ Feature: User Login
   description: This feature will test the login functionality of the application.
   @login @visualAI
   Scenario: Successful Login with valid credentials
+    @uiLogin
     Scenario Outline: Outline: Successful Login with valid credentials
       Given open browser
       When User launch Login page